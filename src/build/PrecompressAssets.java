@@ -0,0 +1,106 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Build step run with the JDK's single-file launcher after resources are
+ * copied: writes a {@code .gz} next to every text asset, and a {@code .br}
+ * when the {@code brotli} command is installed, so the resource chain can
+ * serve them without compressing on each request. Variants that do not save
+ * at least 10% are skipped, and up-to-date variants are left alone.
+ *
+ * Usage: {@code java src/build/PrecompressAssets.java <static-directory> <min-bytes>}
+ */
+public class PrecompressAssets {
+
+    private static final Set<String> EXTENSIONS = Set.of("css", "js", "html", "svg", "json", "txt", "xml");
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path root = Path.of(args[0]);
+        long minBytes = Long.parseLong(args[1]);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        boolean brotli = brotliAvailable();
+        List<Path> assets;
+        try (Stream<Path> files = Files.walk(root)) {
+            assets = files.filter(Files::isRegularFile)
+                    .filter(file -> EXTENSIONS.contains(extension(file)))
+                    .toList();
+        }
+        int written = 0;
+        for (Path asset : assets) {
+            if (Files.size(asset) < minBytes) {
+                continue;
+            }
+            written += gzip(asset) ? 1 : 0;
+            written += brotli && brotli(asset) ? 1 : 0;
+        }
+        System.out.printf("Pre-compressed %d of %d static assets in %s%s%n", written, assets.size(), root,
+                brotli ? "" : " (gzip only, brotli command not found)");
+    }
+
+    private static boolean gzip(Path asset) throws IOException {
+        Path target = sibling(asset, ".gz");
+        if (upToDate(asset, target)) {
+            return false;
+        }
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target)) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            Files.copy(asset, out);
+        }
+        return keepIfSmaller(asset, target);
+    }
+
+    private static boolean brotli(Path asset) throws IOException, InterruptedException {
+        Path target = sibling(asset, ".br");
+        if (upToDate(asset, target)) {
+            return false;
+        }
+        Process process = new ProcessBuilder("brotli", "--quality=11", "--force", "--output=" + target, asset.toString())
+                .inheritIO()
+                .start();
+        if (process.waitFor() != 0) {
+            throw new IOException("brotli failed for " + asset);
+        }
+        return keepIfSmaller(asset, target);
+    }
+
+    private static boolean keepIfSmaller(Path asset, Path target) throws IOException {
+        if (Files.size(target) > Files.size(asset) * 0.9) {
+            Files.delete(target);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean upToDate(Path asset, Path target) throws IOException {
+        return Files.exists(target) && Files.getLastModifiedTime(target).compareTo(Files.getLastModifiedTime(asset)) >= 0;
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            return new ProcessBuilder("brotli", "--version").redirectErrorStream(true).start().waitFor() == 0;
+        } catch (IOException | InterruptedException e) {
+            return false;
+        }
+    }
+
+    private static Path sibling(Path asset, String suffix) {
+        return asset.resolveSibling(asset.getFileName() + suffix);
+    }
+
+    private static String extension(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
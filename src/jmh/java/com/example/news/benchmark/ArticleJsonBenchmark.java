@@ -0,0 +1,53 @@
+package com.example.news.benchmark;
+
+import com.example.news.entity.Article;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of an /articles/fetchAll page, using an ObjectMapper
+ * configured the way Spring Boot configures the MVC one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleJsonBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    @Param({"500", "5000"})
+    private int contentLength;
+
+    private ObjectMapper objectMapper;
+    private List<Article> articles;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        articles = BenchmarkData.articles(pageSize, contentLength);
+    }
+
+    @Benchmark
+    public byte[] serializeArticles() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(articles);
+    }
+}
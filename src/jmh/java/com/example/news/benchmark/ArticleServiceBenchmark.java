@@ -0,0 +1,88 @@
+package com.example.news.benchmark;
+
+import com.example.news.NewsAggregatorAppApplication;
+import com.example.news.dto.ArticleDTO;
+import com.example.news.entity.Article;
+import com.example.news.repository.ArticleRepository;
+import com.example.news.service.ArticleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The list paths of ArticleServiceImpl running in the full application context
+ * against the in-memory H2 database from the test configuration, so the
+ * repository, transaction and metrics proxies are all on the measured path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleServiceBenchmark {
+
+    @Param({"1000"})
+    private int articleCount;
+
+    private ConfigurableApplicationContext context;
+    private ArticleService articleService;
+    private PageRequest newsPage;
+    private long articleId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(NewsAggregatorAppApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN", "logging.level.com.example.news=WARN")
+                .run();
+        articleService = context.getBean(ArticleService.class);
+        ArticleRepository articleRepository = context.getBean(ArticleRepository.class);
+        List<Article> articles = BenchmarkData.articles(articleCount, 2000);
+        // getLatestArticles reads the newest news.articles.latest-size articles
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < articles.size(); i++) {
+            articles.get(i).setId(null);
+            articles.get(i).setPublishedAt(now.minusMinutes(i));
+        }
+        articleId = articleRepository.saveAll(articles).get(articleCount / 2).getId();
+        newsPage = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Article> getAllArticles() {
+        return articleService.getAllArticles(newsPage);
+    }
+
+    @Benchmark
+    public List<ArticleDTO> getLatestArticles() {
+        return articleService.getLatestArticles();
+    }
+
+    @Benchmark
+    public Article getArticleById() {
+        return articleService.getArticleById(articleId);
+    }
+}
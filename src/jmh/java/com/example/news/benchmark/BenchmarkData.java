@@ -0,0 +1,95 @@
+package com.example.news.benchmark;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.dto.SourceDTO;
+import com.example.news.dto.UserDTO;
+import com.example.news.entity.Article;
+import com.example.news.entity.Source;
+import com.example.news.entity.User;
+import com.example.news.mapper.ArticleMapper;
+import com.example.news.mapper.SourceMapper;
+import com.example.news.mapper.UserMapper;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final ArticleMapper ARTICLE_MAPPER = Mappers.getMapper(ArticleMapper.class);
+    static final SourceMapper SOURCE_MAPPER = Mappers.getMapper(SourceMapper.class);
+    static final UserMapper USER_MAPPER = Mappers.getMapper(UserMapper.class);
+
+    private static final String WORDS = "the of and to in is that for it as with was on be by at this from "
+            + "market election storm season league policy research report city council energy health ";
+
+    private BenchmarkData() {
+    }
+
+    static String text(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            int start = random.nextInt(WORDS.length() - 12);
+            text.append(WORDS, start, WORDS.indexOf(' ', start) + 1);
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+
+    static Article article(Random random, long id, int contentLength) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(text(random, 80));
+        article.setContent(text(random, contentLength));
+        article.setSource("Source " + random.nextInt(100));
+        article.setPublishedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id));
+        return article;
+    }
+
+    static List<Article> articles(int count, int contentLength) {
+        Random random = new Random(42);
+        List<Article> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            articles.add(article(random, i + 1, contentLength));
+        }
+        return articles;
+    }
+
+    static ArticleDTO articleDTO(int contentLength) {
+        return ARTICLE_MAPPER.toDTO(article(new Random(7), 1, contentLength));
+    }
+
+    static SourceDTO sourceDTO() {
+        SourceDTO sourceDTO = new SourceDTO();
+        sourceDTO.setName("Example Times");
+        sourceDTO.setUrl("https://example.com/rss");
+        return sourceDTO;
+    }
+
+    static Source source() {
+        Source source = SOURCE_MAPPER.toEntity(sourceDTO());
+        source.setId(1L);
+        return source;
+    }
+
+    static UserDTO userDTO() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(1);
+        userDTO.setUsername("reader");
+        userDTO.setPassword("secret-password");
+        userDTO.setEmail("reader@example.com");
+        return userDTO;
+    }
+
+    static User user() {
+        User user = USER_MAPPER.toEntity(userDTO());
+        user.setPassword("$2a$10$encoded");
+        user.setId(1L);
+        return user;
+    }
+}
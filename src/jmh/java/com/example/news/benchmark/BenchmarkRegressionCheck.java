@@ -0,0 +1,142 @@
+package com.example.news.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with the recorded baseline and exits with a
+ * non-zero status when a benchmark regressed by more than the allowed ratio.
+ *
+ * Usage: {@code BenchmarkRegressionCheck <results.json> <baseline.json> <max-regression> <update-baseline>}
+ */
+public class BenchmarkRegressionCheck {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(String[] args) throws IOException {
+        File results = new File(args[0]);
+        File baseline = new File(args[1]);
+        double maxRegression = Double.parseDouble(args[2]);
+        boolean updateBaseline = Boolean.parseBoolean(args[3]);
+
+        if (!results.isFile()) {
+            System.err.println("No benchmark results found at " + results);
+            System.exit(1);
+        }
+        Map<String, Score> current = readResults(results);
+
+        if (updateBaseline) {
+            writeBaseline(baseline, merge(baseline, current));
+            System.out.println("Recorded " + current.size() + " benchmark scores as the baseline in " + baseline);
+            return;
+        }
+        if (!baseline.isFile()) {
+            System.out.println("No baseline at " + baseline + ", run with -Dbenchmark.update-baseline=true to record one");
+            return;
+        }
+
+        Map<String, Score> recorded = readBaseline(baseline);
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = recorded.get(entry.getKey());
+            if (before == null || !before.unit().equals(entry.getValue().unit())) {
+                System.out.printf("%-90s %12.3f %s (no baseline)%n", entry.getKey(),
+                        entry.getValue().score(), entry.getValue().unit());
+                continue;
+            }
+            double change = entry.getValue().change(before);
+            System.out.printf("%-90s %12.3f %s (%+.1f%%)%n", entry.getKey(),
+                    entry.getValue().score(), entry.getValue().unit(), change * 100);
+            if (change > maxRegression) {
+                regressions.add(entry.getKey());
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.err.println("Benchmarks regressed by more than " + Math.round(maxRegression * 100) + "%: " + regressions);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> readResults(File file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode result : MAPPER.readTree(file)) {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asText());
+            JsonNode params = result.get("params");
+            if (params != null) {
+                Map<String, String> sorted = new TreeMap<>();
+                params.fields().forEachRemaining(param -> sorted.put(param.getKey(), param.getValue().asText()));
+                sorted.forEach((name, value) -> key.append(':').append(name).append('=').append(value));
+            }
+            JsonNode metric = result.get("primaryMetric");
+            scores.put(key.toString(), new Score(metric.get("score").asDouble(),
+                    metric.get("scoreUnit").asText(), result.get("mode").asText()));
+        }
+        return scores;
+    }
+
+    private static Map<String, Score> readBaseline(File file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = MAPPER.readTree(file).fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            scores.put(field.getKey(), new Score(value.get("score").asDouble(),
+                    value.get("unit").asText(), value.get("mode").asText()));
+        }
+        return scores;
+    }
+
+    /**
+     * Re-recording a benchmark class replaces all of its entries, so a partial
+     * run (-Djmh.args=SomeBenchmark) keeps the baseline of the other classes.
+     */
+    private static Map<String, Score> merge(File baseline, Map<String, Score> current) throws IOException {
+        if (!baseline.isFile()) {
+            return current;
+        }
+        Map<String, Score> merged = readBaseline(baseline);
+        for (String key : current.keySet()) {
+            String benchmarkClass = benchmarkClass(key);
+            merged.keySet().removeIf(existing -> benchmarkClass(existing).equals(benchmarkClass));
+        }
+        merged.putAll(current);
+        return merged;
+    }
+
+    private static String benchmarkClass(String key) {
+        int params = key.indexOf(':');
+        String benchmark = params < 0 ? key : key.substring(0, params);
+        return benchmark.substring(0, benchmark.lastIndexOf('.'));
+    }
+
+    private static void writeBaseline(File file, Map<String, Score> scores) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        scores.forEach((key, score) -> root.putObject(key)
+                .put("score", score.score())
+                .put("unit", score.unit())
+                .put("mode", score.mode()));
+        MAPPER.writeValue(file, root);
+    }
+
+    private record Score(double score, String unit, String mode) {
+
+        /**
+         * Relative change against the baseline, positive when worse.
+         */
+        double change(Score baseline) {
+            double ratio = (score - baseline.score) / baseline.score;
+            return "thrpt".equals(mode) ? -ratio : ratio;
+        }
+    }
+}
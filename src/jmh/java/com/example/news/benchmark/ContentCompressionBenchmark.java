@@ -0,0 +1,92 @@
+package com.example.news.benchmark;
+
+import com.example.news.compression.ContentCodec;
+import com.example.news.seed.CorpusGenerator;
+import com.github.luben.zstd.ZstdDictTrainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of compressing and decompressing one synthetic-corpus article at rest,
+ * per zstd level, with and without a dictionary trained on other articles of
+ * the same corpus. The compression ratio is printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentCompressionBenchmark {
+
+    private static final int ARTICLES = 256;
+    private static final int TRAINING_ARTICLES = 2000;
+
+    @Param({"1", "3", "9"})
+    private int level;
+
+    @Param({"false", "true"})
+    private boolean dictionary;
+
+    private ContentCodec codec;
+    private String[] texts;
+    private byte[][] frames;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        CorpusGenerator generator = new CorpusGenerator(42, 100, 365, LocalDateTime.of(2024, 1, 1, 0, 0));
+        byte[] trained = null;
+        if (dictionary) {
+            ZstdDictTrainer trainer = new ZstdDictTrainer(64 << 20, 112_640);
+            for (int i = 0; i < TRAINING_ARTICLES; i++) {
+                trainer.addSample(content(generator, ARTICLES + i).getBytes(StandardCharsets.UTF_8));
+            }
+            trained = trainer.trainSamples();
+        }
+        codec = ContentCodec.create(level, trained, List.of());
+
+        texts = new String[ARTICLES];
+        frames = new byte[ARTICLES][];
+        long raw = 0;
+        long compressed = 0;
+        for (int i = 0; i < ARTICLES; i++) {
+            texts[i] = content(generator, i);
+            frames[i] = codec.compress(texts[i]);
+            raw += texts[i].getBytes(StandardCharsets.UTF_8).length;
+            compressed += frames[i].length;
+        }
+        System.out.printf("%nlevel %d, dictionary %s: %d bytes compressed to %d (ratio %.2f)%n",
+                level, dictionary, raw, compressed, (double) raw / compressed);
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return codec.compress(texts[next++ & (ARTICLES - 1)]);
+    }
+
+    @Benchmark
+    public String decompress() {
+        return codec.decompress(frames[next++ & (ARTICLES - 1)]);
+    }
+
+    private static String content(CorpusGenerator generator, long index) {
+        Object[] row = new Object[4];
+        generator.article(index, row);
+        return (String) row[1];
+    }
+}
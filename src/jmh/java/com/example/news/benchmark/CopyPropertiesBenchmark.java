@@ -0,0 +1,106 @@
+package com.example.news.benchmark;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.dto.SourceDTO;
+import com.example.news.dto.UserDTO;
+import com.example.news.entity.Article;
+import com.example.news.entity.Source;
+import com.example.news.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The copies done by the update* service methods: the generated mappers the
+ * services use, next to the reflective BeanUtils copies they replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CopyPropertiesBenchmark {
+
+    private ArticleDTO articleDTO;
+    private Article article;
+    private SourceDTO sourceDTO;
+    private Source source;
+    private UserDTO userDTO;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        articleDTO = BenchmarkData.articleDTO(4000);
+        article = BenchmarkData.article(new Random(1), 1, 4000);
+        sourceDTO = BenchmarkData.sourceDTO();
+        source = BenchmarkData.source();
+        userDTO = BenchmarkData.userDTO();
+        user = BenchmarkData.user();
+    }
+
+    @Benchmark
+    public Article mapperUpdateArticle() {
+        BenchmarkData.ARTICLE_MAPPER.updateEntity(articleDTO, article);
+        return article;
+    }
+
+    @Benchmark
+    public Article mapperPatchArticle() {
+        BenchmarkData.ARTICLE_MAPPER.patchEntity(articleDTO, article);
+        return article;
+    }
+
+    @Benchmark
+    public Source mapperUpdateSource() {
+        BenchmarkData.SOURCE_MAPPER.updateEntity(sourceDTO, source);
+        return source;
+    }
+
+    @Benchmark
+    public User mapperUpdateUser() {
+        BenchmarkData.USER_MAPPER.updateEntity(userDTO, user);
+        return user;
+    }
+
+    @Benchmark
+    public User mapperUpdateUserSettings() {
+        BenchmarkData.USER_MAPPER.updateSettings(userDTO, user);
+        return user;
+    }
+
+    @Benchmark
+    public Article beanUtilsUpdateArticle() {
+        BeanUtils.copyProperties(articleDTO, article, "id");
+        return article;
+    }
+
+    @Benchmark
+    public Source beanUtilsUpdateSource() {
+        BeanUtils.copyProperties(sourceDTO, source, "id");
+        return source;
+    }
+
+    @Benchmark
+    public User beanUtilsUpdateUser() {
+        BeanUtils.copyProperties(userDTO, user, "id", "password");
+        return user;
+    }
+
+    @Benchmark
+    public User beanUtilsUpdateUserSettings() {
+        BeanUtils.copyProperties(userDTO, user, "id", "password", "username");
+        return user;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.news.benchmark;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.dto.SourceDTO;
+import com.example.news.dto.UserDTO;
+import com.example.news.entity.Article;
+import com.example.news.entity.Source;
+import com.example.news.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The generated entity/DTO mappers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoConversionBenchmark {
+
+    private Article article;
+    private ArticleDTO articleDTO;
+    private SourceDTO sourceDTO;
+    private User user;
+    private UserDTO userDTO;
+
+    @Setup
+    public void setUp() {
+        article = BenchmarkData.article(new Random(1), 1, 4000);
+        articleDTO = BenchmarkData.articleDTO(4000);
+        sourceDTO = BenchmarkData.sourceDTO();
+        user = BenchmarkData.user();
+        userDTO = BenchmarkData.userDTO();
+    }
+
+    @Benchmark
+    public ArticleDTO articleToDTO() {
+        return BenchmarkData.ARTICLE_MAPPER.toDTO(article);
+    }
+
+    @Benchmark
+    public Article articleToEntity() {
+        return BenchmarkData.ARTICLE_MAPPER.toEntity(articleDTO);
+    }
+
+    @Benchmark
+    public Source sourceToEntity() {
+        return BenchmarkData.SOURCE_MAPPER.toEntity(sourceDTO);
+    }
+
+    @Benchmark
+    public User userToEntity() {
+        return BenchmarkData.USER_MAPPER.toEntity(userDTO);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO() {
+        return BenchmarkData.USER_MAPPER.toDTO(user);
+    }
+}
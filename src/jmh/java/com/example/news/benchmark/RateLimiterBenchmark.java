@@ -0,0 +1,79 @@
+package com.example.news.benchmark;
+
+import com.example.news.ratelimit.RateLimitProperties;
+import com.example.news.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead the rate limit filter adds to a request it lets through: a
+ * limited route with one busy client or many clients, and a route outside
+ * every group.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private RateLimiter limiter;
+    private String[] clients;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties.Group list = new RateLimitProperties.Group();
+        list.setMethods(List.of("GET"));
+        list.setPaths(List.of("/news", "/articles/fetchAll", "/articles/search", "/users/fetchAll", "/sources/fetchAll"));
+        list.setCapacity(Integer.MAX_VALUE);
+        list.setPeriod(Duration.ofSeconds(1));
+        RateLimitProperties.Group login = new RateLimitProperties.Group();
+        login.setMethods(List.of("POST"));
+        login.setPaths(List.of("/login", "/register"));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("login", login);
+        properties.getGroups().put("list", list);
+        limiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "ip:10.0." + (i >> 8) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public long limitedRouteOneClient() {
+        return limiter.tryAcquire("GET", "/articles/fetchAll", "user:reader");
+    }
+
+    @Benchmark
+    public long limitedRouteManyClients(Cursor cursor) {
+        cursor.next = (cursor.next + 1) % CLIENTS;
+        return limiter.tryAcquire("GET", "/articles/fetchAll", clients[cursor.next]);
+    }
+
+    @Benchmark
+    public long unlimitedRoute() {
+        return limiter.tryAcquire("GET", "/articles/fetch/42", "user:reader");
+    }
+}
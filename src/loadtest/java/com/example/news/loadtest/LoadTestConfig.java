@@ -0,0 +1,122 @@
+package com.example.news.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Settings from loadtest.properties, overridden by {@code key=value} program
+ * arguments (passed through {@code -Dloadtest.args="..."}).
+ */
+class LoadTestConfig {
+
+    static final String USERNAME = "loadtest";
+    static final String PASSWORD = "loadtest-password";
+
+    private static final String APPLICATION_PREFIX = "app.";
+
+    private final Properties properties;
+
+    private LoadTestConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    static LoadTestConfig load(String[] args) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (defaults != null) {
+                properties.load(defaults);
+            }
+        }
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                properties.setProperty(arg.substring(0, separator).trim(), arg.substring(separator + 1).trim());
+            }
+        }
+        return new LoadTestConfig(properties);
+    }
+
+    int articles() {
+        return intValue("corpus.articles", 10000);
+    }
+
+    int sources() {
+        return intValue("corpus.sources", 200);
+    }
+
+    int contentLength() {
+        return intValue("corpus.content-length", 2000);
+    }
+
+    Duration warmup() {
+        return Duration.ofSeconds(intValue("warmup-seconds", 10));
+    }
+
+    Duration duration() {
+        return Duration.ofSeconds(intValue("duration-seconds", 60));
+    }
+
+    int users(Scenario scenario) {
+        return intValue("users." + scenario.id(), 1);
+    }
+
+    int burstSize() {
+        return intValue("create-burst.size", 20);
+    }
+
+    Duration burstPause() {
+        return Duration.ofMillis(intValue("create-burst.pause-millis", 1000));
+    }
+
+    double maxErrorRate() {
+        return Double.parseDouble(properties.getProperty("threshold.max-error-rate", "0.01"));
+    }
+
+    double maxP99Millis(String request) {
+        return Double.parseDouble(properties.getProperty("threshold.max-p99-millis." + request,
+                properties.getProperty("threshold.max-p99-millis", "1000")));
+    }
+
+    /**
+     * Virtual threads need Java 21; on older runtimes the application falls
+     * back to platform threads and the report says so.
+     */
+    boolean virtualThreads() {
+        return "virtual".equals(properties.getProperty("threads", "platform"));
+    }
+
+    String threading() {
+        boolean virtual = virtualThreads() && Runtime.version().feature() >= 21;
+        return (virtual ? "virtual" : "platform") + " threads on Java " + Runtime.version().feature();
+    }
+
+    /**
+     * {@code app.<property>=value} entries, passed on to the application.
+     */
+    List<String> applicationProperties() {
+        List<String> applicationProperties = new ArrayList<>();
+        for (String name : new TreeSet<>(properties.stringPropertyNames())) {
+            if (name.startsWith(APPLICATION_PREFIX)) {
+                applicationProperties.add(name.substring(APPLICATION_PREFIX.length()) + "=" + properties.getProperty(name));
+            }
+        }
+        return applicationProperties;
+    }
+
+    String reportDirectory() {
+        return properties.getProperty("report-directory", "target");
+    }
+
+    Properties asProperties() {
+        return properties;
+    }
+
+    private int intValue(String key, int defaultValue) {
+        return Integer.parseInt(properties.getProperty(key, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.news.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-request latencies during the measured window and writes the
+ * JSON and Markdown reports, including the outcome of every threshold check.
+ */
+class LoadTestReport {
+
+    private final Map<String, RequestStats> requests = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private long startNanos;
+    private long stopNanos;
+
+    void start() {
+        requests.clear();
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+        stopNanos = System.nanoTime();
+    }
+
+    void record(String request, long latencyMicros, boolean success) {
+        if (recording) {
+            requests.computeIfAbsent(request, RequestStats::new).record(latencyMicros, success);
+        }
+    }
+
+    List<RequestStats.Summary> summaries() {
+        double seconds = (stopNanos - startNanos) / 1e9;
+        return requests.values().stream()
+                .map(stats -> stats.summarize(seconds))
+                .sorted(Comparator.comparing(RequestStats.Summary::request))
+                .toList();
+    }
+
+    List<String> violations(LoadTestConfig config) {
+        List<String> violations = new ArrayList<>();
+        for (RequestStats.Summary summary : summaries()) {
+            if (summary.errorRate() > config.maxErrorRate()) {
+                violations.add(String.format("%s: error rate %.2f%% above %.2f%%", summary.request(),
+                        summary.errorRate() * 100, config.maxErrorRate() * 100));
+            }
+            if (summary.p99Millis() > config.maxP99Millis(summary.request())) {
+                violations.add(String.format("%s: p99 %.1f ms above %.1f ms", summary.request(),
+                        summary.p99Millis(), config.maxP99Millis(summary.request())));
+            }
+        }
+        return violations;
+    }
+
+    void write(LoadTestConfig config, List<String> violations) throws IOException {
+        Path directory = Path.of(config.reportDirectory());
+        Files.createDirectories(directory);
+        List<RequestStats.Summary> summaries = summaries();
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("config", new TreeMap<>(toMap(config.asProperties())));
+        json.put("threading", config.threading());
+        json.put("durationSeconds", (stopNanos - startNanos) / 1e9);
+        json.put("requests", summaries);
+        json.put("violations", violations);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("loadtest-report.json").toFile(), json);
+
+        StringBuilder markdown = new StringBuilder("# Load test report\n\n");
+        markdown.append(String.format("%d articles, %d sources, %d s measured after %d s warm-up, %s%n%n",
+                config.articles(), config.sources(), config.duration().toSeconds(), config.warmup().toSeconds(),
+                config.threading()));
+        markdown.append("| Request | Count | Errors | Req/s | p50 ms | p90 ms | p95 ms | p99 ms | Max ms |\n");
+        markdown.append("|---|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (RequestStats.Summary summary : summaries) {
+            markdown.append(String.format("| %s | %d | %d | %.1f | %.1f | %.1f | %.1f | %.1f | %.1f |%n",
+                    summary.request(), summary.count(), summary.errors(), summary.throughput(),
+                    summary.p50Millis(), summary.p90Millis(), summary.p95Millis(), summary.p99Millis(),
+                    summary.maxMillis()));
+        }
+        markdown.append(violations.isEmpty() ? "\nAll thresholds met.\n" : "\nThreshold violations:\n\n");
+        violations.forEach(violation -> markdown.append("- ").append(violation).append('\n'));
+        Files.writeString(directory.resolve("loadtest-report.md"), markdown);
+    }
+
+    private static Map<String, String> toMap(Properties properties) {
+        Map<String, String> map = new TreeMap<>();
+        properties.stringPropertyNames().forEach(name -> map.put(name, properties.getProperty(name)));
+        return map;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.news.loadtest;
+
+import com.example.news.NewsAggregatorAppApplication;
+import com.example.news.seed.CorpusSeedProperties;
+import com.example.news.seed.CorpusSeeder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Starts the application on a random port against the in-memory database from
+ * the test configuration, seeds a corpus, drives the scenarios in
+ * {@link Scenario} concurrently and writes target/loadtest-report.{json,md}.
+ * Exits with a non-zero status when a threshold is not met.
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load(args);
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> applicationProperties = new ArrayList<>(List.of("server.port=0",
+                "spring.security.user.name=" + LoadTestConfig.USERNAME,
+                // the application's PasswordEncoder is BCrypt, so the in-memory user needs a hash
+                "spring.security.user.password=" + new BCryptPasswordEncoder().encode(LoadTestConfig.PASSWORD),
+                "logging.level.com.example.news=WARN"));
+        if (config.virtualThreads()) {
+            applicationProperties.add("spring.profiles.active=virtual-threads");
+        }
+        applicationProperties.addAll(config.applicationProperties());
+        System.out.println("Running with " + config.threading());
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(NewsAggregatorAppApplication.class)
+                .properties(applicationProperties.toArray(String[]::new))
+                .run();
+        List<String> violations;
+        try {
+            System.out.printf("Seeding %d articles and %d sources%n", config.articles(), config.sources());
+            seed(context, config);
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            LoadTestReport report = new LoadTestReport();
+            run(baseUri, config, report);
+            violations = report.violations(config);
+            report.write(config, violations);
+            report.summaries().forEach(summary -> System.out.printf("%-16s %8d req %6d err %8.1f req/s  p50 %7.1f  p99 %7.1f ms%n",
+                    summary.request(), summary.count(), summary.errors(), summary.throughput(),
+                    summary.p50Millis(), summary.p99Millis()));
+        } finally {
+            context.close();
+        }
+        violations.forEach(violation -> System.err.println("Threshold violated: " + violation));
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * A single writer: the in-memory database can hand out duplicate identity
+     * values to concurrent multi-row inserts.
+     */
+    private static void seed(ConfigurableApplicationContext context, LoadTestConfig config) {
+        CorpusSeedProperties corpus = new CorpusSeedProperties();
+        corpus.setArticles(config.articles());
+        corpus.setSources(config.sources());
+        corpus.setUsers(0);
+        corpus.setThreads(1);
+        corpus.setDays(Math.max(config.articles() / 1440, 1));
+        context.getBean(CorpusSeeder.class).seed(corpus);
+    }
+
+    private static void run(URI baseUri, LoadTestConfig config, LoadTestReport report) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Runnable> users = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            for (int i = 0; i < config.users(scenario); i++) {
+                users.add(() -> drive(baseUri, scenario, config, report, running));
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(users.size());
+        users.forEach(executor::execute);
+
+        System.out.printf("Running %d virtual users: %d s warm-up, %d s measured%n",
+                users.size(), config.warmup().toSeconds(), config.duration().toSeconds());
+        Thread.sleep(config.warmup().toMillis());
+        report.start();
+        Thread.sleep(config.duration().toMillis());
+        report.stop();
+
+        running.set(false);
+        executor.shutdown();
+        if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void drive(URI baseUri, Scenario scenario, LoadTestConfig config, LoadTestReport report,
+                              AtomicBoolean running) {
+        VirtualUser user = new VirtualUser(baseUri, report);
+        while (running.get()) {
+            try {
+                if (scenario.authenticated()) {
+                    user.login(LoadTestConfig.USERNAME, LoadTestConfig.PASSWORD);
+                }
+                while (running.get()) {
+                    scenario.iterate(user, config);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // already recorded as a failed request; start over with a fresh session
+                user.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.news.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and outcomes of one named request type.
+ */
+class RequestStats {
+
+    private final String name;
+    private long[] latenciesMicros = new long[1024];
+    private int count;
+    private int errors;
+
+    RequestStats(String name) {
+        this.name = name;
+    }
+
+    synchronized void record(long latencyMicros, boolean success) {
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+        }
+        latenciesMicros[count++] = latencyMicros;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double durationSeconds) {
+        long[] sorted = Arrays.copyOf(latenciesMicros, count);
+        Arrays.sort(sorted);
+        return new Summary(name, count, errors, count / durationSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.95),
+                percentile(sorted, 0.99), count == 0 ? 0 : sorted[count - 1] / 1000.0);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1000.0;
+    }
+
+    record Summary(String request, long count, long errors, double throughput,
+                   double p50Millis, double p90Millis, double p95Millis, double p99Millis, double maxMillis) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.news.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The traffic mix. Each virtual user repeats one scenario's iteration until
+ * the run ends.
+ */
+enum Scenario {
+
+    ANONYMOUS_LOGIN("anonymous-login", false) {
+        @Override
+        void iterate(VirtualUser user, LoadTestConfig config) throws IOException, InterruptedException {
+            user.reset();
+            user.get("home-anonymous", "/");
+            user.login(LoadTestConfig.USERNAME, LoadTestConfig.PASSWORD);
+            user.get("home", "/");
+        }
+    },
+
+    BROWSE("browse", true) {
+        @Override
+        void iterate(VirtualUser user, LoadTestConfig config) throws IOException, InterruptedException {
+            user.get("home", "/");
+            user.get("news", "/news?page=" + VirtualUser.randomInt(Math.max(config.articles() / 10, 1)));
+            user.get("news-detail", "/news/" + randomArticleId(config));
+        }
+    },
+
+    FETCH_ALL("fetch-all", true) {
+        @Override
+        void iterate(VirtualUser user, LoadTestConfig config) throws IOException, InterruptedException {
+            int pages = Math.max(config.articles() / 20, 1);
+            user.get("fetch-all", "/articles/fetchAll?size=20&page=" + VirtualUser.randomInt(pages));
+        }
+    },
+
+    INDEX_READ("index-read", true) {
+        @Override
+        void iterate(VirtualUser user, LoadTestConfig config) throws IOException, InterruptedException {
+            int pages = Math.max(config.articles() / 20, 1);
+            user.get("index-latest", "/articles/index/latest?limit=20");
+            user.get("index-fetch-all", "/articles/index/fetchAll?size=20&page=" + VirtualUser.randomInt(pages));
+            user.get("index-fetch", "/articles/index/fetch/" + randomArticleId(config));
+            user.get("index-search", "/articles/index/search?q=" + SEARCH_TERMS[VirtualUser.randomInt(SEARCH_TERMS.length)]);
+        }
+    },
+
+    CREATE_BURST("create-burst", true) {
+        @Override
+        void iterate(VirtualUser user, LoadTestConfig config) throws IOException, InterruptedException {
+            for (int i = 0; i < config.burstSize(); i++) {
+                user.postJson("create-article", "/articles/create", """
+                        {"title":"Load test article %d","content":"%s","source":"Load test","publishedAt":"%s"}"""
+                        .formatted(i, "x".repeat(config.contentLength()), LocalDateTime.now().withNano(0)));
+            }
+            Thread.sleep(config.burstPause().toMillis());
+        }
+    },
+
+    SOURCE_CRUD("source-crud", true) {
+        @Override
+        void iterate(VirtualUser user, LoadTestConfig config) throws IOException, InterruptedException {
+            HttpResponse<String> created = user.postJson("source-create", "/sources/create",
+                    "{\"name\":\"Load test source\",\"url\":\"https://example.com/feed\"}");
+            Matcher id = ID.matcher(created.body());
+            if (!id.find()) {
+                return;
+            }
+            String sourceId = id.group(1);
+            user.get("source-fetch", "/sources/fetch/" + sourceId);
+            user.putJson("source-update", "/sources/update/" + sourceId,
+                    "{\"name\":\"Load test source (updated)\",\"url\":\"https://example.com/feed\"}");
+            user.delete("source-delete", "/sources/delete/" + sourceId);
+        }
+    };
+
+    private static final String[] SEARCH_TERMS = {"market", "election+minister", "storm", "court+ruling", "season"};
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final String id;
+    private final boolean authenticated;
+
+    Scenario(String id, boolean authenticated) {
+        this.id = id;
+        this.authenticated = authenticated;
+    }
+
+    String id() {
+        return id;
+    }
+
+    boolean authenticated() {
+        return authenticated;
+    }
+
+    abstract void iterate(VirtualUser user, LoadTestConfig config) throws IOException, InterruptedException;
+
+    private static int randomArticleId(LoadTestConfig config) {
+        return VirtualUser.randomInt(Math.max(config.articles(), 1)) + 1;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.news.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * One simulated client: its own cookie jar (and so its own session) and the
+ * CSRF token Spring Security expects on every state-changing request.
+ */
+class VirtualUser {
+
+    // without text/html Spring Security answers with a Basic challenge instead of the login redirect
+    private static final String ACCEPT = "text/html,application/json;q=0.9,*/*;q=0.8";
+
+    private static final Pattern CSRF_INPUT = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    private final URI baseUri;
+    private final LoadTestReport report;
+    private HttpClient client;
+    private String csrfToken;
+
+    VirtualUser(URI baseUri, LoadTestReport report) {
+        this.baseUri = baseUri;
+        this.report = report;
+        reset();
+    }
+
+    /**
+     * Drops the session, as if a new browser arrived.
+     */
+    void reset() {
+        client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        csrfToken = null;
+    }
+
+    void login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> loginPage = get("login-page", "/login");
+        csrfToken = csrfToken(loginPage.body());
+        HttpResponse<String> response = send("login", HttpRequest.newBuilder(baseUri.resolve("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form(Map.of(
+                        "username", username, "password", password, "_csrf", csrfToken)))),
+                status -> status == 302);
+        if (response.headers().firstValue("Location").orElse("").contains("error")) {
+            throw new IllegalStateException("Login failed for user " + username);
+        }
+        // the session and its CSRF token are replaced on login
+        csrfToken = csrfToken(get("login-page", "/login").body());
+    }
+
+    HttpResponse<String> get(String name, String path) throws IOException, InterruptedException {
+        return send(name, HttpRequest.newBuilder(baseUri.resolve(path)).GET(), status -> status < 400);
+    }
+
+    HttpResponse<String> postJson(String name, String path, String json) throws IOException, InterruptedException {
+        return sendJson(name, path, "POST", json);
+    }
+
+    HttpResponse<String> putJson(String name, String path, String json) throws IOException, InterruptedException {
+        return sendJson(name, path, "PUT", json);
+    }
+
+    HttpResponse<String> delete(String name, String path) throws IOException, InterruptedException {
+        return send(name, withCsrf(HttpRequest.newBuilder(baseUri.resolve(path))).DELETE(), status -> status < 400);
+    }
+
+    static int randomInt(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private HttpResponse<String> sendJson(String name, String path, String method, String json)
+            throws IOException, InterruptedException {
+        return send(name, withCsrf(HttpRequest.newBuilder(baseUri.resolve(path)))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json)), status -> status < 400);
+    }
+
+    private HttpRequest.Builder withCsrf(HttpRequest.Builder builder) {
+        return csrfToken == null ? builder : builder.header("X-CSRF-TOKEN", csrfToken);
+    }
+
+    private HttpResponse<String> send(String name, HttpRequest.Builder request, IntPredicate success)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.header("Accept", ACCEPT).timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            report.record(name, (System.nanoTime() - start) / 1000, success.test(response.statusCode()));
+            return response;
+        } catch (IOException e) {
+            report.record(name, (System.nanoTime() - start) / 1000, false);
+            throw e;
+        }
+    }
+
+    private static String csrfToken(String html) {
+        Matcher matcher = CSRF_INPUT.matcher(html);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No CSRF token on the login page");
+        }
+        return matcher.group(1);
+    }
+
+    private static String form(Map<String, String> fields) {
+        return fields.entrySet().stream()
+                .map(field -> field.getKey() + "=" + URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.news.activity;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "news.activity")
+public class ActivityProperties {
+
+    /**
+     * Whether article views and user reads are recorded.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Events each buffer holds before it starts dropping them.
+     */
+    private int capacity = 100_000;
+
+    /**
+     * Pending keys that trigger a flush, and rows per batched upsert.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest time an accepted event waits before it is written.
+     */
+    private Duration maxDelay = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(Duration maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+}
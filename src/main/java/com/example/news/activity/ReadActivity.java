@@ -0,0 +1,185 @@
+package com.example.news.activity;
+
+import com.example.news.trending.ViewCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records article reads: the trending counters, the total views per article
+ * ({@code article_stats}) and, for signed-in users, the {@link ReadStates},
+ * the read history and the last reading position ({@code article_reads}).
+ * Request threads only append to {@link WriteBehindBuffer}s; the rows are
+ * written with batched upserts at most {@code news.activity.max-delay}
+ * later, so the history can lag the reads by that much. Each batch is one
+ * transaction: the upserts add to the stored counts, so a batch that failed
+ * halfway must leave nothing behind before it is retried.
+ */
+@Component
+@EnableConfigurationProperties(ActivityProperties.class)
+public class ReadActivity implements SmartLifecycle {
+
+    private static final String UPSERT_STATS = "INSERT INTO article_stats (article_id, views, last_viewed_at)"
+            + " VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE views = views + VALUES(views),"
+            + " last_viewed_at = GREATEST(last_viewed_at, VALUES(last_viewed_at))";
+
+    private static final String UPSERT_READS = "INSERT INTO article_reads"
+            + " (username, article_id, read_count, first_read_at, last_read_at, read_position)"
+            + " VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE read_count = read_count + VALUES(read_count),"
+            + " last_read_at = GREATEST(last_read_at, VALUES(last_read_at)),"
+            + " read_position = COALESCE(VALUES(read_position), read_position)";
+
+    private final ViewCounter viewCounter;
+    private final ReadStates readStates;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ActivityProperties properties;
+    private final WriteBehindBuffer<Long, Views> views;
+    private final WriteBehindBuffer<ReadKey, Reads> reads;
+
+    @Autowired
+    public ReadActivity(ViewCounter viewCounter, ReadStates readStates, JdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate, ActivityProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.viewCounter = viewCounter;
+        this.readStates = readStates;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.views = new WriteBehindBuffer<>("article-views", properties.getCapacity(), properties.getBatchSize(),
+                properties.getMaxDelay(), Views::merge, this::writeViews, meterRegistry);
+        this.reads = new WriteBehindBuffer<>("article-reads", properties.getCapacity(), properties.getBatchSize(),
+                properties.getMaxDelay(), Reads::merge, this::writeReads, meterRegistry);
+    }
+
+    /**
+     * Records a successful read of an article by the current user, if any.
+     */
+    public void articleRead(Long articleId) {
+        viewCounter.record(articleId);
+        String username = currentUsername();
+        if (username != null) {
+            readStates.markRead(username, articleId);
+        }
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        views.append(articleId, new Views(1, now));
+        if (username != null) {
+            reads.append(new ReadKey(username, articleId), new Reads(1, now, now, null));
+        }
+    }
+
+    /**
+     * Records how far the current user got in an article, in percent.
+     */
+    public boolean positionChanged(Long articleId, int position) {
+        String username = currentUsername();
+        if (!properties.isEnabled() || username == null) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return reads.append(new ReadKey(username, articleId), new Reads(0, now, now, position));
+    }
+
+    /**
+     * The user's most recently read articles, newest first, as last flushed.
+     */
+    public List<ReadHistoryEntry> history(String username, int limit) {
+        return jdbcTemplate.query("SELECT r.article_id, a.title, r.read_count, r.first_read_at, r.last_read_at,"
+                        + " r.read_position FROM article_reads r LEFT JOIN articles a ON a.id = r.article_id"
+                        + " WHERE r.username = ? ORDER BY r.last_read_at DESC LIMIT ?",
+                (rs, rowNum) -> new ReadHistoryEntry(rs.getLong(1), rs.getString(2), rs.getLong(3),
+                        rs.getTimestamp(4).toLocalDateTime(), rs.getTimestamp(5).toLocalDateTime(),
+                        rs.getObject(6, Integer.class)),
+                username, limit);
+    }
+
+    /**
+     * Writes everything buffered so far.
+     */
+    public void flush() {
+        views.flush();
+        reads.flush();
+    }
+
+    @Override
+    public void start() {
+        views.start();
+        reads.start();
+    }
+
+    /**
+     * Runs early in shutdown, while the connection pool is still open.
+     */
+    @Override
+    public void stop() {
+        views.stop();
+        reads.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return views.isRunning();
+    }
+
+    private void writeViews(List<Map.Entry<Long, Views>> batch) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_STATS, batch.stream()
+                .map(entry -> new Object[] {entry.getKey(), entry.getValue().count(),
+                        Timestamp.valueOf(entry.getValue().lastViewedAt())})
+                .toList()));
+    }
+
+    private void writeReads(List<Map.Entry<ReadKey, Reads>> batch) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_READS, batch.stream()
+                .map(entry -> new Object[] {entry.getKey().username(), entry.getKey().articleId(),
+                        entry.getValue().count(), Timestamp.valueOf(entry.getValue().first()),
+                        Timestamp.valueOf(entry.getValue().last()), entry.getValue().position()})
+                .toList()));
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    record Views(long count, LocalDateTime lastViewedAt) {
+
+        Views merge(Views other) {
+            return new Views(count + other.count,
+                    lastViewedAt.isAfter(other.lastViewedAt) ? lastViewedAt : other.lastViewedAt);
+        }
+    }
+
+    record ReadKey(String username, Long articleId) {
+    }
+
+    /**
+     * Reads of one article by one user; a null position leaves the stored one unchanged.
+     */
+    record Reads(long count, LocalDateTime first, LocalDateTime last, Integer position) {
+
+        Reads merge(Reads later) {
+            return new Reads(count + later.count, first.isBefore(later.first) ? first : later.first,
+                    last.isAfter(later.last) ? last : later.last,
+                    later.position != null ? later.position : position);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.news.activity;
+
+import java.time.LocalDateTime;
+
+/**
+ * One article in a user's read history; the title is null once the article
+ * has been archived or deleted.
+ */
+public record ReadHistoryEntry(Long articleId, String title, long reads, LocalDateTime firstReadAt,
+                               LocalDateTime lastReadAt, Integer position) {
+}
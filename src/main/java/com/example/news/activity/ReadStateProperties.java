@@ -0,0 +1,75 @@
+package com.example.news.activity;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "news.read-state")
+public class ReadStateProperties {
+
+    /**
+     * Whether the articles each user has read are tracked.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Users whose read state is kept in memory; the least recently active
+     * are dropped past this once their state is written.
+     */
+    private int maxUsers = 10_000;
+
+    /**
+     * Inactivity after which a user's read state is dropped from memory.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    /**
+     * How often idle users are dropped and unwritten state is queued again.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * Listing entries an unread-only page looks through at most.
+     */
+    private int maxScan = 1_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxUsers() {
+        return maxUsers;
+    }
+
+    public void setMaxUsers(int maxUsers) {
+        this.maxUsers = maxUsers;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Duration getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public void setSweepInterval(Duration sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+
+    public int getMaxScan() {
+        return maxScan;
+    }
+
+    public void setMaxScan(int maxScan) {
+        this.maxScan = maxScan;
+    }
+}
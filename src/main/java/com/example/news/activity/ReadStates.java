@@ -0,0 +1,351 @@
+package com.example.news.activity;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The articles each signed-in user has read, as one Roaring bitmap of
+ * article ids per user instead of a row per read. Bitmaps of active users
+ * are kept in memory, so marking listings as read or filtering them to
+ * unread articles needs no query.
+ *
+ * A user's bitmap is read from {@code user_read_state} the first time the
+ * user is seen and dropped again after {@code news.read-state.idle-timeout}
+ * without activity, or when more than {@code news.read-state.max-users}
+ * users are held. Changed bitmaps are written behind in batches with the
+ * same buffer settings as the other activity, each merged with the stored
+ * one first so reads recorded by another node are kept. A user whose
+ * bitmap has not been written yet is never dropped.
+ */
+@Component
+@EnableConfigurationProperties(ReadStateProperties.class)
+public class ReadStates implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadStates.class);
+
+    private static final String UPSERT = "INSERT INTO user_read_state (username, read_ids, updated_at)"
+            + " VALUES (:username, :readIds, :updatedAt)"
+            + " ON DUPLICATE KEY UPDATE read_ids = VALUES(read_ids), updated_at = VALUES(updated_at)";
+
+    /**
+     * Listing entries fetched at a time while looking for unread ones.
+     */
+    private static final int SCAN_CHUNK = 100;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadStateProperties properties;
+    private final WriteBehindBuffer<String, Boolean> writes;
+
+    private final ConcurrentHashMap<String, UserReads> users = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadStates(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                      ReadStateProperties properties, ActivityProperties activityProperties,
+                      MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.writes = new WriteBehindBuffer<>("read-state", activityProperties.getCapacity(),
+                activityProperties.getBatchSize(), activityProperties.getMaxDelay(), (a, b) -> a, this::write,
+                meterRegistry);
+        Gauge.builder("news.read_state.users", users, Map::size)
+                .description("Users whose read state is held in memory")
+                .register(meterRegistry);
+    }
+
+    public void markRead(String username, Long articleId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            UserReads reads = users.computeIfPresent(username, (name, current) -> current.add(articleId));
+            if (reads == null) {
+                UserReads loaded = load(username);
+                reads = users.compute(username, (name, current) -> (current != null ? current : loaded).add(articleId));
+            }
+            if (reads.unwritten()) {
+                writes.append(username, Boolean.TRUE);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not record that {} read article {}", username, articleId, e);
+        }
+    }
+
+    public boolean isRead(String username, Long articleId) {
+        return !readAmong(username, List.of(articleId)).isEmpty();
+    }
+
+    /**
+     * The given articles the user has read.
+     */
+    public Set<Long> readAmong(String username, Collection<Long> articleIds) {
+        if (!properties.isEnabled() || username == null || articleIds.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            return state(username).readAmong(articleIds);
+        } catch (Exception e) {
+            logger.warn("Could not read the read state of {}", username, e);
+            return Set.of();
+        }
+    }
+
+    /**
+     * A page of the entries of a listing the user has not read. The listing
+     * is fetched in chunks, {@code listing(chunk, chunkSize)}, and at most
+     * {@code news.read-state.max-scan} entries are looked at, so deep pages
+     * of a mostly read listing may come back short.
+     */
+    public <T> List<T> unreadPage(String username, int page, int size, BiFunction<Integer, Integer, List<T>> listing,
+                                  ToLongFunction<T> id) {
+        int chunkSize = Math.max(size, SCAN_CHUNK);
+        long skip = (long) page * size;
+        List<T> unread = new ArrayList<>(Math.min(size, SCAN_CHUNK));
+        int scanned = 0;
+        for (int chunk = 0; unread.size() < size && scanned < properties.getMaxScan(); chunk++) {
+            List<T> entries = listing.apply(chunk, chunkSize);
+            Set<Long> read = readAmong(username, entries.stream().map(id::applyAsLong).toList());
+            for (T entry : entries) {
+                if (read.contains(id.applyAsLong(entry))) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else if (unread.size() < size) {
+                    unread.add(entry);
+                }
+            }
+            scanned += entries.size();
+            if (entries.size() < chunkSize) {
+                break;
+            }
+        }
+        return unread;
+    }
+
+    /**
+     * Queues unwritten state again, which covers writes dropped by a full
+     * buffer, and drops idle users from memory.
+     */
+    @Scheduled(initialDelayString = "${news.read-state.sweep-interval:PT1M}",
+            fixedDelayString = "${news.read-state.sweep-interval:PT1M}")
+    public void sweep() {
+        users.forEach((username, reads) -> {
+            if (reads.unwritten()) {
+                writes.append(username, Boolean.TRUE);
+            }
+        });
+        evict(System.nanoTime() - properties.getIdleTimeout().toNanos());
+        int excess = users.size() - properties.getMaxUsers();
+        if (excess > 0) {
+            List<Map.Entry<String, Long>> byAccess = new ArrayList<>();
+            users.forEach((username, reads) -> byAccess.add(Map.entry(username, reads.lastAccessNanos)));
+            byAccess.stream()
+                    .sorted(Map.Entry.comparingByValue())
+                    .limit(excess)
+                    .forEach(entry -> users.computeIfPresent(entry.getKey(),
+                            (name, reads) -> reads.unwritten() ? reads : null));
+        }
+    }
+
+    /**
+     * Drops the written state of users not seen since {@code idleSinceNanos}.
+     */
+    void evict(long idleSinceNanos) {
+        for (String username : users.keySet()) {
+            users.computeIfPresent(username, (name, reads) ->
+                    !reads.unwritten() && reads.lastAccessNanos - idleSinceNanos <= 0 ? null : reads);
+        }
+    }
+
+    int size() {
+        return users.size();
+    }
+
+    /**
+     * Writes all unwritten state now.
+     */
+    public void flush() {
+        writes.flush();
+    }
+
+    @Override
+    public void start() {
+        writes.start();
+    }
+
+    @Override
+    public void stop() {
+        writes.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writes.isRunning();
+    }
+
+    private UserReads state(String username) {
+        UserReads reads = users.get(username);
+        if (reads == null) {
+            UserReads loaded = load(username);
+            reads = users.putIfAbsent(username, loaded);
+            if (reads == null) {
+                reads = loaded;
+            }
+        }
+        reads.lastAccessNanos = System.nanoTime();
+        return reads;
+    }
+
+    private UserReads load(String username) {
+        List<byte[]> stored = jdbcTemplate.queryForList("SELECT read_ids FROM user_read_state WHERE username = :username",
+                new MapSqlParameterSource("username", username), byte[].class);
+        return new UserReads(stored.isEmpty() ? bitmap() : deserialize(stored.get(0)));
+    }
+
+    /**
+     * Writes a batch in one transaction, merging each bitmap with the stored
+     * one under a row lock first.
+     */
+    private void write(List<Map.Entry<String, Boolean>> batch) {
+        Map<String, UserReads> changed = new HashMap<>();
+        batch.forEach(entry -> {
+            UserReads reads = users.get(entry.getKey());
+            if (reads != null) {
+                changed.put(entry.getKey(), reads);
+            }
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+        Map<UserReads, Long> versions = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, byte[]> stored = new HashMap<>();
+            jdbcTemplate.query("SELECT username, read_ids FROM user_read_state WHERE username IN (:usernames) FOR UPDATE",
+                    new MapSqlParameterSource("usernames", changed.keySet()),
+                    rs -> {
+                        stored.put(rs.getString(1), rs.getBytes(2));
+                    });
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<MapSqlParameterSource> rows = new ArrayList<>(changed.size());
+            changed.forEach((username, reads) -> {
+                byte[] other = stored.get(username);
+                Snapshot snapshot = reads.snapshot(other == null ? null : deserialize(other));
+                versions.put(reads, snapshot.version());
+                rows.add(new MapSqlParameterSource("username", username)
+                        .addValue("readIds", snapshot.bytes())
+                        .addValue("updatedAt", now));
+            });
+            jdbcTemplate.batchUpdate(UPSERT, rows.toArray(MapSqlParameterSource[]::new));
+        });
+        versions.forEach(UserReads::written);
+    }
+
+    private static Roaring64NavigableMap bitmap() {
+        return new Roaring64NavigableMap(false, false);
+    }
+
+    private static Roaring64NavigableMap deserialize(byte[] bytes) {
+        Roaring64NavigableMap ids = bitmap();
+        try {
+            ids.deserialize(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ids;
+    }
+
+    private record Snapshot(byte[] bytes, long version) {
+    }
+
+    /**
+     * One user's read articles. {@code version} counts changes and
+     * {@code writtenVersion} is the last one stored.
+     */
+    private static final class UserReads {
+
+        private final Roaring64NavigableMap ids;
+        private long version;
+        private long writtenVersion;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        UserReads(Roaring64NavigableMap ids) {
+            this.ids = ids;
+        }
+
+        synchronized UserReads add(long articleId) {
+            lastAccessNanos = System.nanoTime();
+            if (!ids.contains(articleId)) {
+                ids.addLong(articleId);
+                version++;
+            }
+            return this;
+        }
+
+        synchronized Set<Long> readAmong(Collection<Long> articleIds) {
+            Set<Long> read = new HashSet<>();
+            for (Long id : articleIds) {
+                if (ids.contains(id)) {
+                    read.add(id);
+                }
+            }
+            return read;
+        }
+
+        synchronized boolean unwritten() {
+            return version != writtenVersion;
+        }
+
+        /**
+         * Adds the reads another node stored and serializes the result.
+         */
+        synchronized Snapshot snapshot(Roaring64NavigableMap stored) {
+            if (stored != null) {
+                ids.or(stored);
+            }
+            ids.runOptimize();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) Math.min(ids.serializedSizeInBytes(), 1 << 20));
+            try {
+                ids.serialize(new DataOutputStream(bytes));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Snapshot(bytes.toByteArray(), version);
+        }
+
+        synchronized void written(long version) {
+            writtenVersion = Math.max(writtenVersion, version);
+        }
+    }
+}
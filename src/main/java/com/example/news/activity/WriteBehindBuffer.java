@@ -0,0 +1,222 @@
+package com.example.news.activity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind buffer: callers append events without blocking, and one
+ * background writer coalesces them per key and hands them to the flusher
+ * in batches.
+ *
+ * <ul>
+ *     <li>The queue is a {@link ConcurrentLinkedQueue} bounded by an atomic
+ *     counter, so appending never takes a lock. When it is full the event is
+ *     dropped and counted; callers are never slowed down by the database.</li>
+ *     <li>The writer flushes when {@code batchSize} keys are pending or the
+ *     oldest pending event is {@code maxDelay} old, whichever comes first.</li>
+ *     <li>A failed flush keeps the events that were not written and retries
+ *     them after {@code maxDelay}, coalesced with whatever arrived
+ *     meanwhile. The flusher must write each chunk it is given atomically,
+ *     since a failed chunk is retried whole.</li>
+ *     <li>{@link #stop()} flushes everything still pending.</li>
+ * </ul>
+ *
+ * Loss guarantee: an appended event is written within {@code maxDelay} plus
+ * one flush, as long as the database accepts it. A crash loses at most that
+ * much; a clean shutdown loses nothing that was accepted, and events refused
+ * because the queue was full show up in {@code news.write_behind.dropped}.
+ *
+ * Metrics, tagged with the buffer name: {@code news.write_behind.queued}
+ * (gauge), {@code news.write_behind.appended}, {@code news.write_behind.dropped},
+ * {@code news.write_behind.flushed} (keys written),
+ * {@code news.write_behind.failures} and the {@code news.write_behind.flush} timer.
+ */
+public class WriteBehindBuffer<K, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final String name;
+    private final int capacity;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final BinaryOperator<V> merge;
+    private final Consumer<List<Map.Entry<K, V>>> flusher;
+
+    private final ConcurrentLinkedQueue<Map.Entry<K, V>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * Coalesced events waiting to be written; only touched under {@link #flushLock}.
+     */
+    private final Map<K, V> pending = new LinkedHashMap<>();
+    private long oldestPendingNanos;
+    private long retryAfterNanos;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter appended;
+    private final Counter dropped;
+    private final Counter flushed;
+    private final Counter failures;
+    private final Timer flushTimer;
+
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    public WriteBehindBuffer(String name, int capacity, int batchSize, Duration maxDelay, BinaryOperator<V> merge,
+                             Consumer<List<Map.Entry<K, V>>> flusher, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.merge = merge;
+        this.flusher = flusher;
+        Gauge.builder("news.write_behind.queued", queued, AtomicInteger::get).tag("buffer", name)
+                .register(meterRegistry);
+        this.appended = Counter.builder("news.write_behind.appended").tag("buffer", name).register(meterRegistry);
+        this.dropped = Counter.builder("news.write_behind.dropped").tag("buffer", name).register(meterRegistry);
+        this.flushed = Counter.builder("news.write_behind.flushed").tag("buffer", name).register(meterRegistry);
+        this.failures = Counter.builder("news.write_behind.failures").tag("buffer", name).register(meterRegistry);
+        this.flushTimer = Timer.builder("news.write_behind.flush").tag("buffer", name).register(meterRegistry);
+    }
+
+    /**
+     * Queues an event; returns false, and counts a drop, when the queue is full.
+     */
+    public boolean append(K key, V value) {
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        queue.offer(Map.entry(key, value));
+        appended.increment();
+        Thread current = writer;
+        if (current != null && queued.get() >= batchSize) {
+            LockSupport.unpark(current);
+        }
+        return true;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "write-behind-" + name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops the writer and flushes every accepted event on the calling thread.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread current = writer;
+        LockSupport.unpark(current);
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        flush();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Drains the queue and writes everything pending now, regardless of the triggers.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            drain();
+            write(true);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            flushLock.lock();
+            try {
+                drain();
+                if (pending.size() >= batchSize
+                        || (!pending.isEmpty() && System.nanoTime() - oldestPendingNanos >= maxDelayNanos)) {
+                    write(false);
+                }
+            } catch (Exception e) {
+                logger.error("Write-behind buffer {} failed", name, e);
+            } finally {
+                flushLock.unlock();
+            }
+            LockSupport.parkNanos(this, Math.min(IDLE_PARK_NANOS, maxDelayNanos));
+        }
+    }
+
+    private void drain() {
+        // stop taking events while failed writes pile up, so the queue fills and drops instead
+        while (pending.size() < capacity) {
+            Map.Entry<K, V> event = queue.poll();
+            if (event == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            if (pending.isEmpty()) {
+                oldestPendingNanos = System.nanoTime();
+            }
+            pending.merge(event.getKey(), event.getValue(), merge);
+        }
+    }
+
+    private void write(boolean force) {
+        if (pending.isEmpty() || (!force && System.nanoTime() < retryAfterNanos)) {
+            return;
+        }
+        List<Map.Entry<K, V>> batch = new ArrayList<>(pending.size());
+        pending.forEach((key, value) -> batch.add(Map.entry(key, value)));
+        long start = System.nanoTime();
+        try {
+            for (int from = 0; from < batch.size(); from += batchSize) {
+                List<Map.Entry<K, V>> chunk = batch.subList(from, Math.min(from + batchSize, batch.size()));
+                flusher.accept(chunk);
+                // written chunks must not be retried: the upserts add up; a failed chunk was rolled back
+                chunk.forEach(entry -> pending.remove(entry.getKey()));
+                flushed.increment(chunk.size());
+            }
+        } catch (Exception e) {
+            failures.increment();
+            retryAfterNanos = System.nanoTime() + maxDelayNanos;
+            logger.warn("Write-behind buffer {} could not write {} entries, retrying in {} ms",
+                    name, pending.size(), TimeUnit.NANOSECONDS.toMillis(maxDelayNanos), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
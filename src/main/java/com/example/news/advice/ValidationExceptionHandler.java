@@ -1,8 +1,10 @@
 package com.example.news.advice;
 
 import com.example.news.exception.ArticleNotFoundException;
+import com.example.news.exception.CoalescedLoadTimeoutException;
 import com.example.news.exception.SourceNotFoundException;
 import com.example.news.exception.UserNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -35,6 +37,18 @@ public class ValidationExceptionHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * The database is too slow to answer within the coalescing timeout; the
+     * client is asked to come back rather than being shown an error.
+     */
+    @ExceptionHandler(CoalescedLoadTimeoutException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<String> handleCoalescedLoadTimeoutException(CoalescedLoadTimeoutException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
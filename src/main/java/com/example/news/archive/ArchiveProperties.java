@@ -0,0 +1,48 @@
+package com.example.news.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "news.archive")
+public class ArchiveProperties {
+
+    /**
+     * Whether the scheduled job moves old articles to the archive table.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Articles published longer ago than this are archived.
+     */
+    private Duration maxAge = Duration.ofDays(90);
+
+    /**
+     * Articles moved per transaction.
+     */
+    private int batchSize = 1_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.news.archive;
+
+import com.example.news.changelog.ChangeKind;
+import com.example.news.changelog.ChangeLog;
+import com.example.news.config.MaintenanceLock;
+import com.example.news.event.ArticleChangedEvent;
+import com.example.news.event.ArticlesArchivedEvent;
+import com.example.news.partition.ArticlePartition;
+import com.example.news.partition.ArticlePartitionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves articles older than {@code news.archive.max-age} from the hot
+ * {@code articles} table to {@code articles_archive}, so the table and its
+ * indexes only hold the articles that are still read regularly. The rows
+ * never pass through JPA, and the compressed content is copied as is.
+ *
+ * When the table is partitioned by month, whole months are archived: each
+ * partition is copied to the archive in batches, then swapped out of the
+ * table atomically and dropped, so articles stay in the hot table until
+ * their entire month is older than the cutoff and are readable from one of
+ * the two tables throughout. Otherwise each batch is copied and deleted in
+ * one transaction.
+ *
+ * With several nodes on one database, only the node holding the articles
+ * {@link MaintenanceLock} archives; the others skip the run.
+ *
+ * Every batch is reported like a deletion once it is committed, locally and
+ * through the change log, so the article index, feeds and related lists drop
+ * the archived articles.
+ */
+@Component
+@EnableScheduling
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArticleArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleArchiver.class);
+
+    /**
+     * Unpartitioned table a partition's rows are exchanged into before they
+     * are copied to the archive.
+     */
+    static final String STAGING_TABLE = "articles_archive_staging";
+    private static final int EXCHANGE_ATTEMPTS = 3;
+    private static final String UPSERT = " ON DUPLICATE KEY UPDATE title = VALUES(title), content_zstd = VALUES(content_zstd),"
+            + " source = VALUES(source), published_at = VALUES(published_at), archived_at = VALUES(archived_at)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArticlePartitionManager partitionManager;
+    private final MaintenanceLock maintenanceLock;
+    private final ChangeLog changeLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArchiveProperties properties;
+
+    @Autowired
+    public ArticleArchiver(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           ArticlePartitionManager partitionManager, MaintenanceLock maintenanceLock,
+                           ChangeLog changeLog, ApplicationEventPublisher eventPublisher,
+                           ArchiveProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionManager = partitionManager;
+        this.maintenanceLock = maintenanceLock;
+        this.changeLog = changeLog;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    @Scheduled(initialDelayString = "${news.archive.interval:PT1H}", fixedDelayString = "${news.archive.interval:PT1H}")
+    public void archiveOldArticles() {
+        if (properties.isEnabled()) {
+            archive(LocalDateTime.now().minus(properties.getMaxAge()));
+        }
+    }
+
+    /**
+     * Archives every article published before the cutoff and returns how
+     * many were moved. Runs on one node at a time; the others skip the run.
+     */
+    public long archive(LocalDateTime cutoff) {
+        return maintenanceLock.callExclusively(MaintenanceLock.ARTICLES, Duration.ZERO, () -> archiveExclusively(cutoff))
+                .orElse(0L);
+    }
+
+    private long archiveExclusively(LocalDateTime cutoff) {
+        long start = System.currentTimeMillis();
+        long archived = 0;
+        try {
+            if (partitionManager.isPartitioned()) {
+                for (ArticlePartition partition : partitionManager.partitionsBefore(cutoff)) {
+                    archived += archivePartition(partition);
+                }
+            } else {
+                int moved;
+                do {
+                    moved = transactionTemplate.execute(status -> moveBatch(cutoff));
+                    archived += moved;
+                } while (moved == properties.getBatchSize());
+            }
+        } catch (Exception e) {
+            logger.error("Error archiving articles published before {} after moving {}", cutoff, archived, e);
+            throw e;
+        }
+        if (archived > 0) {
+            logger.info("Archived {} articles published before {} in {} ms", archived, cutoff,
+                    System.currentTimeMillis() - start);
+        }
+        return archived;
+    }
+
+    /**
+     * Copies the rows of a partition to the archive in batches, while they
+     * are still served from the hot table, then moves them into a staging
+     * table with one atomic {@code EXCHANGE PARTITION} and drops the emptied
+     * partition. Rows changed or added between their copy and the exchange
+     * are copied again from staging. Rows written to the partition after the
+     * exchange, such as back-dated articles, are moved by another round; a
+     * partition that keeps receiving rows is left for the next run. A
+     * staging table left by an interrupted run is copied first.
+     */
+    private long archivePartition(ArticlePartition partition) {
+        long copied = copyStaging();
+        for (int attempt = 0; attempt < EXCHANGE_ATTEMPTS; attempt++) {
+            copyPartition(partition);
+            partitionManager.createExchangeTable(STAGING_TABLE);
+            partitionManager.exchange(partition, STAGING_TABLE);
+            copied += copyStaging();
+            if (partitionManager.dropIfEmpty(partition)) {
+                return copied;
+            }
+        }
+        logger.warn("Partition {} kept receiving articles while it was archived, leaving it for the next run",
+                partition.name());
+        return copied;
+    }
+
+    /**
+     * Copies the rows of the partition to the archive, replacing stale
+     * copies, one transaction per batch. The rows stay in the hot table, so
+     * nothing is reported yet.
+     */
+    private void copyPartition(ArticlePartition partition) {
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM articles PARTITION (" + partition.name() + ") WHERE id > :after"
+                            + " ORDER BY id LIMIT :limit",
+                    new MapSqlParameterSource("after", lastId).addValue("limit", properties.getBatchSize()),
+                    Long.class);
+            if (ids.isEmpty()) {
+                return;
+            }
+            MapSqlParameterSource batch = new MapSqlParameterSource("ids", ids).addValue("now", LocalDateTime.now());
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                    "INSERT INTO articles_archive (id, title, content_zstd, source, published_at, archived_at)"
+                            + " SELECT id, title, content_zstd, source, published_at, :now"
+                            + " FROM articles PARTITION (" + partition.name() + ") WHERE id IN (:ids)"
+                            + UPSERT, batch));
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    /**
+     * Copies the rows of the staging table that are missing from the
+     * archive or differ from their copy there, and drops the table. Each
+     * batch is copied, removed from staging and reported in one transaction.
+     */
+    private long copyStaging() {
+        if (!stagingExists()) {
+            return 0;
+        }
+        long copied = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM " + STAGING_TABLE + " ORDER BY id LIMIT :limit",
+                    new MapSqlParameterSource("limit", properties.getBatchSize()), Long.class);
+            if (ids.isEmpty()) {
+                break;
+            }
+            MapSqlParameterSource batch = new MapSqlParameterSource("ids", ids).addValue("now", LocalDateTime.now());
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("INSERT INTO articles_archive (id, title, content_zstd, source, published_at, archived_at)"
+                        + " SELECT s.id, s.title, s.content_zstd, s.source, s.published_at, :now FROM " + STAGING_TABLE + " s"
+                        + " LEFT JOIN articles_archive a ON a.id = s.id"
+                        + " WHERE s.id IN (:ids) AND (a.id IS NULL OR NOT (a.title <=> s.title)"
+                        + " OR NOT (a.content_zstd <=> s.content_zstd) OR NOT (a.source <=> s.source)"
+                        + " OR NOT (a.published_at <=> s.published_at))"
+                        + UPSERT, batch);
+                jdbcTemplate.update("DELETE FROM " + STAGING_TABLE + " WHERE id IN (:ids)", batch);
+                reportArchived(ids);
+            });
+            copied += ids.size();
+        }
+        jdbcTemplate.getJdbcTemplate().execute("DROP TABLE " + STAGING_TABLE);
+        return copied;
+    }
+
+    private boolean stagingExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM information_schema.TABLES"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = :table)",
+                new MapSqlParameterSource("table", STAGING_TABLE), Boolean.class));
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM articles WHERE published_at < :cutoff ORDER BY published_at LIMIT :limit",
+                new MapSqlParameterSource("cutoff", cutoff).addValue("limit", properties.getBatchSize()),
+                Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource batch = new MapSqlParameterSource("ids", ids).addValue("now", LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO articles_archive (id, title, content_zstd, source, published_at, archived_at)"
+                + " SELECT id, title, content_zstd, source, published_at, :now FROM articles WHERE id IN (:ids)", batch);
+        jdbcTemplate.update("DELETE FROM articles WHERE id IN (:ids)", batch);
+        reportArchived(ids);
+        return ids.size();
+    }
+
+    /**
+     * Logs the ids as changed and publishes their deletion, delivered to
+     * transactional listeners once the surrounding transaction commits.
+     */
+    private void reportArchived(List<Long> ids) {
+        changeLog.appendAll(ChangeKind.ARTICLE, ids);
+        ids.forEach(id -> eventPublisher.publishEvent(ArticleChangedEvent.deleted(id)));
+        eventPublisher.publishEvent(new ArticlesArchivedEvent(List.copyOf(ids)));
+    }
+}
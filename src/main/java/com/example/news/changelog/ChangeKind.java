@@ -0,0 +1,9 @@
+package com.example.news.changelog;
+
+/**
+ * What a change-log entry refers to. {@code TAG} entries carry the id of
+ * an article whose tags changed without the article itself changing.
+ */
+public enum ChangeKind {
+    ARTICLE, SOURCE, USER, TAG
+}
@@ -0,0 +1,60 @@
+package com.example.news.changelog;
+
+import com.example.news.config.NodeIdentity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Records changes in the {@code change_log} table so other nodes can
+ * refresh what they hold in memory. Entries go through the caller's
+ * connection, so within a transaction they commit or roll back with the
+ * change itself.
+ */
+@Component
+@EnableConfigurationProperties(ChangeLogProperties.class)
+public class ChangeLog {
+
+    private static final String INSERT = "INSERT INTO change_log (kind, entity_id, origin_node, created_at)"
+            + " VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NodeIdentity node;
+    private final ChangeLogProperties properties;
+
+    @Autowired
+    public ChangeLog(JdbcTemplate jdbcTemplate, NodeIdentity node, ChangeLogProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.node = node;
+        this.properties = properties;
+    }
+
+    public void append(ChangeKind kind, Long id) {
+        if (properties.isEnabled()) {
+            jdbcTemplate.update(INSERT, kind.name(), id, node.id(), Timestamp.valueOf(LocalDateTime.now()));
+        }
+    }
+
+    public void appendAll(ChangeKind kind, Collection<Long> ids) {
+        if (!properties.isEnabled() || ids.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, ids.stream()
+                .map(id -> new Object[] {kind.name(), id, node.id(), now})
+                .toList());
+    }
+
+    /**
+     * Marks every entity of the kind as changed, after writes that bypass
+     * the services.
+     */
+    public void appendAll(ChangeKind kind) {
+        append(kind, null);
+    }
+}
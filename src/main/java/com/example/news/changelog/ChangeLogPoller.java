@@ -0,0 +1,234 @@
+package com.example.news.changelog;
+
+import com.example.news.config.NodeIdentity;
+import com.example.news.event.RemoteChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows the {@code change_log} table and publishes a
+ * {@link RemoteChangeEvent} per kind for the entries other nodes wrote, so
+ * in-memory state lags remote writes by about one poll interval.
+ *
+ * Ids are handed out before commit, so a lower id can become visible after
+ * a higher one. The poller reads onwards from the highest id it has seen and
+ * remembers the ids it skipped over, reading those again by id on every poll
+ * until they show up or {@code news.change-log.gap-timeout} passes. A gap
+ * therefore never holds back newer entries.
+ */
+@Component
+@EnableConfigurationProperties(ChangeLogProperties.class)
+public class ChangeLogPoller implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogPoller.class);
+
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+    private static final String SELECT = "SELECT id, kind, entity_id, origin_node, created_at FROM change_log";
+
+    /**
+     * Bounds the ids tracked as missing; a larger jump in ids is not waited for.
+     */
+    private static final int MAX_MISSING = 100_000;
+
+    private record Entry(long id, ChangeKind kind, Long entityId, String originNode, LocalDateTime createdAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NodeIdentity node;
+    private final ChangeLogProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter applied;
+    private final Timer lag;
+
+    /**
+     * Highest id read so far.
+     */
+    private long highWater;
+    /**
+     * Ids below {@link #highWater} not seen yet, with when they were first
+     * found missing.
+     */
+    private final TreeMap<Long, Long> missing = new TreeMap<>();
+    private long lastPruneNanos;
+    private volatile ScheduledExecutorService executor;
+
+    @Autowired
+    public ChangeLogPoller(JdbcTemplate jdbcTemplate, NodeIdentity node, ChangeLogProperties properties,
+                           ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.node = node;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.applied = Counter.builder("news.change_log.applied").register(meterRegistry);
+        this.lag = Timer.builder("news.change_log.lag").register(meterRegistry);
+    }
+
+    /**
+     * Starts at the end of the log: state loaded from the database after this
+     * already includes everything before it.
+     */
+    @Override
+    public synchronized void start() {
+        if (!properties.isEnabled() || executor != null) {
+            return;
+        }
+        highWater = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM change_log", Long.class);
+        missing.clear();
+        lastPruneNanos = System.nanoTime();
+        long interval = properties.getPollInterval().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-log-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::pollQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Applies the missing entries that showed up, then reads and applies new
+     * entries until the log is caught up.
+     */
+    synchronized void poll() {
+        recheckMissing();
+        List<Entry> entries;
+        do {
+            entries = jdbcTemplate.query(SELECT + " WHERE id > ? ORDER BY id LIMIT ?", this::entry,
+                    highWater, properties.getBatchSize());
+            long now = System.nanoTime();
+            for (Entry entry : entries) {
+                markMissing(highWater + 1, entry.id(), now);
+                highWater = entry.id();
+            }
+            apply(entries);
+        } while (entries.size() == properties.getBatchSize());
+        if (System.nanoTime() - lastPruneNanos > PRUNE_INTERVAL.toNanos()) {
+            lastPruneNanos = System.nanoTime();
+            jdbcTemplate.update("DELETE FROM change_log WHERE created_at < ?",
+                    Timestamp.valueOf(LocalDateTime.now().minus(properties.getRetention())));
+        }
+    }
+
+    /**
+     * The id up to which every entry has been applied or given up on.
+     */
+    long cursor() {
+        return missing.isEmpty() ? highWater : missing.firstKey() - 1;
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (Exception e) {
+            logger.error("Error reading the change log after id {}", highWater, e);
+        }
+    }
+
+    /**
+     * Reads the missing ids again, applying those that showed up and
+     * forgetting those missing for longer than the gap timeout.
+     */
+    private void recheckMissing() {
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(missing.keySet());
+        for (int from = 0; from < ids.size(); from += properties.getBatchSize()) {
+            List<Long> chunk = ids.subList(from, Math.min(from + properties.getBatchSize(), ids.size()));
+            List<Entry> found = jdbcTemplate.query(SELECT + " WHERE id IN ("
+                    + String.join(",", Collections.nCopies(chunk.size(), "?")) + ") ORDER BY id",
+                    this::entry, chunk.toArray());
+            found.forEach(entry -> missing.remove(entry.id()));
+            apply(found);
+        }
+        long now = System.nanoTime();
+        long timeout = properties.getGapTimeout().toNanos();
+        int before = missing.size();
+        missing.values().removeIf(since -> now - since >= timeout);
+        if (missing.size() < before) {
+            logger.debug("{} change log ids did not show up within {}, skipping them", before - missing.size(),
+                    properties.getGapTimeout());
+        }
+    }
+
+    /**
+     * Records the ids from {@code from} up to, not including, {@code to} as
+     * missing.
+     */
+    private void markMissing(long from, long to, long now) {
+        if (to - from > MAX_MISSING - missing.size()) {
+            logger.warn("Change log ids {} to {} are missing, too many to wait for", from, to - 1);
+            return;
+        }
+        for (long id = from; id < to; id++) {
+            missing.put(id, now);
+        }
+    }
+
+    private Entry entry(ResultSet rs, int rowNum) throws SQLException {
+        return new Entry(rs.getLong(1), ChangeKind.valueOf(rs.getString(2)), rs.getObject(3, Long.class),
+                rs.getString(4), rs.getTimestamp(5).toLocalDateTime());
+    }
+
+    private void apply(List<Entry> entries) {
+        Map<ChangeKind, Set<Long>> changed = new EnumMap<>(ChangeKind.class);
+        Set<ChangeKind> all = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Entry entry : entries) {
+            if (node.id().equals(entry.originNode())) {
+                continue;
+            }
+            if (entry.entityId() == null) {
+                all.add(entry.kind());
+            } else {
+                changed.computeIfAbsent(entry.kind(), kind -> new HashSet<>()).add(entry.entityId());
+            }
+            lag.record(Duration.between(entry.createdAt(), now).abs());
+        }
+        for (ChangeKind kind : ChangeKind.values()) {
+            if (all.contains(kind)) {
+                eventPublisher.publishEvent(new RemoteChangeEvent(kind, Set.of(), true));
+            } else if (changed.containsKey(kind)) {
+                eventPublisher.publishEvent(new RemoteChangeEvent(kind, Set.copyOf(changed.get(kind)), false));
+            }
+        }
+        applied.increment(entries.size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.news.changelog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "news.change-log")
+public class ChangeLogProperties {
+
+    /**
+     * Whether changes are logged and the log is followed.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time between two reads of the log; bounds how stale other nodes' changes are.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Entries read at once.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * How long a missing id is waited for before it is taken as rolled back.
+     * Entries of transactions that commit later than this are missed.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(30);
+
+    /**
+     * How long entries are kept.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getGapTimeout() {
+        return gapTimeout;
+    }
+
+    public void setGapTimeout(Duration gapTimeout) {
+        this.gapTimeout = gapTimeout;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+}
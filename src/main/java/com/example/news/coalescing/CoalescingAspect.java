@@ -0,0 +1,42 @@
+package com.example.news.coalescing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+
+/**
+ * Coalesces calls to {@link Coalesced} methods by method and arguments. It
+ * runs outside the transaction advice, so callers that join a load never
+ * open a transaction or borrow a connection. Calls made inside a transaction
+ * are not coalesced, since they may need to see its uncommitted writes.
+ * Callers that join a load get {@link DetachedCopies} of its result.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalescingAspect {
+
+    private final RequestCoalescer coalescer;
+
+    @Autowired
+    public CoalescingAspect(RequestCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    @Around("@annotation(com.example.news.coalescing.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + '.' + joinPoint.getSignature().getName();
+        return coalescer.execute(name, Arrays.asList(joinPoint.getArgs()), joinPoint::proceed, DetachedCopies::of);
+    }
+}
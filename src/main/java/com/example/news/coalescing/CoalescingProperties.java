@@ -0,0 +1,35 @@
+package com.example.news.coalescing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "news.coalescing")
+public class CoalescingProperties {
+
+    /**
+     * Whether concurrent identical reads share one load.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Longest time a caller waits for a load another request started.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.news.coalescing;
+
+import com.example.news.entity.Article;
+
+import java.util.List;
+
+/**
+ * What followers of a coalesced load receive. Articles loaded by the leader
+ * belong to its persistence context, which stays open until the leader's
+ * request ends, so each follower gets detached copies of its own instead of
+ * sharing those instances. Other results are handed over as they are.
+ */
+final class DetachedCopies {
+
+    private DetachedCopies() {
+    }
+
+    static Object of(Object result) {
+        if (result instanceof Article article) {
+            return article.copy();
+        }
+        if (result instanceof List<?> list && list.stream().anyMatch(Article.class::isInstance)) {
+            return list.stream()
+                    .map(element -> element instanceof Article article ? article.copy() : element)
+                    .toList();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.news.coalescing;
+
+import com.example.news.changelog.ChangeKind;
+import com.example.news.event.ArticleChangedEvent;
+import com.example.news.event.ArticlesBulkLoadedEvent;
+import com.example.news.event.RemoteChangeEvent;
+import com.example.news.exception.CoalescedLoadTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single-flight loads: the first caller for a key runs the load on its own
+ * thread, and callers arriving with the same key while it runs wait for its
+ * result or exception instead of running it again. Nothing is kept once the
+ * load finishes, so this only removes duplicate concurrent work, such as a
+ * burst of requests for an article that was just published.
+ *
+ * Waiting callers give up after {@code news.coalescing.timeout}. After an
+ * article changes, running loads are detached so later callers start a
+ * fresh one instead of joining a load that may predate the change.
+ *
+ * <ul>
+ *     <li>{@code news.coalescing.calls} - counter tagged with name and outcome
+ *     ({@code leader}, {@code follower} or {@code timeout}); followers over all
+ *     calls is the coalescing ratio</li>
+ *     <li>{@code news.coalescing.inflight} - gauge of loads currently running</li>
+ * </ul>
+ */
+@Component
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class RequestCoalescer {
+
+    /**
+     * A load that may throw whatever the coalesced method throws.
+     */
+    @FunctionalInterface
+    public interface Load<T> {
+        T load() throws Throwable;
+    }
+
+    private record Key(String name, Object arguments) {
+    }
+
+    private final CoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RequestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("news.coalescing.inflight", inFlight, Map::size)
+                .description("Coalesced loads currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code load}, or waits for the running load with an equal name and
+     * arguments. {@code arguments} must implement {@code equals} and
+     * {@code hashCode} by value.
+     */
+    public <T> T execute(String name, Object arguments, Load<T> load) throws Throwable {
+        return execute(name, arguments, load, UnaryOperator.identity());
+    }
+
+    /**
+     * Like {@link #execute(String, Object, Load)}, handing each waiting
+     * caller {@code share} applied to the result rather than the instance
+     * the leader returned.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object arguments, Load<T> load, UnaryOperator<T> share) throws Throwable {
+        if (!properties.isEnabled()) {
+            return load.load();
+        }
+        Key key = new Key(name, arguments);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return share.apply((T) await(name, running));
+        }
+        count(name, "leader");
+        try {
+            T result = load.load();
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (Throwable t) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    /**
+     * Lets callers arriving from now on start new loads. Callers already
+     * waiting still get the result of the load they joined.
+     */
+    public void detachAll() {
+        inFlight.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        detachAll();
+    }
+
+    @EventListener(ArticlesBulkLoadedEvent.class)
+    public void onArticlesBulkLoaded() {
+        detachAll();
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.kind() == ChangeKind.ARTICLE) {
+            detachAll();
+        }
+    }
+
+    private Object await(String name, CompletableFuture<Object> running) throws Throwable {
+        try {
+            Object result = running.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            count(name, "follower");
+            return result;
+        } catch (ExecutionException e) {
+            count(name, "follower");
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            count(name, "timeout");
+            throw new CoalescedLoadTimeoutException("Timed out after " + properties.getTimeout()
+                    + " waiting for a running " + name, properties.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    private void count(String name, String outcome) {
+        counters.computeIfAbsent(name + '.' + outcome, key -> Counter.builder("news.coalescing.calls")
+                        .description("Calls to coalesced loads by whether they ran or joined the load")
+                        .tags("name", name, "outcome", outcome)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.news.compression;
+
+import com.example.news.config.MaintenanceLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Moves article content from the legacy text column into the compressed
+ * {@code content_zstd} column. Hibernate adds the new column but never
+ * touches the old one, so this runs once the schema update is done and
+ * before the web server accepts requests. On a database without the legacy
+ * column it only makes sure {@code content_zstd} is required.
+ *
+ * The legacy column is kept, and made nullable since new rows leave it
+ * empty, so nodes of the previous version keep working during a rolling
+ * deploy. Until it is dropped {@code content_zstd} stays nullable too, as
+ * their inserts leave it out, and on MySQL a trigger clears it whenever they
+ * change the legacy content, so each start compresses what they wrote. Set
+ * {@code news.content-compression.drop-legacy-column} once every node runs
+ * this version to compress what they wrote last, drop the column and the
+ * trigger and make {@code content_zstd} required. Only one node migrates at
+ * a time; the others wait for it.
+ */
+@Component
+public class ArticleContentMigration implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleContentMigration.class);
+
+    static final String TABLE = "articles";
+    static final String LEGACY_COLUMN = "content";
+    static final String COMPRESSED_COLUMN = "content_zstd";
+    static final String TRIGGER = "articles_legacy_content_update";
+    private static final int BATCH_SIZE = 500;
+    private static final Duration LOCK_TIMEOUT = Duration.ofMinutes(10);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ContentCodec codec;
+    private final MaintenanceLock maintenanceLock;
+    private final ContentCompressionProperties properties;
+
+    @Autowired
+    public ArticleContentMigration(JdbcTemplate jdbcTemplate, ContentCodec codec, MaintenanceLock maintenanceLock,
+                                   ContentCompressionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.codec = codec;
+        this.maintenanceLock = maintenanceLock;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!hasLegacyColumn()) {
+            requireCompressedContent();
+            return;
+        }
+        boolean ran = maintenanceLock.runExclusively(MaintenanceLock.ARTICLES, LOCK_TIMEOUT, () -> {
+            if (hasLegacyColumn()) {
+                run();
+            }
+        });
+        if (!ran) {
+            logger.warn("Another node kept migrating article content for {}, starting without waiting for it",
+                    LOCK_TIMEOUT);
+        }
+    }
+
+    /**
+     * Hibernate creates {@code content_zstd} nullable for the rolling
+     * deploy; without a legacy column every row has it.
+     */
+    private void requireCompressedContent() {
+        ColumnInfo column = column(COMPRESSED_COLUMN);
+        if (column == null || !column.nullable()) {
+            return;
+        }
+        maintenanceLock.runExclusively(MaintenanceLock.ARTICLES, LOCK_TIMEOUT, () -> {
+            if (!hasLegacyColumn()) {
+                setNullable(COMPRESSED_COLUMN, false);
+            }
+        });
+    }
+
+    private void run() {
+        long start = System.currentTimeMillis();
+        try {
+            setNullable(LEGACY_COLUMN, true);
+            setNullable(COMPRESSED_COLUMN, true);
+            createLegacyUpdateTrigger();
+            long migrated = migrate();
+            if (properties.isDropLegacyColumn()) {
+                dropLegacyUpdateTrigger();
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP COLUMN " + LEGACY_COLUMN);
+                setNullable(COMPRESSED_COLUMN, false);
+                logger.info("Compressed the content of {} articles and dropped {}.{} in {} ms",
+                        migrated, TABLE, LEGACY_COLUMN, System.currentTimeMillis() - start);
+            } else if (migrated > 0) {
+                logger.info("Compressed the content of {} articles in {} ms, {}.{} is kept", migrated,
+                        System.currentTimeMillis() - start, TABLE, LEGACY_COLUMN);
+            }
+        } catch (Exception e) {
+            logger.error("Error compressing article content, the legacy column is kept", e);
+            throw e;
+        }
+    }
+
+    /**
+     * New rows only fill {@code content_zstd} and rows from nodes of the
+     * previous version only the legacy column, so while both are written
+     * neither may be declared {@code NOT NULL}.
+     */
+    private void setNullable(String name, boolean nullable) {
+        ColumnInfo column = column(name);
+        if (column == null || column.nullable() == nullable) {
+            return;
+        }
+        if (column.mySql()) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " MODIFY COLUMN " + name + " " + column.type()
+                    + (nullable ? " NULL" : " NOT NULL"));
+        } else {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN " + name
+                    + (nullable ? " SET NULL" : " SET NOT NULL"));
+        }
+    }
+
+    /**
+     * Clears {@code content_zstd} when an update changes the legacy content
+     * but not the compressed copy, which only nodes of the previous version
+     * do, so {@link #migrate} compresses the edit again. Other databases only
+     * run one node and get no trigger.
+     */
+    private void createLegacyUpdateTrigger() {
+        if (!isMySql() || hasLegacyUpdateTrigger()) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TRIGGER " + TRIGGER + " BEFORE UPDATE ON " + TABLE + " FOR EACH ROW"
+                + " SET NEW." + COMPRESSED_COLUMN + " = IF(NOT (NEW." + LEGACY_COLUMN + " <=> OLD." + LEGACY_COLUMN + ")"
+                + " AND NEW." + COMPRESSED_COLUMN + " <=> OLD." + COMPRESSED_COLUMN + ", NULL, NEW." + COMPRESSED_COLUMN + ")");
+        logger.info("Created trigger {} to track legacy content edits", TRIGGER);
+    }
+
+    private void dropLegacyUpdateTrigger() {
+        if (isMySql() && hasLegacyUpdateTrigger()) {
+            jdbcTemplate.execute("DROP TRIGGER " + TRIGGER);
+        }
+    }
+
+    private boolean hasLegacyUpdateTrigger() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.TRIGGERS"
+                + " WHERE TRIGGER_SCHEMA = DATABASE() AND TRIGGER_NAME = ?", Integer.class, TRIGGER);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Compresses rows that have no compressed content yet, in id order. Safe
+     * to rerun after an interruption.
+     */
+    long migrate() {
+        long migrated = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> batch = jdbcTemplate.query(
+                    "SELECT id, " + LEGACY_COLUMN + " FROM " + TABLE
+                            + " WHERE id > ? AND (content_zstd IS NULL OR LENGTH(content_zstd) = 0)"
+                            + " ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getString(2)}, lastId, BATCH_SIZE);
+            if (batch.isEmpty()) {
+                return migrated;
+            }
+            List<Object[]> updates = batch.stream()
+                    .map(row -> new Object[] {codec.compress(row[1] == null ? "" : (String) row[1]), row[0]})
+                    .toList();
+            jdbcTemplate.batchUpdate("UPDATE " + TABLE + " SET content_zstd = ? WHERE id = ?", updates);
+            migrated += batch.size();
+            lastId = (Long) batch.get(batch.size() - 1)[0];
+        }
+    }
+
+    boolean hasLegacyColumn() {
+        return column(LEGACY_COLUMN) != null;
+    }
+
+    private ColumnInfo column(String name) {
+        return jdbcTemplate.execute((ConnectionCallback<ColumnInfo>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = identifier(metaData, TABLE);
+            String column = identifier(metaData, name);
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+                if (!columns.next()) {
+                    return null;
+                }
+                return new ColumnInfo(columns.getString("TYPE_NAME"),
+                        columns.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls,
+                        "MySQL".equalsIgnoreCase(metaData.getDatabaseProductName()));
+            }
+        });
+    }
+
+    private boolean isMySql() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+    }
+
+    private record ColumnInfo(String type, boolean nullable, boolean mySql) {
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+    }
+}
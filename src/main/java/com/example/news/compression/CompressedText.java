@@ -0,0 +1,54 @@
+package com.example.news.compression;
+
+import java.util.Arrays;
+
+/**
+ * Text held as a zstd frame. Loading an entity only copies the compressed
+ * bytes; {@link #text()} decompresses on each call and caches nothing, so
+ * long-lived holders such as the article index keep only the compressed form.
+ */
+public final class CompressedText {
+
+    private final byte[] frame;
+
+    private CompressedText(byte[] frame) {
+        this.frame = frame;
+    }
+
+    public static CompressedText of(String text) {
+        return text == null ? null : new CompressedText(ContentCodec.current().compress(text));
+    }
+
+    /**
+     * Wraps an existing frame without copying it.
+     */
+    public static CompressedText fromFrame(byte[] frame) {
+        return frame == null ? null : new CompressedText(frame);
+    }
+
+    public String text() {
+        return ContentCodec.current().decompress(frame);
+    }
+
+    /**
+     * The compressed bytes, not copied; callers must not modify them.
+     */
+    public byte[] frame() {
+        return frame;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof CompressedText that && Arrays.equals(frame, that.frame));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(frame);
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedText[" + frame.length + " bytes]";
+    }
+}
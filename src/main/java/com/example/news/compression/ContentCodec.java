@@ -0,0 +1,120 @@
+package com.example.news.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * zstd compression of article text, optionally with a dictionary trained on
+ * the corpus. Every frame records the id of the dictionary it was written
+ * with, so rows compressed before a dictionary change stay readable as long
+ * as the old dictionary is still listed.
+ *
+ * Entities are created outside Spring as well (mappers, tests, benchmarks),
+ * so the codec in use is process-wide: {@link ContentCompressionConfig}
+ * installs the configured one at startup, and until then plain zstd at the
+ * default level is used.
+ */
+public final class ContentCodec {
+
+    public static final int DEFAULT_LEVEL = 3;
+
+    private static volatile ContentCodec current = new ContentCodec(DEFAULT_LEVEL, null, Map.of());
+
+    private final int level;
+    private final ZstdDictCompress dictionary;
+    private final Map<Long, ZstdDictDecompress> decompressionDictionaries;
+
+    /**
+     * Native zstd contexts are expensive to create (tens of microseconds, more
+     * than decompressing a typical article), so they are reused. Pools rather
+     * than thread locals, because request threads may be virtual.
+     */
+    private final Queue<ZstdCompressCtx> compressContexts = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Queue<ZstdDecompressCtx>> decompressContexts = new ConcurrentHashMap<>();
+
+    private ContentCodec(int level, ZstdDictCompress dictionary, Map<Long, ZstdDictDecompress> decompressionDictionaries) {
+        this.level = level;
+        this.dictionary = dictionary;
+        this.decompressionDictionaries = decompressionDictionaries;
+    }
+
+    /**
+     * @param dictionary         dictionary new content is compressed with, or {@code null}
+     * @param olderDictionaries  dictionaries that existing rows may still reference
+     */
+    public static ContentCodec create(int level, byte[] dictionary, Iterable<byte[]> olderDictionaries) {
+        Map<Long, ZstdDictDecompress> decompression = new HashMap<>();
+        for (byte[] older : olderDictionaries) {
+            decompression.put(Zstd.getDictIdFromDict(older), new ZstdDictDecompress(older));
+        }
+        ZstdDictCompress compression = null;
+        if (dictionary != null) {
+            compression = new ZstdDictCompress(dictionary, level);
+            decompression.put(Zstd.getDictIdFromDict(dictionary), new ZstdDictDecompress(dictionary));
+        }
+        return new ContentCodec(level, compression, Map.copyOf(decompression));
+    }
+
+    public static ContentCodec current() {
+        return current;
+    }
+
+    static void install(ContentCodec codec) {
+        current = codec;
+    }
+
+    public byte[] compress(String text) {
+        ZstdCompressCtx context = compressContexts.poll();
+        if (context == null) {
+            context = new ZstdCompressCtx().setLevel(level);
+            if (dictionary != null) {
+                context.loadDict(dictionary);
+            }
+        }
+        try {
+            return context.compress(text.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            compressContexts.offer(context);
+        }
+    }
+
+    public String decompress(byte[] frame) {
+        int size = Math.toIntExact(Zstd.getFrameContentSize(frame));
+        long dictionaryId = Zstd.getDictIdFromFrame(frame);
+        Queue<ZstdDecompressCtx> contexts = decompressContexts.computeIfAbsent(dictionaryId,
+                id -> new ConcurrentLinkedQueue<>());
+        ZstdDecompressCtx context = contexts.poll();
+        if (context == null) {
+            context = newDecompressContext(dictionaryId);
+        }
+        try {
+            return new String(context.decompress(frame, size), StandardCharsets.UTF_8);
+        } finally {
+            contexts.offer(context);
+        }
+    }
+
+    private ZstdDecompressCtx newDecompressContext(long dictionaryId) {
+        ZstdDecompressCtx context = new ZstdDecompressCtx();
+        if (dictionaryId != 0) {
+            ZstdDictDecompress frameDictionary = decompressionDictionaries.get(dictionaryId);
+            if (frameDictionary == null) {
+                context.close();
+                throw new IllegalStateException("Article content was compressed with unknown zstd dictionary "
+                        + dictionaryId + ", list it in news.content-compression.previous-dictionaries");
+            }
+            context.loadDict(frameDictionary);
+        }
+        return context;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.news.compression;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ContentCompressionProperties.class)
+public class ContentCompressionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentCompressionConfig.class);
+
+    @Bean
+    public ContentCodec contentCodec(ContentCompressionProperties properties) throws IOException {
+        List<byte[]> previous = new ArrayList<>();
+        for (Resource resource : properties.getPreviousDictionaries()) {
+            previous.add(resource.getContentAsByteArray());
+        }
+        Resource dictionary = properties.getDictionary();
+        ContentCodec codec = ContentCodec.create(properties.getLevel(),
+                dictionary == null ? null : dictionary.getContentAsByteArray(), previous);
+        ContentCodec.install(codec);
+        logger.info("Compressing article content with zstd level {} ({})", properties.getLevel(),
+                dictionary == null ? "no dictionary" : "dictionary " + dictionary.getDescription());
+        return codec;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.news.compression;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "news.content-compression")
+public class ContentCompressionProperties {
+
+    /**
+     * zstd level for new content, 1 (fastest) to 19.
+     */
+    private int level = ContentCodec.DEFAULT_LEVEL;
+
+    /**
+     * Dictionary new content is compressed with, as written by the
+     * train-dictionary profile. Without one, plain zstd is used.
+     */
+    private Resource dictionary;
+
+    /**
+     * Dictionaries that were replaced but are still referenced by stored rows.
+     */
+    private List<Resource> previousDictionaries = new ArrayList<>();
+
+    /**
+     * Whether to drop the legacy {@code articles.content} column on startup,
+     * once every node stores content compressed.
+     */
+    private boolean dropLegacyColumn = false;
+
+    private final Training training = new Training();
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public Resource getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(Resource dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public List<Resource> getPreviousDictionaries() {
+        return previousDictionaries;
+    }
+
+    public void setPreviousDictionaries(List<Resource> previousDictionaries) {
+        this.previousDictionaries = previousDictionaries;
+    }
+
+    public boolean isDropLegacyColumn() {
+        return dropLegacyColumn;
+    }
+
+    public void setDropLegacyColumn(boolean dropLegacyColumn) {
+        this.dropLegacyColumn = dropLegacyColumn;
+    }
+
+    public Training getTraining() {
+        return training;
+    }
+
+    public static class Training {
+
+        /**
+         * Newest articles sampled for training.
+         */
+        private int samples = 10_000;
+
+        /**
+         * Dictionary size in bytes.
+         */
+        private int dictionarySize = 112_640;
+
+        /**
+         * File the trained dictionary is written to.
+         */
+        private String output = "articles.zstd.dict";
+
+        public int getSamples() {
+            return samples;
+        }
+
+        public void setSamples(int samples) {
+            this.samples = samples;
+        }
+
+        public int getDictionarySize() {
+            return dictionarySize;
+        }
+
+        public void setDictionarySize(int dictionarySize) {
+            this.dictionarySize = dictionarySize;
+        }
+
+        public String getOutput() {
+            return output;
+        }
+
+        public void setOutput(String output) {
+            this.output = output;
+        }
+    }
+}
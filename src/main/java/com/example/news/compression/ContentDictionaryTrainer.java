@@ -0,0 +1,108 @@
+package com.example.news.compression;
+
+import com.example.news.entity.Article;
+import com.example.news.repository.ArticleRepository;
+import com.github.luben.zstd.ZstdDictTrainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command-line entry point of the {@code train-dictionary} profile: trains a
+ * zstd dictionary on the newest articles, writes it to
+ * {@code news.content-compression.training.output} and reports the ratio with
+ * and without it. New content uses the dictionary once
+ * {@code news.content-compression.dictionary} points at the file.
+ *
+ * <pre>
+ * mvn spring-boot:run -Dspring-boot.run.profiles=train-dictionary
+ * </pre>
+ */
+@Component
+@Profile("train-dictionary")
+public class ContentDictionaryTrainer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentDictionaryTrainer.class);
+
+    private final ArticleRepository articleRepository;
+    private final ContentCompressionProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    @Autowired
+    public ContentDictionaryTrainer(ArticleRepository articleRepository, ContentCompressionProperties properties,
+                                    ConfigurableApplicationContext context) {
+        this.articleRepository = articleRepository;
+        this.properties = properties;
+        this.context = context;
+    }
+
+    @Override
+    public void run(String... args) throws IOException {
+        ContentCompressionProperties.Training training = properties.getTraining();
+        List<byte[]> samples = samples(training.getSamples());
+        long sampleBytes = samples.stream().mapToLong(sample -> sample.length).sum();
+        if (samples.isEmpty()) {
+            logger.warn("No articles to train a dictionary on");
+            System.exit(SpringApplication.exit(context, () -> 1));
+            return;
+        }
+
+        ZstdDictTrainer trainer = new ZstdDictTrainer(Math.toIntExact(Math.min(sampleBytes, Integer.MAX_VALUE)),
+                training.getDictionarySize());
+        samples.forEach(trainer::addSample);
+        byte[] dictionary = trainer.trainSamples();
+        Path output = Path.of(training.getOutput());
+        Files.write(output, dictionary);
+
+        ContentCodec plain = ContentCodec.create(properties.getLevel(), null, List.of());
+        ContentCodec trained = ContentCodec.create(properties.getLevel(), dictionary, List.of());
+        logger.info("Trained a {} byte dictionary on {} articles ({} bytes) and wrote it to {}",
+                dictionary.length, samples.size(), sampleBytes, output.toAbsolutePath());
+        logger.info("Compression ratio without dictionary {}, with dictionary {}",
+                ratio(plain, samples), ratio(trained, samples));
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private List<byte[]> samples(int count) {
+        List<byte[]> samples = new ArrayList<>(count);
+        Sort newestFirst = Sort.by(Sort.Order.desc("publishedAt"), Sort.Order.desc("id"));
+        Page<Article> page = articleRepository.findAll(PageRequest.of(0, Math.min(count, 1000), newestFirst));
+        while (page.hasContent() && samples.size() < count) {
+            for (Article article : page.getContent()) {
+                if (samples.size() < count) {
+                    samples.add(article.getContent().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            if (!page.hasNext()) {
+                break;
+            }
+            page = articleRepository.findAll(page.nextPageable());
+        }
+        return samples;
+    }
+
+    private static String ratio(ContentCodec codec, List<byte[]> samples) {
+        long raw = 0;
+        long compressed = 0;
+        for (byte[] sample : samples) {
+            raw += sample.length;
+            compressed += codec.compress(new String(sample, StandardCharsets.UTF_8)).length;
+        }
+        return String.format("%.2f", (double) raw / compressed);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.news.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "news.articles")
+public class ArticleQueryProperties {
+
+    /**
+     * How many of the newest articles the home page lists. Read newest first
+     * from the {@code published_at} index, so MySQL stops after this many
+     * rows instead of reading the whole table.
+     */
+    private int latestSize = 100;
+
+    public int getLatestSize() {
+        return latestSize;
+    }
+
+    public void setLatestSize(int latestSize) {
+        this.latestSize = latestSize;
+    }
+}
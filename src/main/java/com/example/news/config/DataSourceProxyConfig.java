@@ -0,0 +1,37 @@
+package com.example.news.config;
+
+import com.example.news.metrics.QueryBudgetProperties;
+import com.example.news.metrics.QueryCountingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource so every statement is counted and timed by
+ * {@link QueryCountingListener}.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class DataSourceProxyConfig {
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor(ObjectProvider<QueryBudgetProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !properties.getObject().isEnabled()) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new QueryCountingListener(properties.getObject()))
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.news.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs schema and data maintenance on one node at a time. On MySQL the work
+ * runs under a named {@code GET_LOCK} held on a connection of its own, so
+ * the lock is released even when the node dies. On other databases, such as
+ * H2 in tests, there is only one node and the work runs directly.
+ */
+@Component
+public class MaintenanceLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaintenanceLock.class);
+
+    /**
+     * Guards changes to the layout and contents of the {@code articles} table.
+     */
+    public static final String ARTICLES = "articles-maintenance";
+
+    private final DataSource dataSource;
+
+    private volatile Boolean mySql;
+
+    @Autowired
+    public MaintenanceLock(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Runs the task while holding the lock, waiting up to {@code timeout}
+     * for it. Returns false, without running the task, when another node
+     * held the lock all along.
+     */
+    public boolean runExclusively(String name, Duration timeout, Runnable task) {
+        return callExclusively(name, timeout, () -> {
+            task.run();
+            return Boolean.TRUE;
+        }).isPresent();
+    }
+
+    /**
+     * Like {@link #runExclusively}, returning the task's result, or empty
+     * when it did not run.
+     */
+    public <T> Optional<T> callExclusively(String name, Duration timeout, Supplier<T> task) {
+        if (!isMySql()) {
+            return Optional.of(task.get());
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            if (!acquire(connection, name, timeout)) {
+                logger.info("Another node holds the {} lock, skipping", name);
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(task.get());
+            } finally {
+                release(connection, name);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not use the " + name + " lock", e);
+        }
+    }
+
+    private static boolean acquire(Connection connection, String name, Duration timeout) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, name);
+            statement.setLong(2, timeout.toSeconds());
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void release(Connection connection, String name) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, name);
+            statement.execute();
+        } catch (SQLException e) {
+            logger.warn("Could not release the {} lock, closing its connection instead of pooling it", name, e);
+            try {
+                connection.abort(Runnable::run);
+            } catch (SQLException ignored) {
+                logger.debug("Could not abort the connection holding the {} lock", name);
+            }
+        }
+    }
+
+    private boolean isMySql() {
+        Boolean current = mySql;
+        if (current == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                current = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not read the database product", e);
+            }
+            mySql = current;
+        }
+        return current;
+    }
+}
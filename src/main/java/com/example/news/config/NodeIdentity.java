@@ -0,0 +1,47 @@
+package com.example.news.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Name of this node, for leases and for telling its own change-log entries
+ * from those of other nodes.
+ */
+@Component
+@EnableConfigurationProperties(NodeProperties.class)
+public class NodeIdentity {
+
+    private final String id;
+
+    @Autowired
+    public NodeIdentity(NodeProperties properties) {
+        this(properties.getId() != null && !properties.getId().isBlank() ? properties.getId() : defaultId());
+    }
+
+    public NodeIdentity(String id) {
+        this.id = id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    private static String defaultId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+}
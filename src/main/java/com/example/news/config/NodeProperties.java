@@ -0,0 +1,21 @@
+package com.example.news.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "news.node")
+public class NodeProperties {
+
+    /**
+     * Unique name of this node among those sharing the database; generated
+     * from host and process when unset.
+     */
+    private String id;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.news.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceChainRegistration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * Serves static assets under content-hash fingerprinted URLs.
+ *
+ * Templates link assets with {@code @{/css/styles.css}}, which the resource
+ * chain rewrites to {@code /css/styles-<md5>.css}. Fingerprinted URLs change
+ * whenever the content does, so they are cached for a year as immutable;
+ * plain URLs are revalidated on every use. Both prefer the {@code .br} or
+ * {@code .gz} variants written at build time by {@code src/build/PrecompressAssets.java}
+ * when the client accepts them.
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    private static final String[] ASSET_DIRECTORIES = {"css", "js"};
+
+    /**
+     * Name followed by a 32 digit MD5; PathPattern allows neither braces nor slashes inside the regex.
+     */
+    private static final String FINGERPRINTED_FILE = "{file:.+-" + "[0-9a-f]".repeat(32) + "\\.[a-z0-9]+}";
+
+    /**
+     * Rewrites asset links in templates to their fingerprinted URLs.
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String directory : ASSET_DIRECTORIES) {
+            withFingerprints(registry.addResourceHandler("/" + directory + "/" + FINGERPRINTED_FILE)
+                    .addResourceLocations("classpath:/static/" + directory + "/")
+                    .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                    .resourceChain(true));
+        }
+        withFingerprints(registry.addResourceHandler("/**")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true));
+    }
+
+    private static void withFingerprints(ResourceChainRegistration chain) {
+        chain.addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+}
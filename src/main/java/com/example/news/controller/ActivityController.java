@@ -0,0 +1,104 @@
+package com.example.news.controller;
+
+import com.example.news.activity.ReadActivity;
+import com.example.news.activity.ReadHistoryEntry;
+import com.example.news.activity.ReadStates;
+import com.example.news.index.ArticleIndex;
+import com.example.news.index.ArticleView;
+import com.example.news.service.ArticleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Reading position, history and unread articles of the signed-in user.
+ * Positions are buffered and written behind, so the history reflects them
+ * after the next flush.
+ */
+@RestController
+@RequestMapping("/activity")
+public class ActivityController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityController.class);
+
+    private static final int MAX_HISTORY = 100;
+
+    private final ReadActivity readActivity;
+    private final ReadStates readStates;
+    private final ArticleIndex articleIndex;
+    private final ArticleService articleService;
+
+    @Autowired
+    public ActivityController(ReadActivity readActivity, ReadStates readStates, ArticleIndex articleIndex,
+                              ArticleService articleService) {
+        this.readActivity = readActivity;
+        this.readStates = readStates;
+        this.articleIndex = articleIndex;
+        this.articleService = articleService;
+    }
+
+    @PostMapping("/position/{articleId}")
+    public ResponseEntity<Void> updatePosition(@PathVariable Long articleId, @RequestParam int position) {
+        logger.debug("Request to record position {} in article {}", position, articleId);
+        if (position < 0 || position > 100) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (!readActivity.positionChanged(articleId, position)) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<List<ReadHistoryEntry>> getHistory(@RequestParam(defaultValue = "20") int limit,
+                                                             Principal principal) {
+        logger.debug("Request to fetch the reading history of {}", principal.getName());
+        if (limit < 1 || limit > MAX_HISTORY) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(readActivity.history(principal.getName(), limit), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error fetching the reading history of {}", principal.getName(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * The newest articles the user has not read, from the article index
+     * once it is loaded.
+     */
+    @GetMapping("/unread")
+    public ResponseEntity<List<ArticleView>> getUnread(@RequestParam(defaultValue = "20") int limit,
+                                                       Principal principal) {
+        logger.debug("Request to fetch the unread articles of {}", principal.getName());
+        if (limit < 1 || limit > MAX_HISTORY) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            Sort newestFirst = Sort.by(Sort.Order.desc("publishedAt"), Sort.Order.desc("id"));
+            List<ArticleView> unread = readStates.unreadPage(principal.getName(), 0, limit, (chunk, size) ->
+                    articleIndex.isReady() ? articleIndex.pageByPublished(chunk, size, true)
+                            : articleService.getAllArticles(PageRequest.of(chunk, size, newestFirst)).stream()
+                            .map(ArticleView::of)
+                            .toList(), ArticleView::id);
+            return new ResponseEntity<>(unread, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error fetching the unread articles of {}", principal.getName(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.news.activity.ReadActivity;
 import com.example.news.dto.ArticleDTO;
 import com.example.news.entity.Article;
 import com.example.news.exception.ArticleNotFoundException;
@@ -36,10 +38,12 @@ public class ArticleController {
     private static final Logger logger = LoggerFactory.getLogger(ArticleController.class);
 
     private final ArticleService articleService;
+    private final ReadActivity readActivity;
 
     @Autowired
-    public ArticleController(ArticleService articleService) {
+    public ArticleController(ArticleService articleService, ReadActivity readActivity) {
         this.articleService = articleService;
+        this.readActivity = readActivity;
     }
 
     @PostMapping("/create")
@@ -69,6 +73,21 @@ public class ArticleController {
         }
     }
 
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<Article> patchArticle(@PathVariable Long id, @RequestBody ArticleDTO articleDTO) {
+        logger.info("Request to patch article with id {}", id);
+        try {
+            Article patchedArticle = articleService.patchArticle(id, articleDTO);
+            return new ResponseEntity<>(patchedArticle, HttpStatus.OK);
+        } catch (ArticleNotFoundException e) {
+            logger.error("Article not found with id {}", id, e);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            logger.error("Error patching article with id {}", id, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Void> deleteArticle(@PathVariable Long id) {
         logger.info("Request to delete article with id {}", id);
@@ -87,6 +106,7 @@ public class ArticleController {
         logger.info("Request to fetch article with id {}", id);
         try {
             Article article = articleService.getArticleById(id);
+            readActivity.articleRead(id);
             return new ResponseEntity<>(article, HttpStatus.OK);
         } catch (ArticleNotFoundException e) {
             logger.error("Article not found with id {}", id, e);
@@ -121,4 +141,22 @@ public class ArticleController {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    /**
+     * Title search over all articles, archived ones included, newest first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Article>> searchArticles(@RequestParam("q") String query,
+                                                        @RequestParam(defaultValue = "20") int limit) {
+        logger.info("Request to search articles for '{}'", query);
+        if (limit < 1 || limit > 100) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(articleService.searchArticles(query, limit), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error searching articles for '{}'", query, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 }
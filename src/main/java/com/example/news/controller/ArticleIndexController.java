@@ -0,0 +1,146 @@
+package com.example.news.controller;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.news.activity.ReadActivity;
+import com.example.news.exception.ArticleNotFoundException;
+import com.example.news.index.ArticleIndex;
+import com.example.news.index.ArticleView;
+import com.example.news.service.ArticleService;
+
+/**
+ * Read-only article endpoints served from {@link ArticleIndex}. Requests for
+ * articles outside the index fall back to {@link ArticleService}; everything
+ * else is answered without a database round trip. Per-request logging is at
+ * debug level because these endpoints are meant for high request rates.
+ */
+@RestController
+@RequestMapping("/articles/index")
+public class ArticleIndexController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleIndexController.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ArticleIndex articleIndex;
+    private final ArticleService articleService;
+    private final ReadActivity readActivity;
+
+    @Autowired
+    public ArticleIndexController(ArticleIndex articleIndex, ArticleService articleService, ReadActivity readActivity) {
+        this.articleIndex = articleIndex;
+        this.articleService = articleService;
+        this.readActivity = readActivity;
+    }
+
+    @GetMapping("/fetch/{id}")
+    public ResponseEntity<ArticleView> getArticleById(@PathVariable Long id) {
+        logger.debug("Request to fetch article with id {} from the index", id);
+        Optional<ArticleView> article = articleIndex.get(id);
+        if (article.isPresent()) {
+            readActivity.articleRead(id);
+            return new ResponseEntity<>(article.get(), HttpStatus.OK);
+        }
+        if (articleIndex.isComplete()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        try {
+            ArticleView view = ArticleView.of(articleService.getArticleById(id));
+            readActivity.articleRead(id);
+            return new ResponseEntity<>(view, HttpStatus.OK);
+        } catch (ArticleNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            logger.error("Error fetching article with id {}", id, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Supports sorting by {@code id} or {@code publishedAt} in either direction.
+     */
+    @GetMapping("/fetchAll")
+    public ResponseEntity<List<ArticleView>> getAllArticles(@RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "10") int size,
+                                                            @RequestParam(defaultValue = "id,asc") String sort) {
+        logger.debug("Request to fetch all articles from the index");
+        String[] order = sort.split(",");
+        boolean byId = "id".equals(order[0]);
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE || (!byId && !"publishedAt".equals(order[0]))) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        boolean ascending = order.length < 2 || "asc".equalsIgnoreCase(order[1]);
+        if (articleIndex.isComplete()) {
+            List<ArticleView> articles = byId ? articleIndex.pageById(page, size, ascending)
+                    : articleIndex.pageByPublished(page, size, !ascending);
+            return new ResponseEntity<>(articles, HttpStatus.OK);
+        }
+        try {
+            Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+            List<ArticleView> articles = articleService.getAllArticles(PageRequest.of(page, size, direction, order[0]))
+                    .stream()
+                    .map(ArticleView::of)
+                    .toList();
+            return new ResponseEntity<>(articles, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error fetching all articles", e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/latest")
+    public ResponseEntity<List<ArticleView>> getLatestArticles(@RequestParam(defaultValue = "20") int limit) {
+        logger.debug("Request to fetch the latest {} articles from the index", limit);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (!articleIndex.isReady()) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return new ResponseEntity<>(articleIndex.latest(limit), HttpStatus.OK);
+    }
+
+    /**
+     * Title search, newest matches first. Served from the index unless it
+     * finds fewer than {@code limit} matches and does not hold every article,
+     * in which case the database and the archive are searched.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ArticleView>> searchArticles(@RequestParam("q") String query,
+                                                            @RequestParam(defaultValue = "20") int limit) {
+        logger.debug("Request to search the article index for '{}'", query);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (!articleIndex.isReady()) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        List<ArticleView> matches = articleIndex.search(query, limit);
+        if (matches.size() == limit || articleIndex.isComplete()) {
+            return new ResponseEntity<>(matches, HttpStatus.OK);
+        }
+        try {
+            List<ArticleView> articles = articleService.searchArticles(query, limit).stream()
+                    .map(ArticleView::of)
+                    .toList();
+            return new ResponseEntity<>(articles, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error searching articles for '{}'", query, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.news.controller;
+
+import com.example.news.feed.FeedProperties;
+import com.example.news.feed.PublishedFeeds;
+import com.example.news.feed.RenderedDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+/**
+ * The site's RSS feeds and sitemap, served from the bytes
+ * {@link PublishedFeeds} rendered. Responses carry an entity tag, so a
+ * client polling with {@code If-None-Match} gets a 304 until the feed
+ * changes, and clients accepting gzip get the stored gzipped bytes.
+ */
+@RestController
+public class FeedController {
+
+    private static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+    private static final MediaType XML = MediaType.parseMediaType("application/xml;charset=UTF-8");
+
+    private final PublishedFeeds publishedFeeds;
+    private final FeedProperties properties;
+
+    @Autowired
+    public FeedController(PublishedFeeds publishedFeeds, FeedProperties properties) {
+        this.publishedFeeds = publishedFeeds;
+        this.properties = properties;
+    }
+
+    @GetMapping("/feed.xml")
+    public ResponseEntity<byte[]> feed(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                       String acceptEncoding) {
+        return serve(publishedFeeds.all(), RSS, acceptEncoding);
+    }
+
+    @GetMapping("/feeds/sources/{source}.xml")
+    public ResponseEntity<byte[]> sourceFeed(@PathVariable String source,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                             String acceptEncoding) {
+        return serve(publishedFeeds.source(source), RSS, acceptEncoding);
+    }
+
+    @GetMapping("/feeds/tags/{tag}.xml")
+    public ResponseEntity<byte[]> tagFeed(@PathVariable String tag,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                          String acceptEncoding) {
+        return serve(publishedFeeds.tag(tag), RSS, acceptEncoding);
+    }
+
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> sitemap(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                          String acceptEncoding) {
+        return serve(publishedFeeds.sitemap(), XML, acceptEncoding);
+    }
+
+    /**
+     * The stored bytes as they are; a matching {@code If-None-Match} is
+     * answered with 304 by Spring from the entity tag set here.
+     */
+    private ResponseEntity<byte[]> serve(Optional<RenderedDocument> rendered, MediaType type, String acceptEncoding) {
+        if (!properties.isEnabled()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        if (rendered.isEmpty()) {
+            return new ResponseEntity<>(publishedFeeds.isReady() ? HttpStatus.NOT_FOUND : HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        RenderedDocument document = rendered.get();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(type)
+                .lastModified(document.lastModified())
+                .cacheControl(CacheControl.maxAge(properties.getMaxAge()).cachePublic())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.eTag(document.gzippedEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(document.gzipped());
+        }
+        return response.eTag(document.etag()).body(document.body());
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim().replace(" ", "");
+                    if (parameter.matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,16 +1,24 @@
 package com.example.news.controller;
 
+import com.example.news.activity.ReadActivity;
+import com.example.news.activity.ReadStates;
 import com.example.news.dto.ArticleDTO;
 import com.example.news.dto.UserDTO;
 import com.example.news.entity.Article;
 import com.example.news.exception.ArticleNotFoundException;
+import com.example.news.exception.CoalescedLoadTimeoutException;
 import com.example.news.exception.UserNotFoundException;
+import com.example.news.index.ArticleView;
+import com.example.news.related.RelatedArticles;
 import com.example.news.service.ArticleService;
 import com.example.news.service.UserService;
+import com.example.news.tagging.TagIndex;
+import com.example.news.trending.TrendingArticles;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -20,6 +28,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.ModelAndView;
 
 import jakarta.validation.Valid;
+import java.security.Principal;
+import java.time.YearMonth;
 import java.util.List;
 
 @Controller
@@ -27,34 +37,85 @@ public class HomeController {
 
     private final ArticleService articleService;
     private final UserService userService;
+    private final TrendingArticles trendingArticles;
+    private final ReadActivity readActivity;
+    private final RelatedArticles relatedArticles;
+    private final TagIndex tagIndex;
+    private final ReadStates readStates;
 
     @Autowired
-    public HomeController(ArticleService articleService, UserService userService) {
+    public HomeController(ArticleService articleService, UserService userService, TrendingArticles trendingArticles,
+                          ReadActivity readActivity, RelatedArticles relatedArticles, TagIndex tagIndex,
+                          ReadStates readStates) {
         this.articleService = articleService;
         this.userService = userService;
+        this.trendingArticles = trendingArticles;
+        this.readActivity = readActivity;
+        this.relatedArticles = relatedArticles;
+        this.tagIndex = tagIndex;
+        this.readStates = readStates;
     }
 
     @GetMapping("/")
     public String home(Model model) {
         List<ArticleDTO> latestArticles = articleService.getLatestArticles();
         model.addAttribute("articles", latestArticles);
+        model.addAttribute("trending", trendingArticles.top(5));
         return "index"; // The name of the HTML template for the home page
     }
 
+    /**
+     * With {@code tag}, the page is served from the {@link TagIndex}, newest
+     * id first, and {@code sort} and {@code month} are ignored. Signed-in
+     * users see which articles they have read, and with {@code unread} only
+     * the others.
+     */
     @GetMapping("/news")
-    public String news(Model model, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size, @RequestParam(defaultValue = "id,desc") String[] sort) {
+    public String news(Model model, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size, @RequestParam(defaultValue = "id,desc") String[] sort,
+                       @RequestParam(required = false) YearMonth month, @RequestParam(required = false) String tag,
+                       @RequestParam(defaultValue = "false") boolean unread, Principal principal) {
+        model.addAttribute("tags", tagIndex.counts().keySet());
+        model.addAttribute("unread", unread);
+        String username = principal == null ? null : principal.getName();
+        if (tag != null) {
+            model.addAttribute("tag", tag);
+            List<ArticleView> articlesPage = username != null && unread
+                    ? readStates.unreadPage(username, page, size,
+                            (chunk, chunkSize) -> tagIndex.page(tag, chunk, chunkSize), ArticleView::id)
+                    : tagIndex.page(tag, page, size);
+            model.addAttribute("articlesPage", articlesPage);
+            addReadArticles(model, username, articlesPage.stream().map(ArticleView::id).toList());
+            return "news";
+        }
         Sort.Order order = Sort.Order.by(sort[0]).with(Sort.Direction.fromString(sort[1]));
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(order));
-        List<Article> articlesPage = articleService.getAllArticles(pageRequest);
+        List<Article> articlesPage = username != null && unread
+                ? readStates.unreadPage(username, page, size,
+                        (chunk, chunkSize) -> articles(month, PageRequest.of(chunk, chunkSize, Sort.by(order))), Article::getId)
+                : articles(month, pageRequest);
         model.addAttribute("articlesPage", articlesPage);
+        addReadArticles(model, username, articlesPage.stream().map(Article::getId).toList());
         return "news"; // The name of the HTML template for the news page
     }
 
+    private void addReadArticles(Model model, String username, List<Long> ids) {
+        if (username != null) {
+            model.addAttribute("read", readStates.readAmong(username, ids));
+        }
+    }
+
+    private List<Article> articles(YearMonth month, PageRequest pageRequest) {
+        return month == null ? articleService.getAllArticles(pageRequest)
+                : articleService.getArticlesPublishedIn(month, pageRequest);
+    }
+
     @GetMapping("/news/{id}")
     public String newsDetail(@PathVariable Long id, Model model) {
         try {
             Article article = articleService.getArticleById(id);
+            readActivity.articleRead(id);
             model.addAttribute("article", article);
+            model.addAttribute("related", relatedArticles.related(id));
             return "news-detail"; // The name of the HTML template for the news detail page
         } catch (ArticleNotFoundException ex) {
             return "error/404"; // The name of the HTML template for the error page
@@ -122,6 +183,17 @@ public class HomeController {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred: " + ex.getMessage());
     }
 
+    /**
+     * Declared here because the catch-all above takes precedence over the
+     * controller advice for this controller's pages.
+     */
+    @ExceptionHandler(CoalescedLoadTimeoutException.class)
+    public ResponseEntity<String> handleCoalescedLoadTimeoutException(CoalescedLoadTimeoutException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body("The page is taking longer than usual, please try again shortly");
+    }
+
     @ExceptionHandler(ArticleNotFoundException.class)
     public ModelAndView handleArticleNotFoundException(ArticleNotFoundException ex) {
         ModelAndView modelAndView = new ModelAndView("error/404");
@@ -59,6 +59,22 @@ public class SourceController {
         }
     }
 
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<Source> patchSource(@PathVariable Long id, @RequestBody SourceDTO sourceDTO) {
+        logger.info("Request received to patch source with id {}", id);
+        try {
+            Source patchedSource = sourceService.patchSource(id, sourceDTO);
+            logger.info("Source patched successfully with id {}", patchedSource.getId());
+            return new ResponseEntity<>(patchedSource, HttpStatus.OK);
+        } catch (SourceNotFoundException e) {
+            logger.error("Source not found with id {}", id, e);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            logger.error("Error patching source with id {}", id, e);
+            throw e;
+        }
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Optional<Source>> deleteSource(@PathVariable Long id) {
         logger.info("Request received to delete source with id {}", id);
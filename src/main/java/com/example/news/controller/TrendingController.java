@@ -0,0 +1,42 @@
+package com.example.news.controller;
+
+import com.example.news.trending.TrendingArticle;
+import com.example.news.trending.TrendingArticles;
+import com.example.news.trending.TrendingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Most viewed articles of the last hours, served from memory.
+ */
+@RestController
+public class TrendingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingController.class);
+
+    private final TrendingArticles trendingArticles;
+    private final TrendingProperties properties;
+
+    @Autowired
+    public TrendingController(TrendingArticles trendingArticles, TrendingProperties properties) {
+        this.trendingArticles = trendingArticles;
+        this.properties = properties;
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingArticle>> getTrendingArticles(@RequestParam(defaultValue = "10") int limit) {
+        logger.debug("Request to fetch the top {} trending articles", limit);
+        if (limit < 1 || limit > properties.getSize()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(trendingArticles.top(limit), HttpStatus.OK);
+    }
+}
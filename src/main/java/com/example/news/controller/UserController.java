@@ -59,6 +59,22 @@ public class UserController {
         }
     }
 
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<User> patchUser(@PathVariable Long id, @RequestBody UserDTO userDTO) {
+        logger.info("Request received to patch user with id {}", id);
+        try {
+            User patchedUser = userService.patchUser(id, userDTO);
+            logger.info("User patched successfully with id {}", patchedUser.getId());
+            return new ResponseEntity<>(patchedUser, HttpStatus.OK);
+        } catch (UserNotFoundException e) {
+            logger.error("User not found with id {}", id, e);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            logger.error("Error patching user with id {}", id, e);
+            throw e;
+        }
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Optional<User>> deleteUser(@PathVariable Long id) {
         logger.info("Request received to delete user with id {}", id);
@@ -2,8 +2,6 @@ package com.example.news.dto;
 
 import java.time.LocalDateTime;
 
-import com.example.news.entity.Article;
-
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -55,32 +53,4 @@ public class ArticleDTO {
 	public void setPublishedAt(LocalDateTime publishedAt) {
 		this.publishedAt = publishedAt;
 	}
-
-	public static Article convertToArticleEntity(ArticleDTO articleDTO) {
-        if (articleDTO == null) {
-            return null;
-        }
-
-        Article article = new Article();
-        article.setTitle(articleDTO.getTitle());
-        article.setContent(articleDTO.getContent());
-        article.setSource(articleDTO.getSource());
-        article.setPublishedAt(articleDTO.getPublishedAt());
-
-        return article;
-    }
-
-	public static ArticleDTO convertToDTO(Article article) {
-        if (article == null) {
-            return null;
-        }
-
-        ArticleDTO articleDTO = new ArticleDTO();
-        articleDTO.setTitle(article.getTitle());
-        articleDTO.setContent(article.getContent());
-        articleDTO.setSource(article.getSource());
-        articleDTO.setPublishedAt(article.getPublishedAt());
-
-        return articleDTO;
-    }
 }
@@ -1,6 +1,5 @@
 package com.example.news.dto;
 
-import com.example.news.entity.Source;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -18,17 +17,6 @@ public class SourceDTO {
     @Size(max = 255, message = "URL must be less than 255 characters")
     private String url;
 
-    public static Source convertToSourceEntity(SourceDTO sourceDTO) {
-        if (sourceDTO == null)
-            return null;
-
-        Source source = new Source();
-        source.setName(sourceDTO.getName());
-        source.setUrl(sourceDTO.getUrl());
-
-        return source;
-    }
-
 	public String getName() {
 		return name;
 	}
@@ -1,7 +1,5 @@
 package com.example.news.dto;
 
-import com.example.news.entity.User;
-
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -63,26 +61,5 @@ public class UserDTO {
 		this.email = email;
 	}
 
-
-    public static User convertToUserEntity(UserDTO userDTO) {
-        if (userDTO == null)
-            return null;
-
-        User user = new User();
-        user.setUsername(userDTO.getUsername());
-        user.setPassword(userDTO.getPassword());
-        user.setEmail(userDTO.getEmail());
-
-        return user;
-    }
-
-	public static UserDTO convertToDTO(User user) {
-        UserDTO userDTO = new UserDTO();
-        userDTO.setUsername(user.getUsername());
-        userDTO.setEmail(user.getEmail());
-
-        return userDTO;
-    }
-
 }
 
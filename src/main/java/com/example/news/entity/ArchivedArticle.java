@@ -0,0 +1,72 @@
+package com.example.news.entity;
+
+import com.example.news.compression.CompressedText;
+import com.example.news.compression.CompressedTextConverter;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An article moved out of the hot {@code articles} table by the archiver. It
+ * keeps its original id, so lookups by id fall through to this table.
+ * Archived articles are read-only.
+ */
+@Entity
+@Table(name = "articles_archive", indexes = @Index(name = "idx_articles_archive_published_at", columnList = "published_at"))
+public class ArchivedArticle {
+
+    @Id
+    private Long id;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "content_zstd", nullable = false, columnDefinition = "LONGBLOB")
+    private CompressedText content;
+
+    @Column(name = "source", nullable = false)
+    private String source;
+
+    @Column(name = "published_at", nullable = false)
+    private LocalDateTime publishedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public ArchivedArticle() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    /**
+     * A detached {@link Article} with the same fields; the content is not decompressed.
+     */
+    public Article toArticle() {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setCompressedContent(content);
+        article.setSource(source);
+        article.setPublishedAt(publishedAt);
+        return article;
+    }
+}
@@ -1,15 +1,22 @@
 package com.example.news.entity;
 
+import com.example.news.compression.CompressedText;
+import com.example.news.compression.CompressedTextConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "articles")
+@DynamicUpdate
+@Table(name = "articles", indexes = @Index(name = "idx_articles_published_at", columnList = "published_at"))
 public class Article {
 
     @Id
@@ -19,8 +26,18 @@ public class Article {
     @Column(name = "title", nullable = false)
     private String title;
 
-    @Column(name = "content", nullable = false, columnDefinition = "CLOB")
-    private String content;
+    /**
+     * Stored zstd-compressed; decompressed only when {@link #getContent()} is called,
+     * so it is left out of {@code toString}, {@code equals} and {@code hashCode}.
+     * The column is created nullable, since nodes still writing the legacy
+     * {@code content} column leave it out, and made required once
+     * {@code ArticleContentMigration} drops that column.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "content_zstd", columnDefinition = "LONGBLOB")
+    private CompressedText content;
 
     @Column(name = "source", nullable = false)
     private String source;
@@ -45,13 +62,36 @@ public class Article {
 	}
 
 	public String getContent() {
-		return content;
+		return content == null ? null : content.text();
 	}
 
 	public void setContent(String content) {
+		this.content = CompressedText.of(content);
+	}
+
+	@JsonIgnore
+	public CompressedText getCompressedContent() {
+		return content;
+	}
+
+	void setCompressedContent(CompressedText content) {
 		this.content = content;
 	}
 
+	/**
+	 * A new, detached instance with the same values, sharing the compressed
+	 * content, which is immutable.
+	 */
+	public Article copy() {
+		Article copy = new Article();
+		copy.id = id;
+		copy.title = title;
+		copy.content = content;
+		copy.source = source;
+		copy.publishedAt = publishedAt;
+		return copy;
+	}
+
 	public String getSource() {
 		return source;
 	}
@@ -0,0 +1,30 @@
+package com.example.news.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Source and title hash of every ingested article. Its unique key lets the
+ * ingestion pipeline claim an article with {@code INSERT IGNORE} before
+ * saving it, so two nodes can never both save the same feed entry. It is a
+ * table of its own because the partitioned articles table cannot carry a
+ * unique key without {@code published_at}.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "article_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_article_keys_source_title_hash", columnNames = {"source", "title_hash"}))
+public class ArticleKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source", nullable = false)
+    private String source;
+
+    @Column(name = "title_hash", nullable = false, length = 64)
+    private String titleHash;
+}
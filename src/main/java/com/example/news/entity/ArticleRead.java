@@ -0,0 +1,45 @@
+package com.example.news.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's reads of one article and how far they got. Written with batched
+ * upserts by the read activity buffer.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "article_reads",
+        uniqueConstraints = @UniqueConstraint(name = "uk_article_reads_user_article", columnNames = {"username", "article_id"}),
+        indexes = @Index(name = "idx_article_reads_user_last_read", columnList = "username, last_read_at"))
+public class ArticleRead {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "username", nullable = false)
+    private String username;
+
+    @Column(name = "article_id", nullable = false)
+    private Long articleId;
+
+    @Column(name = "read_count", nullable = false)
+    private long readCount;
+
+    @Column(name = "first_read_at", nullable = false)
+    private LocalDateTime firstReadAt;
+
+    @Column(name = "last_read_at", nullable = false)
+    private LocalDateTime lastReadAt;
+
+    /**
+     * Reading progress in percent, when the client reports it.
+     */
+    @Column(name = "read_position")
+    private Integer readPosition;
+}
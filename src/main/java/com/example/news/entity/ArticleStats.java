@@ -0,0 +1,27 @@
+package com.example.news.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Total views of an article, upserted in batches by the read activity buffer.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "article_stats")
+public class ArticleStats {
+
+    @Id
+    @Column(name = "article_id")
+    private Long articleId;
+
+    @Column(name = "views", nullable = false)
+    private long views;
+
+    @Column(name = "last_viewed_at", nullable = false)
+    private LocalDateTime lastViewedAt;
+}
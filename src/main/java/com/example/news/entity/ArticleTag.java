@@ -0,0 +1,28 @@
+package com.example.news.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Links an article to one of its tags. Written and read with plain SQL by
+ * the article tagger and the tag index.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "article_tags",
+        uniqueConstraints = @UniqueConstraint(name = "uk_article_tags_article_tag", columnNames = {"article_id", "tag_id"}),
+        indexes = @Index(name = "idx_article_tags_tag_article", columnList = "tag_id, article_id"))
+public class ArticleTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "article_id", nullable = false)
+    private Long articleId;
+
+    @Column(name = "tag_id", nullable = false)
+    private Long tagId;
+}
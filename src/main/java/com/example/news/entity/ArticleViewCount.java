@@ -0,0 +1,31 @@
+package com.example.news.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Views of one article during one trending bucket, as flushed by one node.
+ * Written and read with plain SQL by the trending counters.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "article_views", indexes = @Index(name = "idx_article_views_bucket_start", columnList = "bucket_start"))
+public class ArticleViewCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "article_id", nullable = false)
+    private Long articleId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "views", nullable = false)
+    private long views;
+}
@@ -0,0 +1,40 @@
+package com.example.news.entity;
+
+import com.example.news.changelog.ChangeKind;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed change, written in the transaction that made it and read by
+ * the change-log poller of every node. A null entity id stands for all
+ * entities of the kind.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "change_log", indexes = @Index(name = "idx_change_log_created_at", columnList = "created_at"))
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "kind", nullable = false, length = 16)
+    private ChangeKind kind;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "origin_node", nullable = false, length = 128)
+    private String originNode;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
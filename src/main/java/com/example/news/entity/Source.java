@@ -1,8 +1,10 @@
 package com.example.news.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
 @Table(name = "sources")
 public class Source {
 
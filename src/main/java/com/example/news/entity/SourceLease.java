@@ -0,0 +1,31 @@
+package com.example.news.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Which node polls the sources of one shard, and until when. Claimed and
+ * renewed with conditional updates by the ingestion lease manager.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "source_leases")
+public class SourceLease {
+
+    @Id
+    @Column(name = "shard")
+    private Integer shard;
+
+    @Column(name = "owner_node", length = 128)
+    private String ownerNode;
+
+    @Column(name = "acquired_at")
+    private LocalDateTime acquiredAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -1,11 +1,13 @@
 package com.example.news.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
+@DynamicUpdate
 @Table(name = "appUser")
 public class User {
 
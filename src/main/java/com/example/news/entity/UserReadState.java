@@ -0,0 +1,32 @@
+package com.example.news.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The ids of the articles a user has read, as a serialized Roaring bitmap
+ * merged and upserted in batches by the read state buffer.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "user_read_state",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_read_state_username", columnNames = "username"))
+public class UserReadState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "username", nullable = false)
+    private String username;
+
+    @Column(name = "read_ids", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] readIds;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
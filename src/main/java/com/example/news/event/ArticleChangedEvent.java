@@ -0,0 +1,26 @@
+package com.example.news.event;
+
+import com.example.news.entity.Article;
+
+/**
+ * Published by the article service for every create, update and delete.
+ * Listeners that keep derived state should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ *
+ * @param id      id of the changed article
+ * @param article the article as saved, or {@code null} when it was deleted
+ */
+public record ArticleChangedEvent(Long id, Article article) {
+
+    public static ArticleChangedEvent saved(Article article) {
+        return new ArticleChangedEvent(article.getId(), article);
+    }
+
+    public static ArticleChangedEvent deleted(Long id) {
+        return new ArticleChangedEvent(id, null);
+    }
+
+    public boolean isDeleted() {
+        return article == null;
+    }
+}
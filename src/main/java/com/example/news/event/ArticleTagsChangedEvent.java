@@ -0,0 +1,23 @@
+package com.example.news.event;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Published by the article tagger inside the transaction that wrote the
+ * tags. Listeners should use {@code @TransactionalEventListener}.
+ *
+ * @param tags the new tags per article, empty for a deleted article
+ * @param all  whether the tags of every article may have changed, such as
+ *             after a backfill; {@code tags} is empty then
+ */
+public record ArticleTagsChangedEvent(Map<Long, Set<String>> tags, boolean all) {
+
+    public static ArticleTagsChangedEvent of(Map<Long, Set<String>> tags) {
+        return new ArticleTagsChangedEvent(tags, false);
+    }
+
+    public static ArticleTagsChangedEvent everything() {
+        return new ArticleTagsChangedEvent(Map.of(), true);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.news.event;
+
+import java.util.List;
+
+/**
+ * Published by the archiver for each batch of articles it moved to the
+ * archive, next to an {@link ArticleChangedEvent} deletion per article.
+ * The articles still exist, so listeners that treat the hot table as
+ * complete should stop doing so.
+ *
+ * @param ids ids of the archived articles
+ */
+public record ArticlesArchivedEvent(List<Long> ids) {
+}
@@ -0,0 +1,10 @@
+package com.example.news.event;
+
+/**
+ * Published after articles were written around the service layer, such as by
+ * the bulk loader. Listeners holding derived state should rebuild it.
+ *
+ * @param articles number of articles written
+ */
+public record ArticlesBulkLoadedEvent(long articles) {
+}
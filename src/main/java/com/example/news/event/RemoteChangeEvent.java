@@ -0,0 +1,17 @@
+package com.example.news.event;
+
+import com.example.news.changelog.ChangeKind;
+
+import java.util.Set;
+
+/**
+ * Published by the change-log poller for entities another node changed.
+ * Listeners holding derived state should re-read those entities; an entity
+ * missing from the database was deleted.
+ *
+ * @param kind what changed
+ * @param ids  ids of the changed entities, empty when {@code all} is set
+ * @param all  whether every entity of the kind may have changed
+ */
+public record RemoteChangeEvent(ChangeKind kind, Set<Long> ids, boolean all) {
+}
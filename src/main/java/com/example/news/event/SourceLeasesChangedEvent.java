@@ -0,0 +1,11 @@
+package com.example.news.event;
+
+import java.util.Set;
+
+/**
+ * Published when this node gained or lost source shards.
+ *
+ * @param shards the shards the node owns now
+ */
+public record SourceLeasesChangedEvent(Set<Integer> shards) {
+}
@@ -0,0 +1,24 @@
+package com.example.news.event;
+
+/**
+ * Published by the ingestion pipeline once the feed of a source was fetched
+ * and parsed, or failed to.
+ *
+ * @param sourceId id of the polled source
+ * @param items    entries found in the feed
+ * @param failure  why the poll failed, or {@code null} on success
+ */
+public record SourcePolledEvent(Long sourceId, int items, Exception failure) {
+
+    public static SourcePolledEvent succeeded(Long sourceId, int items) {
+        return new SourcePolledEvent(sourceId, items, null);
+    }
+
+    public static SourcePolledEvent failed(Long sourceId, Exception failure) {
+        return new SourcePolledEvent(sourceId, 0, failure);
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+}
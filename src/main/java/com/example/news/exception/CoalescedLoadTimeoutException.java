@@ -0,0 +1,28 @@
+package com.example.news.exception;
+
+import java.time.Duration;
+
+public class CoalescedLoadTimeoutException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public CoalescedLoadTimeoutException(String message, Duration retryAfter){
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * How long the client should wait before trying again.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * {@link #getRetryAfter()} in whole seconds, rounded up, for the
+     * {@code Retry-After} header.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
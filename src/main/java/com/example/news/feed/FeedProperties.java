@@ -0,0 +1,127 @@
+package com.example.news.feed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "news.feed")
+public class FeedProperties {
+
+    /**
+     * Whether feeds and the sitemap are published.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Absolute URL of the site, used for the links in feeds and the sitemap.
+     */
+    private String baseUrl = "http://localhost:8080";
+
+    /**
+     * Title of the site-wide feed; per-source and per-tag feeds append their name.
+     */
+    private String title = "News Aggregator";
+
+    /**
+     * Newest articles per feed.
+     */
+    private int size = 50;
+
+    /**
+     * Characters of content in an entry summary.
+     */
+    private int summaryLength = 300;
+
+    /**
+     * Newest articles listed in the sitemap; one sitemap file holds at most 50,000.
+     */
+    private int sitemapSize = 50_000;
+
+    /**
+     * How often changed feeds are rendered again.
+     */
+    private Duration renderInterval = Duration.ofSeconds(1);
+
+    /**
+     * How often a changed sitemap is rendered again; it lists far more
+     * articles than a feed.
+     */
+    private Duration sitemapInterval = Duration.ofMinutes(1);
+
+    /**
+     * How long clients may use a feed before asking again.
+     */
+    private Duration maxAge = Duration.ofMinutes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getSummaryLength() {
+        return summaryLength;
+    }
+
+    public void setSummaryLength(int summaryLength) {
+        this.summaryLength = summaryLength;
+    }
+
+    public int getSitemapSize() {
+        return sitemapSize;
+    }
+
+    public void setSitemapSize(int sitemapSize) {
+        this.sitemapSize = sitemapSize;
+    }
+
+    public Duration getRenderInterval() {
+        return renderInterval;
+    }
+
+    public void setRenderInterval(Duration renderInterval) {
+        this.renderInterval = renderInterval;
+    }
+
+    public Duration getSitemapInterval() {
+        return sitemapInterval;
+    }
+
+    public void setSitemapInterval(Duration sitemapInterval) {
+        this.sitemapInterval = sitemapInterval;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+}
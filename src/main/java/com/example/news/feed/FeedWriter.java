@@ -0,0 +1,155 @@
+package com.example.news.feed;
+
+import com.example.news.index.ArticleView;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Serializes RSS 2.0 feeds and sitemaps with StAX, straight to UTF-8 bytes.
+ */
+final class FeedWriter {
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+    private static final String ATOM_NAMESPACE = "http://www.w3.org/2005/Atom";
+    private static final String SITEMAP_NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    private final String baseUrl;
+    private final int summaryLength;
+
+    FeedWriter(String baseUrl, int summaryLength) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.summaryLength = summaryLength;
+    }
+
+    /**
+     * A feed of the articles, in the given order.
+     *
+     * @param path path of the feed itself, for its self link
+     */
+    byte[] rss(String title, String path, List<ArticleView> articles) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024 + articles.size() * (summaryLength + 256));
+        try {
+            XMLStreamWriter xml = OUTPUT_FACTORY.createXMLStreamWriter(bytes, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("rss");
+            xml.writeAttribute("version", "2.0");
+            xml.writeNamespace("atom", ATOM_NAMESPACE);
+            xml.writeStartElement("channel");
+            element(xml, "title", title);
+            element(xml, "link", baseUrl + "/news");
+            element(xml, "description", title);
+            xml.writeEmptyElement("atom", "link", ATOM_NAMESPACE);
+            xml.writeAttribute("href", baseUrl + path);
+            xml.writeAttribute("rel", "self");
+            xml.writeAttribute("type", "application/rss+xml");
+            if (!articles.isEmpty() && articles.get(0).publishedAt() != null) {
+                element(xml, "lastBuildDate", rfc1123(articles.get(0)));
+            }
+            for (ArticleView article : articles) {
+                String link = link(article);
+                xml.writeStartElement("item");
+                element(xml, "title", article.title());
+                element(xml, "link", link);
+                xml.writeStartElement("guid");
+                xml.writeAttribute("isPermaLink", "true");
+                xml.writeCharacters(link);
+                xml.writeEndElement();
+                if (article.source() != null) {
+                    element(xml, "category", article.source());
+                }
+                if (article.publishedAt() != null) {
+                    element(xml, "pubDate", rfc1123(article));
+                }
+                element(xml, "description", summary(article.content()));
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Could not write feed " + path, e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * A sitemap of the article pages.
+     */
+    byte[] sitemap(List<ArticleView> articles) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + articles.size() * 128);
+        try {
+            XMLStreamWriter xml = OUTPUT_FACTORY.createXMLStreamWriter(bytes, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("urlset");
+            xml.writeDefaultNamespace(SITEMAP_NAMESPACE);
+            for (ArticleView article : articles) {
+                xml.writeStartElement("url");
+                element(xml, "loc", link(article));
+                if (article.publishedAt() != null) {
+                    element(xml, "lastmod", article.publishedAt().toLocalDate().toString());
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Could not write the sitemap", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private String link(ArticleView article) {
+        return baseUrl + "/news/" + article.id();
+    }
+
+    private String summary(String content) {
+        if (content == null) {
+            return "";
+        }
+        if (content.length() <= summaryLength) {
+            return content;
+        }
+        int end = summaryLength;
+        if (Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+        return content.substring(0, end) + "…";
+    }
+
+    private static String rfc1123(ArticleView article) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(article.publishedAt().atZone(ZoneId.systemDefault()));
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text == null ? "" : xmlCharacters(text));
+        xml.writeEndElement();
+    }
+
+    /**
+     * Drops the control characters XML 1.0 cannot hold, which ingested
+     * content occasionally carries.
+     */
+    static String xmlCharacters(String text) {
+        StringBuilder valid = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean allowed = c >= 0x20 ? c != 0xFFFE && c != 0xFFFF : c == '\t' || c == '\n' || c == '\r';
+            if (!allowed && valid == null) {
+                valid = new StringBuilder(text.length()).append(text, 0, i);
+            } else if (allowed && valid != null) {
+                valid.append(c);
+            }
+        }
+        return valid == null ? text : valid.toString();
+    }
+}
@@ -0,0 +1,397 @@
+package com.example.news.feed;
+
+import com.example.news.changelog.ChangeKind;
+import com.example.news.event.ArticleChangedEvent;
+import com.example.news.event.ArticleTagsChangedEvent;
+import com.example.news.event.ArticlesBulkLoadedEvent;
+import com.example.news.event.RemoteChangeEvent;
+import com.example.news.index.ArticleIndex;
+import com.example.news.index.ArticleView;
+import com.example.news.tagging.TagIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The site's own RSS feeds, one for all articles, one per source and one per
+ * tag, and its sitemap, rendered ahead of requests and kept as plain and
+ * gzipped bytes, so serving one is a copy of an array.
+ *
+ * Changes only mark the feeds they touch: the site-wide feed, the feed of
+ * the article's source, the feeds of its tags and every feed currently
+ * listing the article. A background thread renders the marked feeds every
+ * {@code news.feed.render-interval} from the {@link ArticleIndex} and the
+ * {@link TagIndex}, so a burst of changes costs one render per feed. The
+ * sitemap is rendered at most every {@code news.feed.sitemap-interval}.
+ * Everything is rendered once the application is ready, after a bulk load
+ * and when another node reports that all articles may have changed.
+ */
+@Component
+@EnableConfigurationProperties(FeedProperties.class)
+public class PublishedFeeds implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublishedFeeds.class);
+
+    private static final Key ALL = new Key(Kind.ALL, "");
+
+    private final ArticleIndex articleIndex;
+    private final TagIndex tagIndex;
+    private final FeedProperties properties;
+    private final FeedWriter writer;
+    private final Timer renders;
+
+    private final ConcurrentHashMap<Key, Feed> feeds = new ConcurrentHashMap<>();
+    private final Set<Key> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean everything = new AtomicBoolean();
+    private final AtomicBoolean allTags = new AtomicBoolean();
+    private final AtomicBoolean sitemapDirty = new AtomicBoolean();
+
+    /**
+     * Serializes renders from the background thread and from tests.
+     */
+    private final ReentrantLock renderLock = new ReentrantLock();
+
+    private volatile RenderedDocument sitemap;
+    private volatile long sitemapRenderedNanos;
+    private volatile ScheduledExecutorService executor;
+
+    @Autowired
+    public PublishedFeeds(ArticleIndex articleIndex, TagIndex tagIndex, FeedProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.articleIndex = articleIndex;
+        this.tagIndex = tagIndex;
+        this.properties = properties;
+        this.writer = new FeedWriter(properties.getBaseUrl(), properties.getSummaryLength());
+        this.renders = Timer.builder("news.feed.render").register(meterRegistry);
+        Gauge.builder("news.feed.feeds", feeds, Map::size)
+                .description("Rendered feeds held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the site-wide feed has been rendered; until then no feed is
+     * served.
+     */
+    public boolean isReady() {
+        return feeds.containsKey(ALL);
+    }
+
+    public Optional<RenderedDocument> all() {
+        return document(ALL);
+    }
+
+    public Optional<RenderedDocument> source(String source) {
+        return document(new Key(Kind.SOURCE, source));
+    }
+
+    public Optional<RenderedDocument> tag(String tag) {
+        return document(new Key(Kind.TAG, tag));
+    }
+
+    public Optional<RenderedDocument> sitemap() {
+        return Optional.ofNullable(sitemap);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        dirty.add(ALL);
+        if (!event.isDeleted() && event.article().getSource() != null) {
+            dirty.add(new Key(Kind.SOURCE, event.article().getSource()));
+        }
+        markListing(Set.of(event.id()));
+        sitemapDirty.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleTagsChanged(ArticleTagsChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.all()) {
+            allTags.set(true);
+            return;
+        }
+        event.tags().values().forEach(tags -> tags.forEach(tag -> dirty.add(new Key(Kind.TAG, tag))));
+        markListing(event.tags().keySet());
+    }
+
+    /**
+     * Marks the source feeds of the articles another node changed, looked up
+     * in the article index, which applies remote changes first. Deleted
+     * articles are no longer there, so only the feeds listing them are
+     * marked.
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.kind() == ChangeKind.TAG) {
+            allTags.set(true);
+        } else if (event.kind() == ChangeKind.ARTICLE) {
+            if (event.all()) {
+                everything.set(true);
+                return;
+            }
+            dirty.add(ALL);
+            for (Long id : event.ids()) {
+                articleIndex.get(id)
+                        .map(ArticleView::source)
+                        .ifPresent(source -> dirty.add(new Key(Kind.SOURCE, source)));
+            }
+            markListing(event.ids());
+            sitemapDirty.set(true);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        everything.set(true);
+    }
+
+    @EventListener(ArticlesBulkLoadedEvent.class)
+    public void onArticlesBulkLoaded() {
+        everything.set(true);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.isEnabled() || executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "feed-renderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getRenderInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::render, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Renders the marked feeds, and the sitemap when it is due. Waits while
+     * the article index loads; marks are kept when rendering fails.
+     */
+    void render() {
+        if (!articleIndex.isReady()) {
+            return;
+        }
+        renderLock.lock();
+        try {
+            renderMarked();
+        } finally {
+            renderLock.unlock();
+        }
+    }
+
+    private void renderMarked() {
+        long start = System.nanoTime();
+        Set<Key> keys = new HashSet<>();
+        boolean tags = false;
+        boolean full = everything.getAndSet(false);
+        try {
+            tags = allTags.getAndSet(false) || full;
+            for (Key key : List.copyOf(dirty)) {
+                dirty.remove(key);
+                keys.add(key);
+            }
+            if (full) {
+                keys.add(ALL);
+                sitemapDirty.set(true);
+            }
+            if (keys.contains(ALL)) {
+                publish(ALL, articleIndex.latest(properties.getSize()));
+            }
+            renderSources(keys, full);
+            renderTags(keys, tags);
+            renderSitemap(full);
+        } catch (Exception e) {
+            logger.error("Error rendering feeds, trying again", e);
+            dirty.addAll(keys);
+            allTags.compareAndSet(false, tags);
+            everything.compareAndSet(false, full);
+            sitemapDirty.set(true);
+        } finally {
+            renders.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Collects the newest articles of the marked sources, or of all of them,
+     * in one pass over the article index. A source without indexed articles
+     * has no feed.
+     */
+    private void renderSources(Set<Key> keys, boolean all) {
+        Set<String> wanted = names(keys, Kind.SOURCE);
+        if (!all && wanted.isEmpty()) {
+            return;
+        }
+        if (all) {
+            wanted.addAll(names(feeds.keySet(), Kind.SOURCE));
+        }
+        int size = properties.getSize();
+        Map<String, List<ArticleView>> bySource = new HashMap<>();
+        int filled = 0;
+        for (ArticleView article : articleIndex.pageByPublished(0, articleIndex.size(), true)) {
+            String source = article.source();
+            if (source == null || (!all && !wanted.contains(source))) {
+                continue;
+            }
+            List<ArticleView> articles = bySource.computeIfAbsent(source, name -> new ArrayList<>());
+            if (articles.size() < size && articles.add(article) && articles.size() == size) {
+                filled++;
+                if (!all && filled == wanted.size()) {
+                    break;
+                }
+            }
+        }
+        wanted.addAll(bySource.keySet());
+        for (String source : wanted) {
+            publish(new Key(Kind.SOURCE, source), bySource.getOrDefault(source, List.of()));
+        }
+    }
+
+    private void renderTags(Set<Key> keys, boolean all) {
+        Set<String> wanted = names(keys, Kind.TAG);
+        if (all) {
+            wanted.addAll(tagIndex.counts().keySet());
+            wanted.addAll(names(feeds.keySet(), Kind.TAG));
+        }
+        for (String tag : wanted) {
+            publish(new Key(Kind.TAG, tag), tagIndex.page(tag, 0, properties.getSize()));
+        }
+    }
+
+    private void renderSitemap(boolean now) {
+        long sinceLast = System.nanoTime() - sitemapRenderedNanos;
+        if (!now && sitemap != null && sinceLast < properties.getSitemapInterval().toNanos()) {
+            return;
+        }
+        if (!sitemapDirty.getAndSet(false)) {
+            return;
+        }
+        byte[] body = writer.sitemap(articleIndex.pageByPublished(0, properties.getSitemapSize(), true));
+        RenderedDocument current = sitemap;
+        if (current == null || !Arrays.equals(current.body(), body)) {
+            sitemap = RenderedDocument.of(body, Instant.now());
+        }
+        sitemapRenderedNanos = System.nanoTime();
+    }
+
+    /**
+     * Replaces the feed unless its content is unchanged, which keeps its
+     * entity tag and last-modified time; a per-source or per-tag feed
+     * without articles is dropped.
+     */
+    private void publish(Key key, List<ArticleView> articles) {
+        if (articles.isEmpty() && key.kind() != Kind.ALL) {
+            feeds.remove(key);
+            return;
+        }
+        byte[] body = writer.rss(title(key), path(key), articles);
+        Feed current = feeds.get(key);
+        if (current != null && Arrays.equals(current.document().body(), body)) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        articles.forEach(article -> ids.add(article.id()));
+        feeds.put(key, new Feed(RenderedDocument.of(body, Instant.now()), Set.copyOf(ids)));
+    }
+
+    /**
+     * Marks the feeds currently listing any of the articles.
+     */
+    private void markListing(Set<Long> ids) {
+        feeds.forEach((key, feed) -> {
+            for (Long id : ids) {
+                if (feed.ids().contains(id)) {
+                    dirty.add(key);
+                    return;
+                }
+            }
+        });
+    }
+
+    private Optional<RenderedDocument> document(Key key) {
+        Feed feed = feeds.get(key);
+        return feed == null ? Optional.empty() : Optional.of(feed.document());
+    }
+
+    private String title(Key key) {
+        return key.kind() == Kind.ALL ? properties.getTitle() : properties.getTitle() + ": " + key.name();
+    }
+
+    private static String path(Key key) {
+        return switch (key.kind()) {
+            case ALL -> "/feed.xml";
+            case SOURCE -> "/feeds/sources/" + UriUtils.encodePathSegment(key.name(), StandardCharsets.UTF_8) + ".xml";
+            case TAG -> "/feeds/tags/" + UriUtils.encodePathSegment(key.name(), StandardCharsets.UTF_8) + ".xml";
+        };
+    }
+
+    private static Set<String> names(Set<Key> keys, Kind kind) {
+        Set<String> names = new HashSet<>();
+        keys.forEach(key -> {
+            if (key.kind() == kind) {
+                names.add(key.name());
+            }
+        });
+        return names;
+    }
+
+    private enum Kind {
+        ALL, SOURCE, TAG
+    }
+
+    private record Key(Kind kind, String name) {
+    }
+
+    /**
+     * A rendered feed and the ids of the articles it lists.
+     */
+    private record Feed(RenderedDocument document, Set<Long> ids) {
+    }
+}
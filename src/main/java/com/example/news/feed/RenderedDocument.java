@@ -0,0 +1,42 @@
+package com.example.news.feed;
+
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A rendered feed or sitemap, kept as is and gzipped so serving it is a
+ * copy of one of the arrays. The entity tag is the MD5 of the plain body.
+ *
+ * @param body         the document
+ * @param gzipped      the document, gzip-compressed
+ * @param etag         quoted entity tag of {@code body}
+ * @param lastModified when the content last changed
+ */
+public record RenderedDocument(byte[] body, byte[] gzipped, String etag, Instant lastModified) {
+
+    static RenderedDocument of(byte[] body, Instant lastModified) {
+        return new RenderedDocument(body, gzip(body), "\"" + DigestUtils.md5DigestAsHex(body) + "\"", lastModified);
+    }
+
+    /**
+     * Entity tag of the gzipped body, which must differ from the plain one.
+     */
+    public String gzippedEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.news.index;
+
+import com.example.news.changelog.ChangeKind;
+import com.example.news.entity.Article;
+import com.example.news.event.ArticleChangedEvent;
+import com.example.news.event.ArticlesArchivedEvent;
+import com.example.news.event.ArticlesBulkLoadedEvent;
+import com.example.news.event.RemoteChangeEvent;
+import com.example.news.repository.ArchivedArticleRepository;
+import com.example.news.repository.ArticleRepository;
+import com.example.news.util.Tokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory read model of the newest articles: by id, by publication time
+ * and by title term. Reads never touch the database or take a lock, so the
+ * index endpoints are served on whatever thread picks them up without
+ * blocking it.
+ *
+ * The index loads once the application is ready and then follows committed
+ * {@link ArticleChangedEvent}s, and reloads after an
+ * {@link ArticlesBulkLoadedEvent}. Changes made by another node arrive as
+ * {@link RemoteChangeEvent}s from the change log. When the database holds more articles than
+ * {@code news.article-index.capacity}, or some have been archived, the
+ * oldest are missing and {@link #isComplete()} is false so callers fall back
+ * to the database for anything but the newest articles.
+ */
+@Component
+@EnableConfigurationProperties(ArticleIndexProperties.class)
+public class ArticleIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleIndex.class);
+
+    static final Comparator<ArticleView> NEWEST_FIRST = Comparator
+            .comparing(ArticleView::publishedAt, Comparator.reverseOrder())
+            .thenComparing(ArticleView::id, Comparator.reverseOrder());
+
+    private final ArticleRepository articleRepository;
+    private final ArchivedArticleRepository archivedArticleRepository;
+    private final ArticleIndexProperties properties;
+
+    private final ConcurrentSkipListMap<Long, ArticleView> byId = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<ArticleView> byPublished = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<ArticleView>> byTerm = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes writers so the three structures change together per article.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Ids deleted while the initial load runs, so the load cannot re-add them.
+     * Read and written under the write lock only.
+     */
+    private final Set<Long> deletedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready;
+    private volatile boolean complete;
+
+    @Autowired
+    public ArticleIndex(ArticleRepository articleRepository, ArchivedArticleRepository archivedArticleRepository,
+                        ArticleIndexProperties properties) {
+        this.articleRepository = articleRepository;
+        this.archivedArticleRepository = archivedArticleRepository;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            int pageSize = Math.max(Math.min(properties.getLoadBatchSize(), properties.getCapacity()), 1);
+            Sort newestFirst = Sort.by(Sort.Order.desc("publishedAt"), Sort.Order.desc("id"));
+            Page<Article> page = articleRepository.findAll(PageRequest.of(0, pageSize, newestFirst));
+            complete = page.getTotalElements() <= properties.getCapacity()
+                    && !archivedArticleRepository.hasArchivedArticles();
+            while (page.hasContent() && byId.size() < properties.getCapacity()) {
+                for (Article article : page.getContent()) {
+                    putLoaded(article);
+                }
+                if (!page.hasNext()) {
+                    break;
+                }
+                page = articleRepository.findAll(page.nextPageable());
+            }
+            writeLock.lock();
+            try {
+                deletedWhileLoading.clear();
+                ready = true;
+            } finally {
+                writeLock.unlock();
+            }
+            logger.info("Loaded {} articles into the article index in {} ms (complete: {})",
+                    byId.size(), System.currentTimeMillis() - start, complete);
+        } catch (Exception e) {
+            logger.error("Error loading the article index, reads will use the database", e);
+        }
+    }
+
+    /**
+     * Reads fall back to the database while the index is rebuilt.
+     */
+    @EventListener(ArticlesBulkLoadedEvent.class)
+    public void onArticlesBulkLoaded() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            ready = false;
+            byId.clear();
+            byPublished.clear();
+            byTerm.clear();
+        } finally {
+            writeLock.unlock();
+        }
+        load();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.isDeleted()) {
+            delete(event.id());
+        } else {
+            put(ArticleView.of(event.article()));
+        }
+    }
+
+    /**
+     * Archived articles are dropped through their deletion events; the index
+     * then no longer holds every article.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesArchived(ArticlesArchivedEvent event) {
+        complete = false;
+    }
+
+    /**
+     * Re-reads the articles another node changed, in one query. Articles
+     * that are gone may have been archived, which leaves the index incomplete.
+     * Runs before the other listeners, which may read the changed articles
+     * from the index.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (!properties.isEnabled() || event.kind() != ChangeKind.ARTICLE) {
+            return;
+        }
+        if (event.all()) {
+            onArticlesBulkLoaded();
+            return;
+        }
+        Set<Long> missing = new HashSet<>(event.ids());
+        for (Article article : articleRepository.findAllById(event.ids())) {
+            missing.remove(article.getId());
+            put(ArticleView.of(article));
+        }
+        for (Long id : missing) {
+            delete(id);
+        }
+        if (!missing.isEmpty() && complete && archivedArticleRepository.hasArchivedArticles()) {
+            complete = false;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * True when every article in the database is in the index, so a miss
+     * means the article does not exist.
+     */
+    public boolean isComplete() {
+        return ready && complete;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public Optional<ArticleView> get(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<ArticleView> latest(int limit) {
+        return page(byPublished, 0, limit);
+    }
+
+    /**
+     * A page in id order; only meaningful when {@link #isComplete()}.
+     */
+    public List<ArticleView> pageById(int page, int size, boolean ascending) {
+        Collection<ArticleView> values = ascending ? byId.values() : byId.descendingMap().values();
+        return page(values, (long) page * size, size);
+    }
+
+    /**
+     * A page in publication order; only meaningful when {@link #isComplete()}.
+     */
+    public List<ArticleView> pageByPublished(int page, int size, boolean newestFirst) {
+        NavigableSet<ArticleView> values = newestFirst ? byPublished : byPublished.descendingSet();
+        return page(values, (long) page * size, size);
+    }
+
+    /**
+     * Newest indexed articles whose title contains every term of the query.
+     */
+    public List<ArticleView> search(String query, int limit) {
+        List<ConcurrentSkipListSet<ArticleView>> postings = new ArrayList<>();
+        for (String term : new HashSet<>(Tokenizer.terms(query))) {
+            ConcurrentSkipListSet<ArticleView> posting = byTerm.get(term);
+            if (posting == null) {
+                return List.of();
+            }
+            postings.add(posting);
+        }
+        if (postings.isEmpty()) {
+            return List.of();
+        }
+        postings.sort(Comparator.comparingInt(ConcurrentSkipListSet::size));
+        List<ArticleView> matches = new ArrayList<>(Math.min(limit, postings.get(0).size()));
+        for (ArticleView candidate : postings.get(0)) {
+            if (matches.size() == limit) {
+                break;
+            }
+            if (postings.stream().skip(1).allMatch(posting -> posting.contains(candidate))) {
+                matches.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+    private void put(ArticleView view) {
+        writeLock.lock();
+        try {
+            unindex(byId.put(view.id(), view));
+            byPublished.add(view);
+            for (String term : new HashSet<>(Tokenizer.terms(view.title()))) {
+                byTerm.computeIfAbsent(term, key -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(view);
+            }
+            while (byId.size() > properties.getCapacity()) {
+                ArticleView oldest = byPublished.last();
+                byId.remove(oldest.id());
+                unindex(oldest);
+                complete = false;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds an article read by the initial load unless a newer version is in
+     * the index or it was deleted meanwhile. Checked under the write lock, so
+     * a deletion either happens first and is seen, or happens after and
+     * removes the article again.
+     */
+    private void putLoaded(Article article) {
+        writeLock.lock();
+        try {
+            if (!deletedWhileLoading.contains(article.getId()) && !byId.containsKey(article.getId())) {
+                put(ArticleView.of(article));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void delete(Long id) {
+        writeLock.lock();
+        try {
+            if (!ready) {
+                deletedWhileLoading.add(id);
+            }
+            unindex(byId.remove(id));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void unindex(ArticleView view) {
+        if (view == null) {
+            return;
+        }
+        byPublished.remove(view);
+        for (String term : new HashSet<>(Tokenizer.terms(view.title()))) {
+            ConcurrentSkipListSet<ArticleView> posting = byTerm.get(term);
+            if (posting != null) {
+                posting.remove(view);
+                if (posting.isEmpty()) {
+                    byTerm.remove(term, posting);
+                }
+            }
+        }
+    }
+
+    private static List<ArticleView> page(Iterable<ArticleView> values, long offset, int size) {
+        List<ArticleView> page = new ArrayList<>(Math.min(size, 100));
+        long skipped = 0;
+        for (ArticleView view : values) {
+            if (skipped++ < offset) {
+                continue;
+            }
+            if (page.size() == size) {
+                break;
+            }
+            page.add(view);
+        }
+        return page;
+    }
+}
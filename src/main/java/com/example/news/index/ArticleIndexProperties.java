@@ -0,0 +1,46 @@
+package com.example.news.index;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "news.article-index")
+public class ArticleIndexProperties {
+
+    /**
+     * Whether to load and maintain the in-memory article index.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Newest articles kept in memory; older ones are read from the database.
+     */
+    private int capacity = 20_000;
+
+    /**
+     * Articles read per query while loading the index.
+     */
+    private int loadBatchSize = 1_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getLoadBatchSize() {
+        return loadBatchSize;
+    }
+
+    public void setLoadBatchSize(int loadBatchSize) {
+        this.loadBatchSize = loadBatchSize;
+    }
+}
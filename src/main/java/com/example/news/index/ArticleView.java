@@ -0,0 +1,29 @@
+package com.example.news.index;
+
+import com.example.news.compression.CompressedText;
+import com.example.news.entity.Article;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of an article held by {@link ArticleIndex}; serializes to the
+ * same JSON as the {@link Article} entity. The content stays compressed and is
+ * decompressed when the view is serialized.
+ */
+@JsonPropertyOrder({"id", "title", "content", "source", "publishedAt"})
+public record ArticleView(Long id, String title, @JsonIgnore CompressedText compressedContent, String source,
+                          LocalDateTime publishedAt) {
+
+    public static ArticleView of(Article article) {
+        return new ArticleView(article.getId(), article.getTitle(), article.getCompressedContent(),
+                article.getSource(), article.getPublishedAt());
+    }
+
+    @JsonProperty
+    public String content() {
+        return compressedContent == null ? null : compressedContent.text();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.news.ingest;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns feed entries into plain text that fits the articles table: markup
+ * and scripts removed, entities decoded, whitespace collapsed, the title cut
+ * to the column size and missing or future dates replaced by now.
+ */
+final class ArticleNormalizer {
+
+    static final int MAX_TITLE_LENGTH = 255;
+
+    private static final Pattern SCRIPTS = Pattern.compile("(?is)<(script|style)\\b[^>]*>.*?</\\1\\s*>");
+    private static final Pattern TAGS = Pattern.compile("(?s)<[^>]*>");
+    private static final Pattern ENTITY = Pattern.compile("&(#[0-9]{1,7}|#[xX][0-9a-fA-F]{1,6}|[a-zA-Z]{2,8});");
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s\\u00A0]+");
+    private static final Map<String, String> NAMED_ENTITIES = Map.of(
+            "amp", "&", "lt", "<", "gt", ">", "quot", "\"", "apos", "'", "nbsp", " ",
+            "hellip", "…", "mdash", "—", "ndash", "–");
+
+    private ArticleNormalizer() {
+    }
+
+    /**
+     * Empty when the entry has no usable title.
+     */
+    static Optional<FeedItem> normalize(FeedItem item, LocalDateTime now) {
+        String title = toText(item.title());
+        if (title.isEmpty()) {
+            return Optional.empty();
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            title = title.substring(0, MAX_TITLE_LENGTH - 1).trim() + "…";
+        }
+        String content = toText(item.content());
+        LocalDateTime publishedAt = item.publishedAt();
+        if (publishedAt == null || publishedAt.isAfter(now)) {
+            publishedAt = now;
+        }
+        return Optional.of(new FeedItem(item.sourceId(), item.source(), title, content.isEmpty() ? title : content, publishedAt));
+    }
+
+    static String toText(String html) {
+        if (html == null) {
+            return "";
+        }
+        String text = SCRIPTS.matcher(html).replaceAll(" ");
+        text = TAGS.matcher(text).replaceAll(" ");
+        text = decodeEntities(text);
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    private static String decodeEntities(String text) {
+        if (text.indexOf('&') < 0) {
+            return text;
+        }
+        Matcher matcher = ENTITY.matcher(text);
+        StringBuilder decoded = new StringBuilder(text.length());
+        while (matcher.find()) {
+            matcher.appendReplacement(decoded, Matcher.quoteReplacement(decode(matcher.group(1), matcher.group())));
+        }
+        matcher.appendTail(decoded);
+        return decoded.toString();
+    }
+
+    private static String decode(String entity, String original) {
+        if (entity.charAt(0) != '#') {
+            return NAMED_ENTITIES.getOrDefault(entity, original);
+        }
+        boolean hex = entity.length() > 1 && (entity.charAt(1) == 'x' || entity.charAt(1) == 'X');
+        int codePoint = Integer.parseInt(entity.substring(hex ? 2 : 1), hex ? 16 : 10);
+        return Character.isValidCodePoint(codePoint) ? new String(Character.toChars(codePoint)) : original;
+    }
+}
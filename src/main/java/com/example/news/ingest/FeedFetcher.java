@@ -0,0 +1,137 @@
+package com.example.news.ingest;
+
+import com.example.news.entity.Source;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Downloads the feed document of a source over HTTP(S). The whole exchange,
+ * body included, must finish within the fetch timeout, so a server that
+ * drips bytes cannot hold a fetch worker.
+ */
+@Component
+@EnableConfigurationProperties(IngestionProperties.class)
+public class FeedFetcher {
+
+    private static final String ACCEPT = "application/rss+xml, application/atom+xml, application/xml;q=0.9, */*;q=0.8";
+
+    private final IngestionProperties properties;
+    private final HttpClient httpClient;
+
+    @Autowired
+    public FeedFetcher(IngestionProperties properties) {
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getFetchTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    public byte[] fetch(Source source) throws IOException, InterruptedException {
+        Duration timeout = properties.getFetchTimeout();
+        long maxSize = properties.getMaxFeedSize().toBytes();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(source.getUrl()))
+                .timeout(timeout)
+                .header("Accept", ACCEPT)
+                .GET()
+                .build();
+        CompletableFuture<HttpResponse<byte[]>> exchange = httpClient.sendAsync(request, info ->
+                info.statusCode() / 100 == 2
+                        ? new LimitedBody(maxSize)
+                        : HttpResponse.BodySubscribers.replacing(null));
+        HttpResponse<byte[]> response;
+        try {
+            response = exchange.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            exchange.cancel(true);
+            throw new HttpTimeoutException("Feed " + source.getUrl() + " did not arrive within " + timeout);
+        } catch (InterruptedException e) {
+            exchange.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof FeedTooLargeException) {
+                throw new IOException("Feed " + source.getUrl() + " is larger than " + properties.getMaxFeedSize());
+            }
+            throw new IOException("Could not fetch feed " + source.getUrl(), e.getCause());
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Feed " + source.getUrl() + " answered with status " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Collects the body, cancelling the download as soon as it grows past
+     * the size limit.
+     */
+    private static final class LimitedBody implements HttpResponse.BodySubscriber<byte[]> {
+
+        private final long maxSize;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        LimitedBody(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (result.isDone()) {
+                return;
+            }
+            for (ByteBuffer item : items) {
+                if (buffer.size() + (long) item.remaining() > maxSize) {
+                    subscription.cancel();
+                    result.completeExceptionally(new FeedTooLargeException());
+                    return;
+                }
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                buffer.writeBytes(bytes);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(buffer.toByteArray());
+        }
+    }
+
+    private static final class FeedTooLargeException extends IOException {
+    }
+}
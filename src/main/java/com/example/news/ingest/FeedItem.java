@@ -0,0 +1,38 @@
+package com.example.news.ingest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * One entry of a feed, before and after normalization.
+ *
+ * @param sourceId    id of the source, for the ownership check before saving
+ * @param source      name of the source, stored as the article source
+ * @param publishedAt publication time, or {@code null} when the feed has none
+ */
+record FeedItem(Long sourceId, String source, String title, String content, LocalDateTime publishedAt) {
+
+    /**
+     * Identifies the article for deduplication.
+     */
+    String key() {
+        return source + '\n' + title.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * SHA-256 of the lower-cased title, hex encoded; with the source it is
+     * the unique key of {@code article_keys}.
+     */
+    String titleHash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(title.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.news.ingest;
+
+import com.example.news.entity.Source;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the entries of an RSS 2.0 or Atom document with StAX. DTDs and
+ * external entities are disabled, since the documents come from third
+ * parties. Markup inside an element is flattened to its text.
+ */
+final class FeedParser {
+
+    private static final XMLInputFactory FACTORY = XMLInputFactory.newFactory();
+
+    static {
+        FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        FACTORY.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    private FeedParser() {
+    }
+
+    static List<FeedItem> parse(Source source, byte[] document) throws XMLStreamException {
+        List<FeedItem> items = new ArrayList<>();
+        XMLStreamReader reader = FACTORY.createXMLStreamReader(new ByteArrayInputStream(document));
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && ("item".equals(reader.getLocalName()) || "entry".equals(reader.getLocalName()))) {
+                    items.add(readItem(source, reader));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return items;
+    }
+
+    private static FeedItem readItem(Source source, XMLStreamReader reader) throws XMLStreamException {
+        String title = null;
+        String summary = null;
+        String content = null;
+        String published = null;
+        String updated = null;
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "title" -> title = readText(reader);
+                    case "description", "summary" -> summary = readText(reader);
+                    case "encoded", "content" -> content = readText(reader);
+                    case "pubDate", "published", "date" -> published = readText(reader);
+                    case "updated" -> updated = readText(reader);
+                    default -> depth++;
+                }
+            }
+        }
+        return new FeedItem(source.getId(), source.getName(), title, content != null ? content : summary,
+                parseDate(published != null ? published : updated));
+    }
+
+    /**
+     * The text of the current element and its children, leaving the reader on
+     * the element's end tag.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                        text.append(reader.getText());
+                default -> {
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    static LocalDateTime parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String date = value.trim();
+        try {
+            return ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            // not RFC 822, try ISO 8601 as used by Atom and Dublin Core
+        }
+        try {
+            return OffsetDateTime.parse(date).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            // no offset
+        }
+        try {
+            return LocalDateTime.parse(date);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
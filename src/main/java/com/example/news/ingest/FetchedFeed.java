@@ -0,0 +1,9 @@
+package com.example.news.ingest;
+
+import com.example.news.entity.Source;
+
+/**
+ * The raw feed document of a source.
+ */
+record FetchedFeed(Source source, byte[] body) {
+}
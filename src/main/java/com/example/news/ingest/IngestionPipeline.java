@@ -0,0 +1,290 @@
+package com.example.news.ingest;
+
+import com.example.news.changelog.ChangeKind;
+import com.example.news.changelog.ChangeLog;
+import com.example.news.entity.Article;
+import com.example.news.entity.Source;
+import com.example.news.event.ArticleChangedEvent;
+import com.example.news.event.SourcePolledEvent;
+import com.example.news.repository.ArticleRepository;
+import com.example.news.tagging.ArticleTagger;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pulls articles from the feeds of sources handed in by the
+ * {@link SourceScheduler} through a chain of {@link PipelineStage}s: fetch,
+ * parse, normalize, dedup, persist and notify. Each stage has its own
+ * workers and bounded queue, so a slow database backs the pipeline up to
+ * the fetch queue, and {@link #submit} then blocks instead of buffering
+ * without limit. The outcome of fetching and parsing each feed is published
+ * as a {@link SourcePolledEvent}.
+ *
+ * Articles are saved in batches, one transaction per batch, and announced
+ * with an {@link ArticleChangedEvent} each once committed. Sources whose
+ * lease this node lost are dropped before fetching and again before saving,
+ * and each article is first claimed in {@code article_keys}, so a source
+ * polled by two nodes during a lease handover is still saved once. Queue depth,
+ * throughput, latency and time blocked on the next stage are exposed per
+ * stage as {@code news.ingest.*} metrics.
+ */
+@Component
+@EnableConfigurationProperties(IngestionProperties.class)
+public class IngestionPipeline implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestionPipeline.class);
+
+    private static final String CLAIM_KEY = "INSERT IGNORE INTO article_keys (source, title_hash) VALUES (?, ?)";
+
+    private final FeedFetcher feedFetcher;
+    private final ArticleRepository articleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SourceLeases leases;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeLog changeLog;
+    private final ArticleTagger articleTagger;
+    private final IngestionProperties properties;
+    private final RecentlySeen recentlySeen;
+    private final List<PipelineStage<?, ?>> stages;
+    private final PipelineStage<Source, FetchedFeed> fetch;
+
+    private volatile boolean running;
+
+    @Autowired
+    public IngestionPipeline(FeedFetcher feedFetcher, ArticleRepository articleRepository,
+                             JdbcTemplate jdbcTemplate, SourceLeases leases,
+                             PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher, ChangeLog changeLog,
+                             ArticleTagger articleTagger, IngestionProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.feedFetcher = feedFetcher;
+        this.articleRepository = articleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.leases = leases;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.changeLog = changeLog;
+        this.articleTagger = articleTagger;
+        this.properties = properties;
+        this.recentlySeen = new RecentlySeen(properties.getDedupCacheSize());
+
+        PipelineStage<Article, Void> notify = new PipelineStage<>("notify", properties.getNotify(),
+                this::notify, null, meterRegistry);
+        PipelineStage<FeedItem, Article> persist = new PipelineStage<>("persist", properties.getPersist(),
+                this::persist, notify, meterRegistry);
+        PipelineStage<FeedItem, FeedItem> dedup = new PipelineStage<>("dedup", properties.getDedup(),
+                this::dedup, persist, meterRegistry);
+        PipelineStage<FeedItem, FeedItem> normalize = new PipelineStage<>("normalize", properties.getNormalize(),
+                this::normalize, dedup, meterRegistry);
+        PipelineStage<FetchedFeed, FeedItem> parse = new PipelineStage<>("parse", properties.getParse(),
+                this::parse, normalize, meterRegistry);
+        this.fetch = new PipelineStage<>("fetch", properties.getFetch(), this::fetch, parse, meterRegistry);
+        this.stages = List.of(fetch, parse, normalize, dedup, persist, notify);
+    }
+
+    /**
+     * Queues a source for fetching, waiting at most
+     * {@code news.ingest.submit-timeout} while the pipeline is backed up.
+     *
+     * @return false when the source was not queued
+     */
+    public boolean submit(Source source) {
+        if (!running) {
+            return false;
+        }
+        try {
+            return fetch.offer(source, properties.getSubmitTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Items waiting in each stage, front to back.
+     */
+    public Map<String, Integer> queued() {
+        Map<String, Integer> queued = new LinkedHashMap<>();
+        stages.forEach(stage -> queued.put(stage.name(), stage.queued()));
+        return queued;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        stages.forEach(PipelineStage::start);
+        running = true;
+    }
+
+    /**
+     * Stops polling and drains the stages front to back, giving up on what
+     * is still queued after {@code news.ingest.shutdown-timeout}.
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        stages.forEach(stage -> stage.close(deadline));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private List<FetchedFeed> fetch(List<Source> sources) throws InterruptedException {
+        List<FetchedFeed> feeds = new ArrayList<>(sources.size());
+        for (Source source : sources) {
+            if (!leases.owns(source.getId())) {
+                logger.debug("Skipping source {}, its lease moved to another node", source.getName());
+                continue;
+            }
+            try {
+                byte[] document = feedFetcher.fetch(source);
+                logger.debug("Fetched {} bytes from source {}", document.length, source.getName());
+                feeds.add(new FetchedFeed(source, document));
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                eventPublisher.publishEvent(SourcePolledEvent.failed(source.getId(), e));
+            }
+        }
+        return feeds;
+    }
+
+    private List<FeedItem> parse(List<FetchedFeed> feeds) {
+        List<FeedItem> items = new ArrayList<>();
+        for (FetchedFeed feed : feeds) {
+            try {
+                List<FeedItem> feedItems = FeedParser.parse(feed.source(), feed.body());
+                items.addAll(feedItems);
+                eventPublisher.publishEvent(SourcePolledEvent.succeeded(feed.source().getId(), feedItems.size()));
+            } catch (Exception e) {
+                eventPublisher.publishEvent(SourcePolledEvent.failed(feed.source().getId(), e));
+            }
+        }
+        return items;
+    }
+
+    private List<FeedItem> normalize(List<FeedItem> items) {
+        LocalDateTime now = LocalDateTime.now();
+        List<FeedItem> normalized = new ArrayList<>(items.size());
+        for (FeedItem item : items) {
+            ArticleNormalizer.normalize(item, now).ifPresent(normalized::add);
+        }
+        return normalized;
+    }
+
+    private List<FeedItem> dedup(List<FeedItem> items) {
+        List<FeedItem> fresh = new ArrayList<>(items.size());
+        for (FeedItem item : items) {
+            if (recentlySeen.markIfNew(item.key())) {
+                fresh.add(item);
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Saves and tags the batch in one transaction, skipping articles already
+     * in the table, of sources this node no longer owns, or claimed by
+     * another node. On failure the items are forgotten by the dedup stage so
+     * the next poll retries them.
+     */
+    private List<Article> persist(List<FeedItem> items) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Map<String, List<FeedItem>> bySource = new LinkedHashMap<>();
+                items.forEach(item -> bySource.computeIfAbsent(item.source(), key -> new ArrayList<>()).add(item));
+                List<FeedItem> fresh = new ArrayList<>(items.size());
+                bySource.forEach((source, sourceItems) -> {
+                    Set<String> existing = new HashSet<>();
+                    articleRepository.findTitlesBySourceAndTitleIn(source,
+                                    sourceItems.stream().map(FeedItem::title).toList())
+                            .forEach(title -> existing.add(title.toLowerCase(Locale.ROOT)));
+                    for (FeedItem item : sourceItems) {
+                        if (!existing.contains(item.title().toLowerCase(Locale.ROOT))) {
+                            fresh.add(item);
+                        }
+                    }
+                });
+                List<FeedItem> owned = new ArrayList<>(fresh.size());
+                for (FeedItem item : fresh) {
+                    if (leases.owns(item.sourceId())) {
+                        owned.add(item);
+                    } else {
+                        recentlySeen.forget(item.key());
+                    }
+                }
+                List<Article> articles = claim(owned).stream().map(IngestionPipeline::toArticle).toList();
+                List<Article> saved = articleRepository.saveAll(articles);
+                changeLog.appendAll(ChangeKind.ARTICLE, saved.stream().map(Article::getId).toList());
+                articleTagger.tag(saved);
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            items.forEach(item -> recentlySeen.forget(item.key()));
+            throw e;
+        }
+    }
+
+    /**
+     * Inserts the key of each item, keeping the items whose key was not
+     * there yet. The key rows stay locked until the transaction ends, so a
+     * concurrent claim of the same article waits and then finds it taken.
+     */
+    private List<FeedItem> claim(List<FeedItem> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        int[] inserted = jdbcTemplate.batchUpdate(CLAIM_KEY, items.stream()
+                .map(item -> new Object[] {item.source(), item.titleHash()})
+                .toList());
+        List<FeedItem> claimed = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            if (inserted[i] != 0) {
+                claimed.add(items.get(i));
+            }
+        }
+        return claimed;
+    }
+
+    private List<Void> notify(List<Article> articles) {
+        articles.forEach(article -> eventPublisher.publishEvent(ArticleChangedEvent.saved(article)));
+        logger.debug("Ingested {} articles", articles.size());
+        return List.of();
+    }
+
+    private static Article toArticle(FeedItem item) {
+        Article article = new Article();
+        article.setTitle(item.title());
+        article.setContent(item.content());
+        article.setSource(item.source());
+        article.setPublishedAt(item.publishedAt());
+        return article;
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.news.ingest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "news.ingest")
+public class IngestionProperties {
+
+    /**
+     * Whether sources are polled for new articles.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Poll interval of sources without article history.
+     */
+    private Duration interval = Duration.ofMinutes(15);
+
+    /**
+     * Shortest poll interval learned from a source's publish rate.
+     */
+    private Duration minInterval = Duration.ofMinutes(1);
+
+    /**
+     * Longest poll interval learned from a source's publish rate.
+     */
+    private Duration maxInterval = Duration.ofHours(6);
+
+    /**
+     * Article history the publish rate of a source is learned from.
+     */
+    private Duration rateWindow = Duration.ofDays(7);
+
+    /**
+     * Time between two reloads of the source list and publish rates.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * How long a poll waits for room in the fetch queue before leaving a
+     * source for the next round.
+     */
+    private Duration submitTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Deadline of one feed request, from connecting to the last byte of the
+     * body.
+     */
+    private Duration fetchTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Larger feed documents are rejected.
+     */
+    private DataSize maxFeedSize = DataSize.ofMegabytes(5);
+
+    /**
+     * Recently ingested articles remembered to skip duplicates without a query.
+     */
+    private int dedupCacheSize = 100_000;
+
+    /**
+     * How long shutdown waits for queued items to pass through the pipeline.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    private final Cluster cluster = new Cluster();
+    private final Backoff backoff = new Backoff();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private final Stage fetch = new Stage(8, 64, 1);
+    private final Stage parse = new Stage(2, 64, 1);
+    private final Stage normalize = new Stage(2, 1000, 1);
+    private final Stage dedup = new Stage(1, 1000, 1);
+    private final Stage persist = new Stage(1, 1000, 200);
+    private final Stage notify = new Stage(1, 1000, 1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public Duration getMinInterval() {
+        return minInterval;
+    }
+
+    public void setMinInterval(Duration minInterval) {
+        this.minInterval = minInterval;
+    }
+
+    public Duration getMaxInterval() {
+        return maxInterval;
+    }
+
+    public void setMaxInterval(Duration maxInterval) {
+        this.maxInterval = maxInterval;
+    }
+
+    public Duration getRateWindow() {
+        return rateWindow;
+    }
+
+    public void setRateWindow(Duration rateWindow) {
+        this.rateWindow = rateWindow;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getSubmitTimeout() {
+        return submitTimeout;
+    }
+
+    public void setSubmitTimeout(Duration submitTimeout) {
+        this.submitTimeout = submitTimeout;
+    }
+
+    public Duration getFetchTimeout() {
+        return fetchTimeout;
+    }
+
+    public void setFetchTimeout(Duration fetchTimeout) {
+        this.fetchTimeout = fetchTimeout;
+    }
+
+    public DataSize getMaxFeedSize() {
+        return maxFeedSize;
+    }
+
+    public void setMaxFeedSize(DataSize maxFeedSize) {
+        this.maxFeedSize = maxFeedSize;
+    }
+
+    public int getDedupCacheSize() {
+        return dedupCacheSize;
+    }
+
+    public void setDedupCacheSize(int dedupCacheSize) {
+        this.dedupCacheSize = dedupCacheSize;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public Cluster getCluster() {
+        return cluster;
+    }
+
+    public Backoff getBackoff() {
+        return backoff;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Stage getFetch() {
+        return fetch;
+    }
+
+    public Stage getParse() {
+        return parse;
+    }
+
+    public Stage getNormalize() {
+        return normalize;
+    }
+
+    public Stage getDedup() {
+        return dedup;
+    }
+
+    public Stage getPersist() {
+        return persist;
+    }
+
+    public Stage getNotify() {
+        return notify;
+    }
+
+    public static class Cluster {
+
+        /**
+         * Whether sources are split between nodes with database leases. When
+         * off, every node polls every source.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of shards sources are hashed into. Must be the same on all
+         * nodes, and bounds how many nodes can share the work.
+         */
+        private int shards = 64;
+
+        /**
+         * How long a lease, and a node's membership, lasts without renewal.
+         */
+        private Duration leaseDuration = Duration.ofSeconds(30);
+
+        /**
+         * Time between two lease renewals; must be well below the lease duration.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getShards() {
+            return shards;
+        }
+
+        public void setShards(int shards) {
+            this.shards = shards;
+        }
+
+        public Duration getLeaseDuration() {
+            return leaseDuration;
+        }
+
+        public void setLeaseDuration(Duration leaseDuration) {
+            this.leaseDuration = leaseDuration;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+    }
+
+    public static class Backoff {
+
+        /**
+         * Upper bound of the delay after repeated failures; each failure
+         * doubles the source's poll interval up to this.
+         */
+        private Duration max = Duration.ofHours(24);
+
+        public Duration getMax() {
+            return max;
+        }
+
+        public void setMax(Duration max) {
+            this.max = max;
+        }
+    }
+
+    public static class CircuitBreaker {
+
+        /**
+         * Consecutive failures after which a source is no longer polled on
+         * its schedule.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * How long an open circuit waits before a single trial poll.
+         */
+        private Duration openDuration = Duration.ofHours(6);
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+    }
+
+    public static class Stage {
+
+        /**
+         * Worker threads of the stage.
+         */
+        private int workers;
+
+        /**
+         * Items the stage queues before the stage in front of it blocks.
+         */
+        private int queueCapacity;
+
+        /**
+         * Items a worker takes at once.
+         */
+        private int batchSize;
+
+        /**
+         * How long a worker waits for a batch to fill up.
+         */
+        private Duration maxBatchDelay = Duration.ofSeconds(1);
+
+        public Stage(int workers, int queueCapacity, int batchSize) {
+            this.workers = workers;
+            this.queueCapacity = queueCapacity;
+            this.batchSize = batchSize;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getMaxBatchDelay() {
+            return maxBatchDelay;
+        }
+
+        public void setMaxBatchDelay(Duration maxBatchDelay) {
+            this.maxBatchDelay = maxBatchDelay;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.news.ingest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One step of the ingestion pipeline: a bounded queue drained by a fixed set
+ * of worker threads. Workers hand their results to the next stage with a
+ * blocking put, so a slow stage fills its queue and then stalls the stages
+ * in front of it instead of letting items pile up in memory.
+ *
+ * A failed batch is logged and dropped; the next poll of the source brings
+ * its articles back.
+ */
+final class PipelineStage<I, O> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineStage.class);
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    @FunctionalInterface
+    interface Work<I, O> {
+
+        List<O> process(List<I> batch) throws Exception;
+    }
+
+    private final String name;
+    private final BlockingQueue<I> queue;
+    private final int workers;
+    private final int batchSize;
+    private final long maxBatchDelayNanos;
+    private final Work<I, O> work;
+    private final PipelineStage<O, ?> next;
+    private final List<Thread> threads = new ArrayList<>();
+
+    private final Counter processed;
+    private final Counter failures;
+    private final Timer latency;
+    private final Timer blocked;
+
+    private volatile boolean closed;
+
+    PipelineStage(String name, IngestionProperties.Stage properties, Work<I, O> work, PipelineStage<O, ?> next,
+                  MeterRegistry meterRegistry) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.workers = properties.getWorkers();
+        this.batchSize = Math.max(properties.getBatchSize(), 1);
+        this.maxBatchDelayNanos = properties.getMaxBatchDelay().toNanos();
+        this.work = work;
+        this.next = next;
+        Gauge.builder("news.ingest.queued", queue, BlockingQueue::size).tag("stage", name).register(meterRegistry);
+        this.processed = Counter.builder("news.ingest.processed").tag("stage", name).register(meterRegistry);
+        this.failures = Counter.builder("news.ingest.failures").tag("stage", name).register(meterRegistry);
+        this.latency = Timer.builder("news.ingest.latency").tag("stage", name).register(meterRegistry);
+        this.blocked = Timer.builder("news.ingest.blocked").tag("stage", name).register(meterRegistry);
+    }
+
+    String name() {
+        return name;
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    /**
+     * Queues an item, waiting at most {@code timeout} for room.
+     */
+    boolean offer(I item, Duration timeout) throws InterruptedException {
+        return !closed && queue.offer(item, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    void put(I item) throws InterruptedException {
+        queue.put(item);
+    }
+
+    synchronized void start() {
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::run, "ingest-" + name + "-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    /**
+     * Lets the workers finish what is queued, then stops them. Stages must be
+     * closed front to back so every stage can still hand on its last items.
+     */
+    synchronized void close(long deadlineNanos) {
+        closed = true;
+        for (Thread thread : threads) {
+            try {
+                TimeUnit.NANOSECONDS.timedJoin(thread, Math.max(deadlineNanos - System.nanoTime(), 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread.interrupt();
+        }
+        threads.clear();
+        if (!queue.isEmpty()) {
+            logger.warn("Ingestion stage {} stopped with {} items queued", name, queue.size());
+        }
+    }
+
+    private void run() {
+        List<I> batch = new ArrayList<>(batchSize);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                I first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                process(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void fill(List<I> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxBatchDelayNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() == batchSize || remaining <= 0 || closed) {
+                return;
+            }
+            I item = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (item == null) {
+                return;
+            }
+            batch.add(item);
+        }
+    }
+
+    private void process(List<I> batch) throws InterruptedException {
+        List<O> results;
+        long start = System.nanoTime();
+        try {
+            results = work.process(batch);
+            processed.increment(batch.size());
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            failures.increment(batch.size());
+            logger.warn("Ingestion stage {} failed on a batch of {} items", name, batch.size(), e);
+            return;
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (next == null || results.isEmpty()) {
+            return;
+        }
+        long waitStart = System.nanoTime();
+        for (O result : results) {
+            next.put(result);
+        }
+        blocked.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+    }
+}
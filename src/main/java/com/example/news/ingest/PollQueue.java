@@ -0,0 +1,139 @@
+package com.example.news.ingest;
+
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sources ordered by their next poll time, in a binary heap: scheduling and
+ * taking the next due source are O(log n). Rescheduling does not search the
+ * heap; it adds a new entry and the old one is skipped when it surfaces, and
+ * the heap is rebuilt once such stale entries outnumber the live ones.
+ */
+final class PollQueue {
+
+    private record Entry(long dueAt, long sourceId, long generation) {
+    }
+
+    private final Clock clock;
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparingLong(Entry::dueAt));
+    private final Map<Long, Long> generations = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private long nextGeneration;
+
+    PollQueue(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Schedules the source at {@code dueAt} (epoch millis), replacing any
+     * earlier schedule.
+     */
+    void schedule(long sourceId, long dueAt) {
+        lock.lock();
+        try {
+            long generation = ++nextGeneration;
+            generations.put(sourceId, generation);
+            Entry entry = new Entry(dueAt, sourceId, generation);
+            heap.add(entry);
+            if (heap.peek() == entry) {
+                changed.signalAll();
+            }
+            if (heap.size() > 2 * generations.size() + 1024) {
+                compact();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void cancel(long sourceId) {
+        lock.lock();
+        try {
+            generations.remove(sourceId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isScheduled(long sourceId) {
+        lock.lock();
+        try {
+            return generations.containsKey(sourceId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return generations.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the next source due at {@code now}, or null.
+     */
+    Long poll(long now) {
+        lock.lock();
+        try {
+            Entry head = live();
+            if (head == null || head.dueAt() > now) {
+                return null;
+            }
+            return remove(head);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until a source is due, then removes and returns it.
+     */
+    long take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                Entry head = live();
+                if (head == null) {
+                    changed.await();
+                    continue;
+                }
+                long wait = head.dueAt() - clock.millis();
+                if (wait <= 0) {
+                    return remove(head);
+                }
+                changed.await(wait, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry live() {
+        Entry head;
+        while ((head = heap.peek()) != null && !Long.valueOf(head.generation()).equals(generations.get(head.sourceId()))) {
+            heap.poll();
+        }
+        return head;
+    }
+
+    private long remove(Entry head) {
+        heap.poll();
+        generations.remove(head.sourceId());
+        return head.sourceId();
+    }
+
+    private void compact() {
+        heap.removeIf(entry -> !Long.valueOf(entry.generation()).equals(generations.get(entry.sourceId())));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.news.ingest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded set of recently ingested article keys, oldest evicted first.
+ * Entries that fall out are still caught by the database check when the
+ * batch is persisted.
+ */
+final class RecentlySeen {
+
+    private final Map<String, Boolean> keys;
+
+    RecentlySeen(int capacity) {
+        this.keys = new LinkedHashMap<>(Math.min(capacity, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * True when the key was not seen before; it counts as seen from now on.
+     */
+    synchronized boolean markIfNew(String key) {
+        return keys.put(key, Boolean.TRUE) == null;
+    }
+
+    synchronized void forget(String key) {
+        keys.remove(key);
+    }
+}
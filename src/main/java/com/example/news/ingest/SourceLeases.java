@@ -0,0 +1,206 @@
+package com.example.news.ingest;
+
+import com.example.news.config.NodeIdentity;
+import com.example.news.event.SourceLeasesChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits sources between the nodes sharing a database, without an external
+ * coordinator. Sources are hashed into {@code news.ingest.cluster.shards}
+ * shards, and each shard has a row in {@code source_leases} naming the node
+ * that polls it and when that lease expires. Nodes announce themselves in
+ * {@code ingest_nodes}.
+ *
+ * Every heartbeat a node renews its node row and leases, then moves towards
+ * its fair share of the shards: it releases shards above the share, which
+ * lets a joining node pick them up, and claims free or expired ones below
+ * it, which takes over the shards of a node that left or died. Claims are
+ * conditional updates, so a shard has at most one owner in the database.
+ * Expiry uses the database clock; a node stops treating a lease as its own
+ * one heartbeat before it could expire, so it never polls a source another
+ * node may already have claimed.
+ */
+@Component
+@EnableConfigurationProperties(IngestionProperties.class)
+public class SourceLeases implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SourceLeases.class);
+
+    private static final String ADD_SHARD = "INSERT INTO source_leases (shard) VALUES (?)"
+            + " ON DUPLICATE KEY UPDATE shard = shard";
+    private static final String HEARTBEAT = "INSERT INTO ingest_nodes (node_id, heartbeat_at, expires_at)"
+            + " VALUES (?, LOCALTIMESTAMP, TIMESTAMPADD(SECOND, ?, LOCALTIMESTAMP)) ON DUPLICATE KEY UPDATE"
+            + " heartbeat_at = VALUES(heartbeat_at), expires_at = VALUES(expires_at)";
+    private static final String RENEW = "UPDATE source_leases SET expires_at = TIMESTAMPADD(SECOND, ?, LOCALTIMESTAMP)"
+            + " WHERE owner_node = ?";
+    private static final String CLAIM = "UPDATE source_leases SET owner_node = ?, acquired_at = LOCALTIMESTAMP,"
+            + " expires_at = TIMESTAMPADD(SECOND, ?, LOCALTIMESTAMP)"
+            + " WHERE shard = ? AND (owner_node IS NULL OR expires_at < LOCALTIMESTAMP)";
+    private static final String RELEASE = "UPDATE source_leases SET owner_node = NULL, expires_at = NULL"
+            + " WHERE shard = ? AND owner_node = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IngestionProperties.Cluster properties;
+    private final boolean enabled;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+    private final AtomicInteger nodes = new AtomicInteger();
+
+    private volatile Set<Integer> owned = Set.of();
+    private volatile long validUntilNanos;
+    private volatile ScheduledExecutorService executor;
+
+    @Autowired
+    public SourceLeases(JdbcTemplate jdbcTemplate, NodeIdentity node, IngestionProperties properties,
+                        ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties.getCluster();
+        this.enabled = properties.isEnabled() && this.properties.isEnabled();
+        this.eventPublisher = eventPublisher;
+        this.nodeId = node.id();
+        Gauge.builder("news.ingest.leases.owned", this, leases -> leases.owned.size()).register(meterRegistry);
+        Gauge.builder("news.ingest.nodes", nodes, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Whether this node may poll the source right now.
+     */
+    public boolean owns(Long sourceId) {
+        if (!enabled) {
+            return true;
+        }
+        return System.nanoTime() < validUntilNanos && owned.contains(shard(sourceId));
+    }
+
+    public Set<Integer> ownedShards() {
+        return owned;
+    }
+
+    int shard(Long sourceId) {
+        return (int) Math.floorMod(sourceId, (long) properties.getShards());
+    }
+
+    /**
+     * Renews this node's membership and leases and moves towards its fair
+     * share of the shards.
+     */
+    synchronized void heartbeat() {
+        long started = System.nanoTime();
+        try {
+            long leaseSeconds = properties.getLeaseDuration().toSeconds();
+            jdbcTemplate.update(HEARTBEAT, nodeId, leaseSeconds);
+            jdbcTemplate.update("DELETE FROM ingest_nodes WHERE expires_at < LOCALTIMESTAMP");
+            int live = Math.max(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ingest_nodes", Integer.class), 1);
+            nodes.set(live);
+            int fairShare = (properties.getShards() + live - 1) / live;
+
+            jdbcTemplate.update(RENEW, leaseSeconds, nodeId);
+            Set<Integer> shards = new TreeSet<>(jdbcTemplate.queryForList(
+                    "SELECT shard FROM source_leases WHERE owner_node = ? AND shard < ?",
+                    Integer.class, nodeId, properties.getShards()));
+            validUntilNanos = started + properties.getLeaseDuration().minus(properties.getHeartbeatInterval()).toNanos();
+
+            if (shards.size() > fairShare) {
+                List<Integer> surplus = new ArrayList<>(shards).subList(fairShare, shards.size());
+                surplus.forEach(shards::remove);
+                update(shards);
+                for (Integer shard : surplus) {
+                    jdbcTemplate.update(RELEASE, shard, nodeId);
+                }
+                logger.info("Node {} released {} shards for {} nodes", nodeId, surplus.size(), live);
+            } else if (shards.size() < fairShare) {
+                List<Integer> free = jdbcTemplate.queryForList("SELECT shard FROM source_leases WHERE shard < ?"
+                        + " AND (owner_node IS NULL OR expires_at < LOCALTIMESTAMP)", Integer.class, properties.getShards());
+                Collections.shuffle(free);
+                for (Integer shard : free) {
+                    if (shards.size() >= fairShare) {
+                        break;
+                    }
+                    if (jdbcTemplate.update(CLAIM, nodeId, leaseSeconds, shard) == 1) {
+                        shards.add(shard);
+                    }
+                }
+            }
+            update(shards);
+        } catch (Exception e) {
+            logger.error("Error renewing the source leases of node {}", nodeId, e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || executor != null) {
+            return;
+        }
+        for (int shard = 0; shard < properties.getShards(); shard++) {
+            jdbcTemplate.update(ADD_SHARD, shard);
+        }
+        heartbeat();
+        long interval = properties.getHeartbeatInterval().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ingest-leases");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Hands the shards back right away, so other nodes do not have to wait
+     * for the leases to expire.
+     */
+    @Override
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        executor = null;
+        update(Set.of());
+        validUntilNanos = 0;
+        try {
+            jdbcTemplate.update("UPDATE source_leases SET owner_node = NULL, expires_at = NULL WHERE owner_node = ?",
+                    nodeId);
+            jdbcTemplate.update("DELETE FROM ingest_nodes WHERE node_id = ?", nodeId);
+        } catch (Exception e) {
+            logger.warn("Could not release the source leases of node {}, they expire on their own", nodeId, e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    private void update(Set<Integer> shards) {
+        if (shards.equals(owned)) {
+            return;
+        }
+        owned = Set.copyOf(shards);
+        logger.info("Node {} owns {} of {} source shards", nodeId, shards.size(), properties.getShards());
+        eventPublisher.publishEvent(new SourceLeasesChangedEvent(owned));
+    }
+}
@@ -0,0 +1,363 @@
+package com.example.news.ingest;
+
+import com.example.news.entity.Source;
+import com.example.news.changelog.ChangeKind;
+import com.example.news.event.RemoteChangeEvent;
+import com.example.news.event.SourceLeasesChangedEvent;
+import com.example.news.event.SourcePolledEvent;
+import com.example.news.repository.SourceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decides when each source is polled. The interval of a source follows its
+ * publish rate over the last {@code news.ingest.rate-window}: half the mean
+ * gap between its articles, within {@code min-interval} and
+ * {@code max-interval}. Failed polls back off exponentially with jitter, and
+ * a source that keeps failing has its circuit opened and only gets a single
+ * trial poll every {@code circuit-breaker.open-duration}.
+ *
+ * Only sources in shards leased by this node ({@link SourceLeases}) are
+ * scheduled, and ownership is checked again before every poll. Refreshes
+ * triggered by lease and remote source changes run on a thread of their
+ * own, so a slow database never delays the lease heartbeat.
+ *
+ * Sources wait in a {@link PollQueue} and one dispatcher thread hands them to
+ * the {@link IngestionPipeline} as they come due, so scheduling costs
+ * O(log n) per poll however many sources there are. When the pipeline is
+ * backed up the dispatcher blocks and due sources simply wait in the queue.
+ */
+@Component
+@EnableConfigurationProperties(IngestionProperties.class)
+public class SourceScheduler implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SourceScheduler.class);
+
+    private final IngestionPipeline pipeline;
+    private final SourceLeases leases;
+    private final SourceRepository sourceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final IngestionProperties properties;
+    private final Clock clock;
+    private final PollQueue queue;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, SourceState> states = new HashMap<>();
+    private final AtomicInteger openCircuits = new AtomicInteger();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter rejected;
+
+    private volatile Thread dispatcher;
+    private volatile ExecutorService refresher;
+    private volatile boolean running;
+
+    @Autowired
+    public SourceScheduler(IngestionPipeline pipeline, SourceLeases leases, SourceRepository sourceRepository,
+                           JdbcTemplate jdbcTemplate, IngestionProperties properties, MeterRegistry meterRegistry) {
+        this(pipeline, leases, sourceRepository, jdbcTemplate, properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    SourceScheduler(IngestionPipeline pipeline, SourceLeases leases, SourceRepository sourceRepository,
+                    JdbcTemplate jdbcTemplate, IngestionProperties properties, MeterRegistry meterRegistry,
+                    Clock clock) {
+        this.pipeline = pipeline;
+        this.leases = leases;
+        this.sourceRepository = sourceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.queue = new PollQueue(clock);
+        Gauge.builder("news.ingest.sources.scheduled", queue, PollQueue::size).register(meterRegistry);
+        Gauge.builder("news.ingest.sources.open", openCircuits, AtomicInteger::get).register(meterRegistry);
+        this.succeeded = Counter.builder("news.ingest.polls").tag("outcome", "success").register(meterRegistry);
+        this.failed = Counter.builder("news.ingest.polls").tag("outcome", "failure").register(meterRegistry);
+        this.rejected = Counter.builder("news.ingest.polls").tag("outcome", "rejected").register(meterRegistry);
+    }
+
+    /**
+     * Picks up added and removed sources, and sources whose shard this node
+     * gained or lost, and relearns every source's interval. New sources are
+     * spread over the refresh interval rather than all polled at once.
+     */
+    @Scheduled(initialDelayString = "${news.ingest.refresh-interval:PT5M}",
+            fixedDelayString = "${news.ingest.refresh-interval:PT5M}")
+    public void refresh() {
+        if (!running) {
+            return;
+        }
+        try {
+            List<Source> sources = sourceRepository.findAll().stream()
+                    .filter(source -> leases.owns(source.getId()))
+                    .toList();
+            Map<String, Long> articles = articlesPerSource(LocalDateTime.now(clock).minus(properties.getRateWindow()));
+            long now = clock.millis();
+            int added = 0;
+            lock.lock();
+            try {
+                Set<Long> current = new HashSet<>();
+                for (Source source : sources) {
+                    current.add(source.getId());
+                    SourceState state = states.get(source.getId());
+                    if (state == null) {
+                        state = new SourceState(source, properties.getInterval(), properties);
+                        states.put(source.getId(), state);
+                        long spread = Math.min(properties.getRefreshInterval().toMillis(), state.interval().toMillis());
+                        queue.schedule(source.getId(), now + ThreadLocalRandom.current().nextLong(spread + 1));
+                        added++;
+                    } else {
+                        state.source(source);
+                    }
+                    state.interval(interval(articles.getOrDefault(source.getName(), 0L), state.polled(), properties));
+                }
+                states.keySet().removeIf(sourceId -> !current.contains(sourceId) && unschedule(sourceId));
+            } finally {
+                lock.unlock();
+            }
+            logger.info("Scheduling {} sources, {} new, {} with open circuits", sources.size(), added,
+                    openCircuits.get());
+        } catch (Exception e) {
+            logger.error("Error refreshing the source schedule", e);
+        }
+    }
+
+    /**
+     * Published on the lease heartbeat thread, which must not wait for the
+     * refresh.
+     */
+    @EventListener(SourceLeasesChangedEvent.class)
+    public void onLeasesChanged() {
+        requestRefresh();
+    }
+
+    /**
+     * Picks up sources another node added, changed or removed.
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.kind() == ChangeKind.SOURCE) {
+            requestRefresh();
+        }
+    }
+
+    @EventListener
+    public void onSourcePolled(SourcePolledEvent event) {
+        lock.lock();
+        try {
+            SourceState state = states.get(event.sourceId());
+            if (state == null) {
+                return;
+            }
+            boolean wasClosed = state.circuit() == SourceState.Circuit.CLOSED;
+            Duration delay;
+            if (event.isFailed()) {
+                failed.increment();
+                delay = state.failed(ThreadLocalRandom.current());
+                if (state.circuit() == SourceState.Circuit.OPEN) {
+                    logger.warn("Source {} failed {} times in a row, next trial poll in {}",
+                            state.source().getName(), state.failures(), delay, event.failure());
+                } else {
+                    logger.info("Polling source {} failed ({} in a row), retrying in {}: {}",
+                            state.source().getName(), state.failures(), delay, event.failure().toString());
+                }
+            } else {
+                succeeded.increment();
+                delay = state.succeeded();
+            }
+            boolean isClosed = state.circuit() == SourceState.Circuit.CLOSED;
+            if (wasClosed != isClosed) {
+                openCircuits.addAndGet(isClosed ? -1 : 1);
+            }
+            queue.schedule(event.sourceId(), clock.millis() + delay.toMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Polls the source right away, whatever its schedule and circuit.
+     */
+    public void pollNow(Long sourceId) {
+        lock.lock();
+        try {
+            if (states.containsKey(sourceId)) {
+                queue.schedule(sourceId, clock.millis());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ingest-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher = new Thread(this::dispatch, "ingest-scheduler");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        refresher.shutdownNow();
+        refresher = null;
+        Thread current = dispatcher;
+        current.interrupt();
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dispatcher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    SourceState state(Long sourceId) {
+        lock.lock();
+        try {
+            return states.get(sourceId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@link #refresh} on the refresh thread. Requests made while one
+     * is still waiting there are folded into it.
+     */
+    private void requestRefresh() {
+        ExecutorService current = refresher;
+        if (current == null || !refreshPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            current.execute(() -> {
+                refreshPending.set(false);
+                refresh();
+            });
+        } catch (RejectedExecutionException e) {
+            refreshPending.set(false);
+            logger.debug("Source refresh not queued, the scheduler is stopping");
+        }
+    }
+
+    private void dispatch() {
+        refresh();
+        try {
+            while (running) {
+                long sourceId = queue.take();
+                Source source;
+                lock.lock();
+                try {
+                    SourceState state = states.get(sourceId);
+                    if (state == null) {
+                        continue;
+                    }
+                    if (!leases.owns(sourceId)) {
+                        // the shard moved to another node, or its lease could not be renewed
+                        unschedule(sourceId);
+                        states.remove(sourceId);
+                        continue;
+                    }
+                    state.dispatched();
+                    source = state.source();
+                    // rescheduled again by the outcome; keeps the source scheduled if the outcome is lost
+                    Duration fallback = state.circuit() == SourceState.Circuit.CLOSED
+                            ? state.interval() : properties.getCircuitBreaker().getOpenDuration();
+                    queue.schedule(sourceId, clock.millis() + fallback.toMillis());
+                } finally {
+                    lock.unlock();
+                }
+                if (!pipeline.submit(source)) {
+                    rejected.increment();
+                    queue.schedule(sourceId, clock.millis() + properties.getSubmitTimeout().toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Drops the source's queue entry and circuit count; the caller removes
+     * its state. Always true, for use in {@code removeIf}.
+     */
+    private boolean unschedule(Long sourceId) {
+        queue.cancel(sourceId);
+        if (states.get(sourceId).circuit() != SourceState.Circuit.CLOSED) {
+            openCircuits.decrementAndGet();
+        }
+        return true;
+    }
+
+    private Map<String, Long> articlesPerSource(LocalDateTime from) {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT source, COUNT(*) FROM articles WHERE published_at >= ? GROUP BY source",
+                rs -> {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                }, Timestamp.valueOf(from));
+        return counts;
+    }
+
+    /**
+     * Half the mean gap between a source's articles, so a new article waits
+     * on average a quarter of the gap. Sources without recent articles get
+     * the default interval until their first successful poll, and the
+     * maximum after it.
+     */
+    static Duration interval(long articles, boolean polled, IngestionProperties properties) {
+        if (articles == 0) {
+            return polled ? properties.getMaxInterval() : properties.getInterval();
+        }
+        Duration interval = properties.getRateWindow().dividedBy(articles * 2);
+        if (interval.compareTo(properties.getMinInterval()) < 0) {
+            return properties.getMinInterval();
+        }
+        return interval.compareTo(properties.getMaxInterval()) > 0 ? properties.getMaxInterval() : interval;
+    }
+}
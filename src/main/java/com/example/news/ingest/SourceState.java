@@ -0,0 +1,109 @@
+package com.example.news.ingest;
+
+import com.example.news.entity.Source;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Polling state of one source: its learned interval and circuit breaker.
+ * A source is closed while it polls fine, open once it failed
+ * {@code failure-threshold} times in a row, and half-open while the single
+ * trial poll after {@code open-duration} is in flight. Guarded by the
+ * scheduler's lock.
+ */
+final class SourceState {
+
+    enum Circuit {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final IngestionProperties properties;
+    private Source source;
+    private Duration interval;
+    private int failures;
+    private Circuit circuit = Circuit.CLOSED;
+    private boolean polled;
+
+    SourceState(Source source, Duration interval, IngestionProperties properties) {
+        this.source = source;
+        this.interval = interval;
+        this.properties = properties;
+    }
+
+    Source source() {
+        return source;
+    }
+
+    void source(Source source) {
+        this.source = source;
+    }
+
+    Duration interval() {
+        return interval;
+    }
+
+    void interval(Duration interval) {
+        this.interval = interval;
+    }
+
+    int failures() {
+        return failures;
+    }
+
+    Circuit circuit() {
+        return circuit;
+    }
+
+    /**
+     * Whether the source was ever polled successfully.
+     */
+    boolean polled() {
+        return polled;
+    }
+
+    /**
+     * Called when the source is handed to the pipeline.
+     */
+    void dispatched() {
+        if (circuit == Circuit.OPEN) {
+            circuit = Circuit.HALF_OPEN;
+        }
+    }
+
+    /**
+     * @return delay until the next poll
+     */
+    Duration succeeded() {
+        failures = 0;
+        circuit = Circuit.CLOSED;
+        polled = true;
+        return interval;
+    }
+
+    /**
+     * Backs off exponentially from the poll interval, with jitter, until the
+     * circuit opens.
+     *
+     * @return delay until the next poll
+     */
+    Duration failed(RandomGenerator random) {
+        failures++;
+        if (circuit == Circuit.HALF_OPEN || failures >= properties.getCircuitBreaker().getFailureThreshold()) {
+            circuit = Circuit.OPEN;
+            return jitter(properties.getCircuitBreaker().getOpenDuration(), random);
+        }
+        Duration max = properties.getBackoff().getMax();
+        Duration delay = failures >= 32 ? max : interval.multipliedBy(1L << failures);
+        return jitter(delay.compareTo(max) > 0 ? max : delay, random);
+    }
+
+    /**
+     * Somewhere between half and all of {@code delay}, so sources that
+     * failed together do not retry together.
+     */
+    static Duration jitter(Duration delay, RandomGenerator random) {
+        long millis = delay.toMillis();
+        return Duration.ofMillis(millis / 2 + random.nextLong(millis / 2 + 1));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.news.mapper;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.entity.Article;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface ArticleMapper {
+
+    ArticleDTO toDTO(Article article);
+
+    @Mapping(target = "id", ignore = true)
+    Article toEntity(ArticleDTO articleDTO);
+
+    /**
+     * Full update: every property of the DTO replaces the one on the entity.
+     */
+    @Mapping(target = "id", ignore = true)
+    void updateEntity(ArticleDTO articleDTO, @MappingTarget Article article);
+
+    /**
+     * Partial update: only the properties set on the DTO are copied.
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    void patchEntity(ArticleDTO articleDTO, @MappingTarget Article article);
+}
@@ -0,0 +1,32 @@
+package com.example.news.mapper;
+
+import com.example.news.dto.SourceDTO;
+import com.example.news.entity.Source;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface SourceMapper {
+
+    SourceDTO toDTO(Source source);
+
+    @Mapping(target = "id", ignore = true)
+    Source toEntity(SourceDTO sourceDTO);
+
+    /**
+     * Full update: every property of the DTO replaces the one on the entity.
+     */
+    @Mapping(target = "id", ignore = true)
+    void updateEntity(SourceDTO sourceDTO, @MappingTarget Source source);
+
+    /**
+     * Partial update: only the properties set on the DTO are copied.
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    void patchEntity(SourceDTO sourceDTO, @MappingTarget Source source);
+}
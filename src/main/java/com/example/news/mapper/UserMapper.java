@@ -0,0 +1,50 @@
+package com.example.news.mapper;
+
+import com.example.news.dto.UserDTO;
+import com.example.news.entity.User;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Passwords are never copied by the mapper: they are encoded by the service
+ * before being set on the entity, and never exposed on the DTO.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface UserMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    UserDTO toDTO(User user);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    User toEntity(UserDTO userDTO);
+
+    /**
+     * Full update of everything but the password.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    void updateEntity(UserDTO userDTO, @MappingTarget User user);
+
+    /**
+     * Partial update of everything but the password: only the properties set
+     * on the DTO are copied.
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    void patchEntity(UserDTO userDTO, @MappingTarget User user);
+
+    /**
+     * The settings page can change everything but the identity and the password.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "username", ignore = true)
+    void updateSettings(UserDTO userDTO, @MappingTarget User user);
+}
@@ -0,0 +1,101 @@
+package com.example.news.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records latency, errors and in-flight calls for every public method of the
+ * service layer and the Spring Data repositories.
+ *
+ * <ul>
+ *     <li>{@code news.method} - timer tagged with layer, class, method and exception</li>
+ *     <li>{@code news.method.errors} - counter of calls that ended with an exception</li>
+ *     <li>{@code news.method.inflight} - gauge of calls currently executing</li>
+ * </ul>
+ *
+ * Percentiles and histogram buckets for {@code news.method} are configured in
+ * application.properties so they can be tuned without a rebuild.
+ */
+@Aspect
+@Component
+public class MethodMetricsAspect {
+
+    static final String TIMER_NAME = "news.method";
+    static final String ERRORS_NAME = "news.method.errors";
+    static final String INFLIGHT_NAME = "news.method.inflight";
+
+    private static final String REPOSITORY_PACKAGE = "com.example.news.repository";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MethodMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.example.news.serviceImpl.*ServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("service", joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("repository", repositoryName(joinPoint.getThis()), joinPoint);
+    }
+
+    private Object record(String layer, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        String methodName = joinPoint.getSignature().getName();
+        AtomicInteger active = inFlight(layer, className, methodName);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        active.incrementAndGet();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            Counter.builder(ERRORS_NAME)
+                    .tags("layer", layer, "class", className, "method", methodName, "exception", exception)
+                    .register(meterRegistry)
+                    .increment();
+            throw t;
+        } finally {
+            active.decrementAndGet();
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("Latency of service and repository calls")
+                    .tags("layer", layer, "class", className, "method", methodName, "exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private AtomicInteger inFlight(String layer, String className, String methodName) {
+        return inFlight.computeIfAbsent(layer + '.' + className + '.' + methodName, key -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder(INFLIGHT_NAME, counter, AtomicInteger::get)
+                    .description("Service and repository calls currently executing")
+                    .tags("layer", layer, "class", className, "method", methodName)
+                    .register(meterRegistry);
+            return counter;
+        });
+    }
+
+    private static String repositoryName(Object proxy) {
+        for (Class<?> type : proxy.getClass().getInterfaces()) {
+            if (type.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return proxy.getClass().getSimpleName();
+    }
+}
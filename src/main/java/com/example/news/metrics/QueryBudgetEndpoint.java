@@ -0,0 +1,37 @@
+package com.example.news.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/querybudget}: endpoints ranked by how often they exceed the
+ * statement budget, then by their worst statement count.
+ */
+@Component
+@Endpoint(id = "querybudget")
+public class QueryBudgetEndpoint {
+
+    private final QueryBudgetRegistry registry;
+    private final QueryBudgetProperties properties;
+
+    @Autowired
+    public QueryBudgetEndpoint(QueryBudgetRegistry registry, QueryBudgetProperties properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public List<QueryBudgetRegistry.EndpointSummary> topOffenders() {
+        return registry.topOffenders(properties.getTopEndpoints());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        registry.reset();
+    }
+}
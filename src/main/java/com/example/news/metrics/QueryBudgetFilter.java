@@ -0,0 +1,57 @@
+package com.example.news.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link QueryStats} measurement around every request and reports it to
+ * the {@link QueryBudgetRegistry}, warning when the request ran more statements
+ * than {@code news.query-budget.max-statements}.
+ */
+@Component
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final QueryBudgetRegistry registry;
+    private final QueryBudgetProperties properties;
+
+    @Autowired
+    public QueryBudgetFilter(QueryBudgetRegistry registry, QueryBudgetProperties properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats.stop();
+            String endpoint = endpoint(request);
+            boolean overBudget = stats.getStatements() > properties.getMaxStatements();
+            if (overBudget) {
+                logger.warn("Request {} exceeded the query budget: {} (budget {})",
+                        endpoint, stats, properties.getMaxStatements());
+            }
+            registry.record(endpoint, stats, overBudget);
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+    }
+}
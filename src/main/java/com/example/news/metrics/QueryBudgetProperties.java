@@ -0,0 +1,61 @@
+package com.example.news.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "news.query-budget")
+public class QueryBudgetProperties {
+
+    /**
+     * Whether the DataSource is wrapped to count statements at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Statements a single request may run before it is flagged.
+     */
+    private int maxStatements = 10;
+
+    /**
+     * Statements slower than this are logged with their SQL.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    /**
+     * Number of endpoints listed by the querybudget actuator endpoint.
+     */
+    private int topEndpoints = 10;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public void setMaxStatements(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    public Duration getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    public int getTopEndpoints() {
+        return topEndpoints;
+    }
+
+    public void setTopEndpoints(int topEndpoints) {
+        this.topEndpoints = topEndpoints;
+    }
+}
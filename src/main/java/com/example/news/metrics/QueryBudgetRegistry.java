@@ -0,0 +1,100 @@
+package com.example.news.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint aggregate of the {@link QueryStats} collected for each request.
+ * Endpoints are keyed by HTTP method and mapping pattern, so the map stays
+ * bounded by the number of routes.
+ */
+@Component
+public class QueryBudgetRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    @Autowired
+    public QueryBudgetRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String endpoint, QueryStats stats, boolean overBudget) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats(key, meterRegistry))
+                .record(stats, overBudget);
+    }
+
+    public Optional<EndpointSummary> get(String endpoint) {
+        return Optional.ofNullable(endpoints.get(endpoint)).map(EndpointStats::summary);
+    }
+
+    public List<EndpointSummary> topOffenders(int limit) {
+        return endpoints.values().stream()
+                .map(EndpointStats::summary)
+                .sorted(Comparator.comparingLong(EndpointSummary::overBudgetRequests)
+                        .thenComparingLong(EndpointSummary::maxStatements)
+                        .thenComparingLong(EndpointSummary::slowStatements)
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    public record EndpointSummary(String endpoint, long requests, long overBudgetRequests,
+                                  long maxStatements, double avgStatements,
+                                  double avgQueryMillis, long slowStatements) {
+    }
+
+    private static final class EndpointStats {
+
+        private final String endpoint;
+        private final DistributionSummary statementsSummary;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder overBudget = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder queryMillis = new LongAdder();
+        private final LongAdder slowStatements = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+
+        EndpointStats(String endpoint, MeterRegistry meterRegistry) {
+            this.endpoint = endpoint;
+            this.statementsSummary = DistributionSummary.builder("news.request.statements")
+                    .description("SQL statements executed per HTTP request")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry);
+        }
+
+        void record(QueryStats stats, boolean overBudgetRequest) {
+            requests.increment();
+            if (overBudgetRequest) {
+                overBudget.increment();
+            }
+            statements.add(stats.getStatements());
+            queryMillis.add(stats.getElapsedMillis());
+            slowStatements.add(stats.getSlowStatements());
+            maxStatements.accumulateAndGet(stats.getStatements(), Math::max);
+            statementsSummary.record(stats.getStatements());
+        }
+
+        EndpointSummary summary() {
+            long count = requests.sum();
+            return new EndpointSummary(endpoint, count, overBudget.sum(), maxStatements.get(),
+                    count == 0 ? 0 : (double) statements.sum() / count,
+                    count == 0 ? 0 : (double) queryMillis.sum() / count,
+                    slowStatements.sum());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.news.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * datasource-proxy listener that charges every executed statement (a JDBC batch
+ * counts as one round trip) to the {@link QueryStats} open on the calling thread.
+ */
+public class QueryCountingListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountingListener.class);
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 500;
+
+    private final QueryBudgetProperties properties;
+
+    public QueryCountingListener(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        boolean slow = elapsedMillis >= properties.getSlowQueryThreshold().toMillis();
+        if (slow) {
+            logger.warn("Slow query took {} ms: {}", elapsedMillis, describe(queryInfoList));
+        }
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.record(elapsedMillis, slow);
+        }
+    }
+
+    private static String describe(List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        return sql.length() > MAX_LOGGED_SQL_LENGTH ? sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "..." : sql;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.news.metrics;
+
+/**
+ * SQL statements executed on the current thread while a measurement is open.
+ *
+ * {@link QueryBudgetFilter} opens one per HTTP request; tests can use
+ * {@link #measure(Runnable)} to assert the query budget of a single call.
+ * Measurements nest: closing an inner one adds its counts to the outer one.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats parent;
+    private int statements;
+    private long elapsedMillis;
+    private int slowStatements;
+
+    private QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static QueryStats measure(Runnable action) {
+        QueryStats stats = start();
+        try {
+            action.run();
+        } finally {
+            stats.stop();
+        }
+        return stats;
+    }
+
+    public QueryStats stop() {
+        if (CURRENT.get() == this) {
+            if (parent != null) {
+                parent.statements += statements;
+                parent.elapsedMillis += elapsedMillis;
+                parent.slowStatements += slowStatements;
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+        return this;
+    }
+
+    void record(long elapsedMillis, boolean slow) {
+        this.statements++;
+        this.elapsedMillis += elapsedMillis;
+        if (slow) {
+            this.slowStatements++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public int getSlowStatements() {
+        return slowStatements;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements in " + elapsedMillis + " ms (" + slowStatements + " slow)";
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.news.partition;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One monthly partition of the articles table. The partition named
+ * {@code p202405} holds articles published before June 2024 that no earlier
+ * partition holds; {@code pmax} catches everything after the last month.
+ */
+public record ArticlePartition(String name, YearMonth month) {
+
+    static final String CATCH_ALL = "pmax";
+
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("''yyyy-MM-dd HH:mm:ss''");
+
+    public static ArticlePartition of(YearMonth month) {
+        return new ArticlePartition(NAME.format(month), month);
+    }
+
+    static ArticlePartition catchAll() {
+        return new ArticlePartition(CATCH_ALL, null);
+    }
+
+    /**
+     * Parses a name and {@code PARTITION_DESCRIPTION} from information_schema.
+     */
+    static ArticlePartition parse(String name, String description) {
+        if ("MAXVALUE".equalsIgnoreCase(description)) {
+            return new ArticlePartition(name, null);
+        }
+        LocalDateTime bound = LocalDateTime.parse(description, BOUND);
+        return new ArticlePartition(name, YearMonth.from(bound).minusMonths(1));
+    }
+
+    public boolean isCatchAll() {
+        return month == null;
+    }
+
+    /**
+     * Exclusive upper bound of {@code published_at}; {@code null} for the catch-all.
+     */
+    public LocalDateTime upperBound() {
+        return month == null ? null : month.plusMonths(1).atDay(1).atStartOfDay();
+    }
+
+    String definition() {
+        return "PARTITION " + name + " VALUES LESS THAN "
+                + (month == null ? "(MAXVALUE)" : "(" + BOUND.format(upperBound()) + ")");
+    }
+}
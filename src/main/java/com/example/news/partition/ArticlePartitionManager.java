@@ -0,0 +1,259 @@
+package com.example.news.partition;
+
+import com.example.news.config.MaintenanceLock;
+import com.example.news.event.ArticlesBulkLoadedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the MySQL {@code articles} table range-partitioned by month of
+ * {@code published_at}. Range queries on {@code published_at} then only read
+ * the partitions they cover, and old months are removed with
+ * {@code DROP PARTITION} instead of row-by-row deletes.
+ *
+ * On startup an unpartitioned table is converted once. MySQL requires the
+ * partitioning column in every unique key, so the primary key becomes
+ * {@code (id, published_at)}; ids stay unique through auto-increment. A
+ * daily job, also run after bulk loads, keeps
+ * {@code news.partitions.months-ahead} future months split out of the
+ * {@code pmax} catch-all and gives back-dated articles their own months.
+ * Conversion and maintenance run under the articles {@link MaintenanceLock},
+ * so only one node changes the table at a time. On other databases, such as
+ * H2 in tests, the manager does nothing.
+ */
+@Component
+@EnableConfigurationProperties(PartitionProperties.class)
+public class ArticlePartitionManager implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticlePartitionManager.class);
+
+    static final String TABLE = "articles";
+
+    private static final Duration CONVERSION_LOCK_TIMEOUT = Duration.ofMinutes(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MaintenanceLock maintenanceLock;
+    private final PartitionProperties properties;
+
+    private volatile boolean partitioned;
+
+    @Autowired
+    public ArticlePartitionManager(JdbcTemplate jdbcTemplate, MaintenanceLock maintenanceLock,
+                                   PartitionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maintenanceLock = maintenanceLock;
+        this.properties = properties;
+    }
+
+    /**
+     * Nodes starting together wait for the one converting the table; if it
+     * takes longer than {@link #CONVERSION_LOCK_TIMEOUT}, they start with the
+     * table as it is.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled() || !isMySql()) {
+            return;
+        }
+        try {
+            maintenanceLock.runExclusively(MaintenanceLock.ARTICLES, CONVERSION_LOCK_TIMEOUT, () -> {
+                if (partitions().isEmpty()) {
+                    partitionTable();
+                }
+                splitOldestPartition();
+                addFuturePartitions(YearMonth.now());
+            });
+            partitioned = !partitions().isEmpty();
+        } catch (Exception e) {
+            logger.error("Error partitioning the {} table", TABLE, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Skipped when another node is maintaining or archiving the table.
+     */
+    @Scheduled(cron = "${news.partitions.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        if (!partitioned) {
+            return;
+        }
+        try {
+            maintenanceLock.runExclusively(MaintenanceLock.ARTICLES, Duration.ZERO, () -> {
+                splitOldestPartition();
+                addFuturePartitions(YearMonth.now());
+            });
+        } catch (Exception e) {
+            logger.error("Error maintaining the partitions of the {} table", TABLE, e);
+        }
+    }
+
+    /**
+     * Bulk loads usually bring older articles than the table held when it was partitioned.
+     */
+    @EventListener(ArticlesBulkLoadedEvent.class)
+    public void onArticlesBulkLoaded() {
+        maintain();
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    /**
+     * Partitions in ascending order, the catch-all last; empty when the table is not partitioned.
+     */
+    public List<ArticlePartition> partitions() {
+        return jdbcTemplate.query("SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL"
+                        + " ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> ArticlePartition.parse(rs.getString(1), rs.getString(2)), TABLE);
+    }
+
+    /**
+     * Monthly partitions whose every row was published before the cutoff, oldest first.
+     */
+    public List<ArticlePartition> partitionsBefore(LocalDateTime cutoff) {
+        return partitions().stream()
+                .filter(partition -> !partition.isCatchAll() && !partition.upperBound().isAfter(cutoff))
+                .toList();
+    }
+
+    /**
+     * Swaps the rows of the partition with those of {@code table}, an
+     * unpartitioned table of the same layout; {@code MySQL} does this
+     * atomically, as a metadata change.
+     */
+    public void exchange(ArticlePartition partition, String table) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " EXCHANGE PARTITION " + partition.name() + " WITH TABLE " + table);
+    }
+
+    /**
+     * Creates an empty, unpartitioned table with the layout of the articles
+     * table, for {@link #exchange}.
+     */
+    public void createExchangeTable(String table) {
+        jdbcTemplate.execute("CREATE TABLE " + table + " LIKE " + TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + table + " REMOVE PARTITIONING");
+    }
+
+    /**
+     * Drops the partition if it holds no rows. The table is write-locked
+     * from the check to the drop, so no row can land in the partition in
+     * between. Returns whether it was dropped.
+     */
+    public boolean dropIfEmpty(ArticlePartition partition) {
+        boolean dropped = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LOCK TABLES " + TABLE + " WRITE");
+                try {
+                    try (ResultSet rows = statement.executeQuery(
+                            "SELECT EXISTS (SELECT 1 FROM " + TABLE + " PARTITION (" + partition.name() + "))")) {
+                        if (rows.next() && rows.getBoolean(1)) {
+                            return false;
+                        }
+                    }
+                    statement.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition.name());
+                    return true;
+                } finally {
+                    statement.execute("UNLOCK TABLES");
+                }
+            }
+        }));
+        if (dropped) {
+            logger.info("Dropped partition {} of the {} table", partition.name(), TABLE);
+        }
+        return dropped;
+    }
+
+    private void partitionTable() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(published_at) FROM " + TABLE, Timestamp.class);
+        YearMonth first = oldest == null ? YearMonth.now() : YearMonth.from(oldest.toLocalDateTime());
+        List<ArticlePartition> plan = plan(first, YearMonth.now().plusMonths(properties.getMonthsAhead()));
+        long start = System.currentTimeMillis();
+        logger.info("Partitioning the {} table into {} monthly partitions, this rebuilds the table", TABLE, plan.size());
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, published_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE COLUMNS (published_at) ("
+                + definitions(plan) + ")");
+        logger.info("Partitioned the {} table in {} ms", TABLE, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * The oldest partition also holds everything published before its month;
+     * gives those articles monthly partitions of their own.
+     */
+    private void splitOldestPartition() {
+        List<ArticlePartition> existing = partitions();
+        if (existing.isEmpty() || existing.get(0).isCatchAll()) {
+            return;
+        }
+        ArticlePartition oldest = existing.get(0);
+        Timestamp min = jdbcTemplate.queryForObject("SELECT MIN(published_at) FROM " + TABLE, Timestamp.class);
+        if (min == null || !YearMonth.from(min.toLocalDateTime()).isBefore(oldest.month())) {
+            return;
+        }
+        List<ArticlePartition> plan = new ArrayList<>(plan(YearMonth.from(min.toLocalDateTime()), oldest.month()));
+        plan.remove(plan.size() - 1);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + oldest.name()
+                + " INTO (" + definitions(plan) + ")");
+        logger.info("Split partition {} of the {} table into {} monthly partitions", oldest.name(), TABLE, plan.size());
+    }
+
+    private void addFuturePartitions(YearMonth now) {
+        List<ArticlePartition> existing = partitions();
+        YearMonth last = existing.stream()
+                .map(ArticlePartition::month)
+                .filter(Objects::nonNull)
+                .reduce((first, second) -> second)
+                .orElse(now.minusMonths(1));
+        YearMonth target = now.plusMonths(properties.getMonthsAhead());
+        if (!last.isBefore(target)) {
+            return;
+        }
+        List<ArticlePartition> plan = plan(last.plusMonths(1), target);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + ArticlePartition.CATCH_ALL
+                + " INTO (" + definitions(plan) + ")");
+        logger.info("Added partitions {} to the {} table", plan.subList(0, plan.size() - 1).stream()
+                .map(ArticlePartition::name).toList(), TABLE);
+    }
+
+    /**
+     * One partition per month from {@code first} to {@code last}, then the catch-all.
+     */
+    static List<ArticlePartition> plan(YearMonth first, YearMonth last) {
+        List<ArticlePartition> plan = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            plan.add(ArticlePartition.of(month));
+        }
+        plan.add(ArticlePartition.catchAll());
+        return plan;
+    }
+
+    static String definitions(List<ArticlePartition> plan) {
+        return plan.stream().map(ArticlePartition::definition).collect(Collectors.joining(", "));
+    }
+
+    private boolean isMySql() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+    }
+}
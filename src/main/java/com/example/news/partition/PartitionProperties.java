@@ -0,0 +1,34 @@
+package com.example.news.partition;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "news.partitions")
+public class PartitionProperties {
+
+    /**
+     * Whether to partition the articles table by month and maintain its
+     * partitions. Only has an effect on MySQL.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Months after the current one that always have their own partition.
+     */
+    private int monthsAhead = 3;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMonthsAhead() {
+        return monthsAhead;
+    }
+
+    public void setMonthsAhead(int monthsAhead) {
+        this.monthsAhead = monthsAhead;
+    }
+}
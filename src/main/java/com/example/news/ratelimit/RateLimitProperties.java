@@ -0,0 +1,122 @@
+package com.example.news.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "news.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether requests are rate limited.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Clients tracked at once across all groups. Clients seen once the map is
+     * full share one bucket per group.
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * How often buckets that have refilled completely are dropped.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * Route groups by name, checked in order; a request counts against the
+     * first group it matches.
+     */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    public static class Group {
+
+        /**
+         * HTTP methods the group applies to, all when empty.
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * Path patterns, such as {@code /articles/create} or {@code /users/**}.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * Requests a client can make in a burst.
+         */
+        private int capacity = 60;
+
+        /**
+         * Time it takes an empty bucket to refill to capacity.
+         */
+        private Duration period = Duration.ofMinutes(1);
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Duration period) {
+            this.period = period;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public Duration getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public void setSweepInterval(Duration sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+
+    public Map<String, Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(Map<String, Group> groups) {
+        this.groups = groups;
+    }
+}
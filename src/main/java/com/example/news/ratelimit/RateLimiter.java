@@ -0,0 +1,181 @@
+package com.example.news.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Token buckets per route group and client, see {@link RateLimitProperties}.
+ * Buckets live in a map of at most {@code news.rate-limit.max-keys} entries;
+ * buckets that have refilled completely are dropped every
+ * {@code news.rate-limit.sweep-interval}, or as soon as the map is full.
+ * While it stays full, new clients share an overflow bucket per group.
+ *
+ * <ul>
+ *     <li>{@code news.rate_limit.rejected} - counter of rejected requests, tagged with group</li>
+ *     <li>{@code news.rate_limit.keys} - gauge of buckets held</li>
+ * </ul>
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+
+    private record Key(String group, String client) {
+    }
+
+    private static final class RouteGroup {
+
+        private final String name;
+        private final Set<String> methods;
+        private final List<PathPattern> paths;
+        private final Set<String> literalPaths;
+        private final List<PathPattern> patterns;
+        private final long intervalNanos;
+        private final long periodNanos;
+        private final TokenBucket overflow;
+        private final Counter rejected;
+
+        private RouteGroup(String name, RateLimitProperties.Group group, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.methods = group.getMethods().stream().map(String::toUpperCase).collect(Collectors.toSet());
+            this.paths = group.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            this.literalPaths = paths.stream().filter(pattern -> !pattern.hasPatternSyntax())
+                    .map(PathPattern::getPatternString).collect(Collectors.toSet());
+            this.patterns = paths.stream().filter(PathPattern::hasPatternSyntax).toList();
+            this.periodNanos = group.getPeriod().toNanos();
+            this.intervalNanos = Math.max(periodNanos / Math.max(group.getCapacity(), 1), 1);
+            this.overflow = new TokenBucket(System.nanoTime());
+            this.rejected = Counter.builder("news.rate_limit.rejected")
+                    .description("Requests rejected because the client's bucket was empty")
+                    .tag("group", name)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Compares the raw path with the literal paths first, which avoids
+         * parsing it. A percent-encoded path is decoded and matched against
+         * every pattern, so encoding cannot get a request around its group.
+         */
+        private boolean matches(String method, String path, boolean encoded, PathContainer[] parsed) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            if (!encoded && literalPaths.contains(path)) {
+                return true;
+            }
+            List<PathPattern> candidates = encoded ? paths : patterns;
+            if (candidates.isEmpty()) {
+                return false;
+            }
+            if (parsed[0] == null) {
+                parsed[0] = PathContainer.parsePath(path);
+            }
+            for (PathPattern pattern : candidates) {
+                if (pattern.matches(parsed[0])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final RateLimitProperties properties;
+    private final List<RouteGroup> groups = new ArrayList<>();
+    private final Map<Key, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        properties.getGroups().forEach((name, group) -> groups.add(new RouteGroup(name, group, meterRegistry)));
+        Gauge.builder("news.rate_limit.keys", buckets, Map::size)
+                .description("Rate limit buckets held")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token for a request from {@code client}, identified by user
+     * name or address.
+     *
+     * @return 0 when the request may proceed, otherwise the nanoseconds until it would be allowed
+     */
+    public long tryAcquire(String method, String path, String client) {
+        if (!properties.isEnabled() || groups.isEmpty()) {
+            return 0;
+        }
+        RouteGroup group = group(method, path);
+        if (group == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long wait = bucket(group, client, now).tryTake(now, group.intervalNanos, group.periodNanos);
+        if (wait > 0) {
+            group.rejected.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Drops buckets that have refilled completely. A request racing with the
+     * sweep may take its token from a dropped bucket, which lets that client
+     * through once more than its limit at most.
+     */
+    @Scheduled(initialDelayString = "${news.rate-limit.sweep-interval:PT1M}",
+            fixedDelayString = "${news.rate-limit.sweep-interval:PT1M}")
+    public void sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private RouteGroup group(String method, String path) {
+        boolean encoded = path.indexOf('%') >= 0;
+        PathContainer[] parsed = new PathContainer[1];
+        for (RouteGroup group : groups) {
+            if (group.matches(method, path, encoded, parsed)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private TokenBucket bucket(RouteGroup group, String client, long now) {
+        Key key = new Key(group.name, client);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= properties.getMaxKeys()) {
+            sweep();
+            if (buckets.size() >= properties.getMaxKeys()) {
+                return group.overflow;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.news.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as a single number, the time at which it will be full
+ * again (the generic cell rate algorithm). Taking a token is one
+ * compare-and-set, so buckets need no lock.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long nowNanos) {
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token if there is one.
+     *
+     * @param intervalNanos time to refill one token
+     * @param periodNanos   time to refill the whole bucket
+     * @return 0 when a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryTake(long nowNanos, long intervalNanos, long periodNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + intervalNanos;
+            long wait = next - periodNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A full bucket behaves exactly like a new one, so it can be dropped.
+     */
+    boolean isFull(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.news.related;
+
+import java.time.LocalDateTime;
+
+/**
+ * An article related to another one, with the cosine similarity of their
+ * term vectors.
+ */
+public record RelatedArticle(Long id, String title, LocalDateTime publishedAt, double score) {
+}
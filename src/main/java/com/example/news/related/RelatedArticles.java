@@ -0,0 +1,201 @@
+package com.example.news.related;
+
+import com.example.news.changelog.ChangeKind;
+import com.example.news.entity.Article;
+import com.example.news.event.ArticleChangedEvent;
+import com.example.news.event.ArticlesBulkLoadedEvent;
+import com.example.news.event.RemoteChangeEvent;
+import com.example.news.repository.ArticleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Related articles for the article page, read from a precomputed
+ * {@link SimilarityIndex} so a lookup is a map read.
+ *
+ * All index work runs on one background thread: the build once the
+ * application is ready, a rebuild every {@code news.related.rebuild-interval}
+ * and after a bulk load, and an incremental update for every committed
+ * article change, local or from another node. Requests see the last
+ * completed update and never wait for one.
+ */
+@Component
+@EnableConfigurationProperties(RelatedProperties.class)
+public class RelatedArticles implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatedArticles.class);
+
+    private final ArticleRepository articleRepository;
+    private final RelatedProperties properties;
+    private final Timer rebuilds;
+
+    private volatile SimilarityIndex index;
+    private volatile ScheduledExecutorService executor;
+
+    @Autowired
+    public RelatedArticles(ArticleRepository articleRepository, RelatedProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.articleRepository = articleRepository;
+        this.properties = properties;
+        this.index = new SimilarityIndex(properties);
+        this.rebuilds = Timer.builder("news.related.rebuild").register(meterRegistry);
+        Gauge.builder("news.related.articles", this, related -> related.index.size())
+                .description("Articles in the related-articles index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The articles most similar to {@code id}, best first; empty until the
+     * index is built or when the article is not indexed.
+     */
+    public List<RelatedArticle> related(Long id, int limit) {
+        return index.related(id, limit);
+    }
+
+    public List<RelatedArticle> related(Long id) {
+        return related(id, properties.getSize());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.isEnabled() || executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "related-articles");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getRebuildInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::rebuild, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        submit(this::rebuild);
+    }
+
+    @EventListener(ArticlesBulkLoadedEvent.class)
+    public void onArticlesBulkLoaded() {
+        submit(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.isDeleted()) {
+            submit(() -> index.remove(event.id()));
+        } else {
+            SimilarityIndex.Text text = text(event.article());
+            submit(() -> index.add(text));
+        }
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.kind() != ChangeKind.ARTICLE) {
+            return;
+        }
+        if (event.all()) {
+            submit(this::rebuild);
+            return;
+        }
+        submit(() -> {
+            Set<Long> missing = new HashSet<>(event.ids());
+            for (Article article : articleRepository.findAllById(event.ids())) {
+                missing.remove(article.getId());
+                index.add(text(article));
+            }
+            missing.forEach(index::remove);
+        });
+    }
+
+    /**
+     * Builds a new index from the newest articles and swaps it in, so lookups
+     * keep using the previous one meanwhile.
+     */
+    void rebuild() {
+        long start = System.nanoTime();
+        try {
+            int pageSize = Math.max(Math.min(properties.getLoadBatchSize(), properties.getCapacity()), 1);
+            Sort newestFirst = Sort.by(Sort.Order.desc("publishedAt"), Sort.Order.desc("id"));
+            SimilarityIndex fresh = new SimilarityIndex(properties);
+            Page<Article> page = articleRepository.findAll(PageRequest.of(0, pageSize, newestFirst));
+            List<SimilarityIndex.TermCounts> counted = new ArrayList<>();
+            while (page.hasContent() && counted.size() < properties.getCapacity()) {
+                for (Article article : page.getContent()) {
+                    counted.add(fresh.count(text(article)));
+                }
+                if (!page.hasNext()) {
+                    break;
+                }
+                page = articleRepository.findAll(page.nextPageable());
+            }
+            fresh.load(counted);
+            index = fresh;
+            logger.info("Built the related-articles index of {} articles in {} ms", fresh.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            logger.error("Error building the related-articles index, keeping the previous one", e);
+        } finally {
+            rebuilds.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void submit(Runnable task) {
+        ScheduledExecutorService current = executor;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    logger.error("Error updating the related-articles index", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Related-articles index is stopped, dropping an update");
+        }
+    }
+
+    private static SimilarityIndex.Text text(Article article) {
+        return new SimilarityIndex.Text(article.getId(), article.getTitle(), article.getContent(),
+                article.getPublishedAt());
+    }
+}
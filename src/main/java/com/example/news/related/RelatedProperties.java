@@ -0,0 +1,139 @@
+package com.example.news.related;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "news.related")
+public class RelatedProperties {
+
+    /**
+     * Whether related articles are computed.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Newest articles that are indexed and can be recommended.
+     */
+    private int capacity = 20_000;
+
+    /**
+     * Related articles kept per article.
+     */
+    private int size = 5;
+
+    /**
+     * Lowest cosine similarity for an article to count as related.
+     */
+    private double minScore = 0.1;
+
+    /**
+     * Highest-weighted terms kept per article vector.
+     */
+    private int maxTerms = 64;
+
+    /**
+     * Locality-sensitive hash bands; more bands find more candidates.
+     */
+    private int bands = 24;
+
+    /**
+     * Signature bits per band; more rows make each bucket more selective.
+     */
+    private int rows = 10;
+
+    /**
+     * Most candidates scored per article, newest first.
+     */
+    private int maxCandidates = 200;
+
+    /**
+     * How often the index is rebuilt, which refreshes the term weights.
+     */
+    private Duration rebuildInterval = Duration.ofHours(6);
+
+    /**
+     * Articles read per query while building the index.
+     */
+    private int loadBatchSize = 1_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public double getMinScore() {
+        return minScore;
+    }
+
+    public void setMinScore(double minScore) {
+        this.minScore = minScore;
+    }
+
+    public int getMaxTerms() {
+        return maxTerms;
+    }
+
+    public void setMaxTerms(int maxTerms) {
+        this.maxTerms = maxTerms;
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public void setBands(int bands) {
+        this.bands = bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    public void setMaxCandidates(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    public Duration getRebuildInterval() {
+        return rebuildInterval;
+    }
+
+    public void setRebuildInterval(Duration rebuildInterval) {
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    public int getLoadBatchSize() {
+        return loadBatchSize;
+    }
+
+    public void setLoadBatchSize(int loadBatchSize) {
+        this.loadBatchSize = loadBatchSize;
+    }
+}
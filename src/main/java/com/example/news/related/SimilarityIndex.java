@@ -0,0 +1,397 @@
+package com.example.news.related;
+
+import com.example.news.util.Tokenizer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.NavigableSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Articles as TF-IDF vectors over their title and content, bucketed by
+ * locality-sensitive hashing, with the most similar articles of each one
+ * precomputed.
+ *
+ * A vector keeps the {@code maxTerms} highest-weighted terms, normalized to
+ * unit length, so the dot product of two vectors is their cosine similarity.
+ * Its signature has one bit per random hyperplane (random-hyperplane LSH):
+ * two vectors at angle θ agree on a bit with probability 1 - θ/π. The
+ * signature is cut into {@code bands} bands of {@code rows} bits, and
+ * articles sharing any band are candidates, which are then ranked by their
+ * exact similarity. At most {@code maxCandidates} are scored, newest ids
+ * first, which bounds the work when many articles look alike.
+ *
+ * Document frequencies count every article added since the index was built
+ * and are not lowered on removal; rebuilding the index resets them.
+ *
+ * One thread adds and removes articles; {@link #related} may be called from
+ * any thread and never blocks.
+ */
+final class SimilarityIndex {
+
+    /**
+     * Title terms count as this many occurrences in the content.
+     */
+    private static final float TITLE_WEIGHT = 2f;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * An article to index.
+     */
+    record Text(long id, String title, String content, LocalDateTime publishedAt) {
+    }
+
+    /**
+     * Term counts of a text, kept compact between counting and indexing.
+     */
+    record TermCounts(Text text, int[] terms, float[] counts) {
+    }
+
+    record Neighbour(long id, float score) {
+    }
+
+    private record Document(long id, String title, LocalDateTime publishedAt, int[] terms, float[] weights,
+                            long[] signature) {
+    }
+
+    private static final Comparator<Document> OLDEST_FIRST = Comparator.comparing(Document::publishedAt)
+            .thenComparingLong(Document::id);
+
+    private static final Comparator<Neighbour> BEST_FIRST = Comparator.comparingDouble(Neighbour::score).reversed()
+            .thenComparingLong(Neighbour::id);
+
+    private final int capacity;
+    private final int size;
+    private final float minScore;
+    private final int maxTerms;
+    private final int bands;
+    private final int rows;
+    private final int maxCandidates;
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private long[] termSeeds = new long[1024];
+    private int[] documentFrequency = new int[1024];
+    private long documentsSeen;
+
+    private final List<Map<Integer, NavigableSet<Long>>> buckets = new ArrayList<>();
+    private final TreeSet<Document> byAge = new TreeSet<>(OLDEST_FIRST);
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Map<Long, List<Neighbour>> related = new ConcurrentHashMap<>();
+
+    SimilarityIndex(RelatedProperties properties) {
+        this.capacity = properties.getCapacity();
+        this.size = properties.getSize();
+        this.minScore = (float) properties.getMinScore();
+        this.maxTerms = properties.getMaxTerms();
+        this.bands = properties.getBands();
+        this.rows = Math.min(Math.max(properties.getRows(), 1), 30);
+        this.maxCandidates = properties.getMaxCandidates();
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * The related articles of {@code id}, most similar first.
+     */
+    List<RelatedArticle> related(long id, int limit) {
+        List<Neighbour> neighbours = related.getOrDefault(id, List.of());
+        List<RelatedArticle> articles = new ArrayList<>(Math.min(limit, neighbours.size()));
+        for (Neighbour neighbour : neighbours) {
+            Document document = documents.get(neighbour.id());
+            if (document == null) {
+                continue;
+            }
+            articles.add(new RelatedArticle(document.id(), document.title(), document.publishedAt(),
+                    neighbour.score()));
+            if (articles.size() == limit) {
+                break;
+            }
+        }
+        return articles;
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    /**
+     * Adds or replaces an article and updates the related articles of the
+     * articles similar to it. The oldest article is dropped past capacity.
+     */
+    void add(Text text) {
+        remove(text.id());
+        Document document = insert(count(text));
+        List<Neighbour> scored = score(document);
+        related.put(document.id(), top(scored));
+        for (Neighbour neighbour : scored) {
+            offer(neighbour.id(), new Neighbour(document.id(), neighbour.score()));
+        }
+        while (documents.size() > capacity) {
+            remove(byAge.first().id());
+        }
+    }
+
+    /**
+     * Removes an article and recomputes the related articles that listed it.
+     */
+    void remove(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        byAge.remove(document);
+        for (int band = 0; band < bands; band++) {
+            NavigableSet<Long> bucket = buckets.get(band).get(bandKey(document.signature(), band));
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    buckets.get(band).remove(bandKey(document.signature(), band));
+                }
+            }
+        }
+        related.remove(id);
+        for (Map.Entry<Long, List<Neighbour>> entry : related.entrySet()) {
+            if (entry.getValue().stream().anyMatch(neighbour -> neighbour.id() == id)) {
+                Document owner = documents.get(entry.getKey());
+                if (owner != null) {
+                    entry.setValue(top(score(owner)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds an empty index from texts already passed through
+     * {@link #count}, so every vector is weighted with the document
+     * frequencies of all of them.
+     */
+    void load(List<TermCounts> counted) {
+        List<TermCounts> newest = new ArrayList<>(counted);
+        newest.sort(Comparator.comparing((TermCounts counts) -> counts.text().publishedAt()).reversed());
+        for (TermCounts counts : newest.subList(0, Math.min(newest.size(), capacity))) {
+            insert(counts);
+        }
+        for (Document document : documents.values()) {
+            related.put(document.id(), top(score(document)));
+        }
+    }
+
+    /**
+     * Counts the terms of {@code text} and adds them to the document frequencies.
+     */
+    TermCounts count(Text text) {
+        Map<Integer, Float> counts = new HashMap<>();
+        for (String term : Tokenizer.terms(text.title())) {
+            counts.merge(termId(term), TITLE_WEIGHT, Float::sum);
+        }
+        for (String term : Tokenizer.terms(text.content())) {
+            counts.merge(termId(term), 1f, Float::sum);
+        }
+        int[] terms = new int[counts.size()];
+        float[] values = new float[counts.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Float> entry : counts.entrySet()) {
+            terms[i] = entry.getKey();
+            values[i] = entry.getValue();
+            documentFrequency[entry.getKey()]++;
+            i++;
+        }
+        documentsSeen++;
+        return new TermCounts(text, terms, values);
+    }
+
+    private Document insert(TermCounts counts) {
+        Integer[] order = new Integer[counts.terms().length];
+        float[] weights = new float[order.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            double idf = Math.log((1.0 + documentsSeen) / (1.0 + documentFrequency[counts.terms()[i]])) + 1;
+            weights[i] = (float) ((1 + Math.log(counts.counts()[i])) * idf);
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(weights[b], weights[a]));
+        int kept = Math.min(order.length, maxTerms);
+        Integer[] top = Arrays.copyOf(order, kept);
+        Arrays.sort(top, Comparator.comparingInt(i -> counts.terms()[i]));
+        int[] terms = new int[kept];
+        float[] vector = new float[kept];
+        double norm = 0;
+        for (int i = 0; i < kept; i++) {
+            terms[i] = counts.terms()[top[i]];
+            vector[i] = weights[top[i]];
+            norm += vector[i] * vector[i];
+        }
+        norm = Math.sqrt(norm);
+        for (int i = 0; i < kept && norm > 0; i++) {
+            vector[i] /= (float) norm;
+        }
+
+        Text text = counts.text();
+        Document document = new Document(text.id(), text.title(), text.publishedAt(), terms, vector,
+                signature(terms, vector));
+        documents.put(document.id(), document);
+        byAge.add(document);
+        for (int band = 0; band < bands; band++) {
+            buckets.get(band).computeIfAbsent(bandKey(document.signature(), band), key -> new TreeSet<>())
+                    .add(document.id());
+        }
+        return document;
+    }
+
+    /**
+     * The articles sharing a band with {@code document} whose similarity
+     * reaches the minimum score, up to {@code maxCandidates} of them looked at.
+     */
+    private List<Neighbour> score(Document document) {
+        Set<Long> seen = new HashSet<>();
+        List<Neighbour> scored = new ArrayList<>();
+        for (int band = 0; band < bands && seen.size() < maxCandidates; band++) {
+            NavigableSet<Long> bucket = buckets.get(band).get(bandKey(document.signature(), band));
+            if (bucket == null) {
+                continue;
+            }
+            for (Long candidate : bucket.descendingSet()) {
+                if (seen.size() == maxCandidates) {
+                    break;
+                }
+                if (candidate == document.id() || !seen.add(candidate)) {
+                    continue;
+                }
+                float score = dot(document, documents.get(candidate));
+                if (score >= minScore) {
+                    scored.add(new Neighbour(candidate, score));
+                }
+            }
+        }
+        return scored;
+    }
+
+    private List<Neighbour> top(List<Neighbour> scored) {
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(size + 1, BEST_FIRST.reversed());
+        for (Neighbour neighbour : scored) {
+            best.add(neighbour);
+            if (best.size() > size) {
+                best.poll();
+            }
+        }
+        List<Neighbour> top = new ArrayList<>(best);
+        top.sort(BEST_FIRST);
+        return List.copyOf(top);
+    }
+
+    /**
+     * Puts {@code neighbour} into the related articles of {@code owner} if it
+     * is among the most similar.
+     */
+    private void offer(long owner, Neighbour neighbour) {
+        List<Neighbour> current = related.getOrDefault(owner, List.of());
+        if (current.size() >= size && BEST_FIRST.compare(neighbour, current.get(current.size() - 1)) >= 0) {
+            return;
+        }
+        List<Neighbour> updated = new ArrayList<>(current.size() + 1);
+        for (Neighbour existing : current) {
+            if (existing.id() != neighbour.id()) {
+                updated.add(existing);
+            }
+        }
+        updated.add(neighbour);
+        related.put(owner, top(updated));
+    }
+
+    private static float dot(Document a, Document b) {
+        float sum = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.terms().length && j < b.terms().length) {
+            int difference = Integer.compare(a.terms()[i], b.terms()[j]);
+            if (difference == 0) {
+                sum += a.weights()[i++] * b.weights()[j++];
+            } else if (difference < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * One bit per hyperplane: the sign of the vector's projection onto it.
+     * Hyperplane components are ±1, derived from a hash of the term, so the
+     * same term always projects the same way.
+     */
+    private long[] signature(int[] terms, float[] weights) {
+        int bits = bands * rows;
+        double[] projections = new double[bits];
+        for (int i = 0; i < terms.length; i++) {
+            long seed = termSeeds[terms[i]];
+            for (int block = 0; block * 64 < bits; block++) {
+                long random = mix(seed + block * GOLDEN_GAMMA);
+                for (int bit = block * 64; bit < Math.min(bits, block * 64 + 64); bit++) {
+                    projections[bit] += (random & 1L << (bit & 63)) == 0 ? weights[i] : -weights[i];
+                }
+            }
+        }
+        long[] signature = new long[(bits + 63) / 64];
+        for (int bit = 0; bit < bits; bit++) {
+            if (projections[bit] > 0) {
+                signature[bit >> 6] |= 1L << (bit & 63);
+            }
+        }
+        return signature;
+    }
+
+    private int bandKey(long[] signature, int band) {
+        int key = 0;
+        for (int bit = band * rows; bit < (band + 1) * rows; bit++) {
+            key = key << 1 | (int) (signature[bit >> 6] >>> (bit & 63) & 1);
+        }
+        return key;
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id != null) {
+            return id;
+        }
+        int next = termIds.size();
+        if (next == termSeeds.length) {
+            termSeeds = Arrays.copyOf(termSeeds, next * 2);
+            documentFrequency = Arrays.copyOf(documentFrequency, next * 2);
+        }
+        termSeeds[next] = hash(term);
+        termIds.put(term, next);
+        return next;
+    }
+
+    /**
+     * 64-bit FNV-1a.
+     */
+    private static long hash(String term) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < term.length(); i++) {
+            hash ^= term.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * The SplitMix64 finalizer.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.news.repository;
+
+import com.example.news.entity.ArchivedArticle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedArticleRepository extends JpaRepository<ArchivedArticle, Long>,
+        JpaSpecificationExecutor<ArchivedArticle> {
+
+    /**
+     * Cheaper than {@code count() > 0} on a large InnoDB table.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM articles_archive)", nativeQuery = true)
+    boolean hasArchivedArticles();
+}
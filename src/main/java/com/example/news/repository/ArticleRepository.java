@@ -1,10 +1,27 @@
 package com.example.news.repository;
 
 import com.example.news.entity.Article;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface ArticleRepository extends JpaRepository<Article, Long> {
+public interface ArticleRepository extends JpaRepository<Article, Long>, JpaSpecificationExecutor<Article> {
+
+    List<Article> findByOrderByPublishedAtDesc(Limit limit);
+
+    Page<Article> findByPublishedAtGreaterThanEqualAndPublishedAtLessThan(LocalDateTime from, LocalDateTime to,
+                                                                          Pageable pageable);
 
+    @Query("select a.title from Article a where a.source = :source and a.title in :titles")
+    List<String> findTitlesBySourceAndTitleIn(@Param("source") String source, @Param("titles") Collection<String> titles);
 }
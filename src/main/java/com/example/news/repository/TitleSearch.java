@@ -0,0 +1,23 @@
+package com.example.news.repository;
+
+import com.example.news.util.Tokenizer;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.LinkedHashSet;
+
+/**
+ * Database counterpart of the article index search: the title must contain
+ * every term of the query. Works for both the hot and the archive table.
+ */
+public final class TitleSearch {
+
+    private TitleSearch() {
+    }
+
+    public static <T> Specification<T> containsAllTerms(String query) {
+        return (root, criteriaQuery, builder) -> builder.and(new LinkedHashSet<>(Tokenizer.terms(query)).stream()
+                .map(term -> builder.like(builder.lower(root.get("title")), "%" + term + "%"))
+                .toArray(Predicate[]::new));
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.news.seed;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic data. Every row is derived from the corpus seed and
+ * its own index, so a corpus is identical however many threads generate it.
+ *
+ * Article bodies follow a log-normal length distribution (median about 3 KB,
+ * long tail up to 40 KB), words follow a Zipf-like frequency, and sources
+ * are picked with a skew so a few sources publish most of the articles.
+ */
+public class CorpusGenerator {
+
+    private static final String[] WORDS = (
+            "the of and to in a is that for on with as was by at from his her its said has have "
+            + "government market election minister police report company city people year week "
+            + "president court council health energy climate school season team league match "
+            + "price inflation bank growth trade policy vote party law research study science "
+            + "technology data security storm flood fire weather coast river border region "
+            + "officials economy industry workers union strike budget tax housing transport "
+            + "rail airport hospital doctors patients vaccine virus museum film music festival "
+            + "award record coach player goal final championship cup victory defeat injury "
+            + "investigation evidence trial judge jury appeal ruling agreement talks summit "
+            + "crisis recovery investment startup software launch profit shares investors "
+            + "quarter forecast analysts survey poll campaign candidate protest community")
+            .split(" ");
+
+    private static final int[] WORD_TABLE = zipfTable(WORDS.length, 4096);
+
+    private static final int MEDIAN_CONTENT_LENGTH = 3000;
+    private static final int MAX_CONTENT_LENGTH = 40_000;
+
+    private final long seed;
+    private final int sources;
+    private final int days;
+    private final LocalDateTime now;
+
+    public CorpusGenerator(long seed, int sources, int days, LocalDateTime now) {
+        this.seed = seed;
+        this.sources = Math.max(sources, 1);
+        this.days = Math.max(days, 1);
+        this.now = now;
+    }
+
+    public String sourceName(int index) {
+        return "Source " + index;
+    }
+
+    public String sourceUrl(int index) {
+        return "https://source-" + index + ".example.com/feed.xml";
+    }
+
+    public String username(int index) {
+        return "user" + index;
+    }
+
+    public String email(int index) {
+        return "user" + index + "@example.com";
+    }
+
+    /**
+     * Fills {@code row} with title, content, source and published_at.
+     */
+    public void article(long index, Object[] row) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + index);
+        StringBuilder title = new StringBuilder(128);
+        sentence(random, 6 + random.nextInt(10), title);
+        row[0] = title.length() > 250 ? title.substring(0, 250) : title.toString();
+        row[1] = content(random);
+        row[2] = sourceName(skewedSource(random));
+        row[3] = now.minusSeconds(random.nextLong((long) days * 24 * 3600));
+    }
+
+    private String content(SplittableRandom random) {
+        double logNormal = Math.exp(Math.log(MEDIAN_CONTENT_LENGTH) + 0.6 * gaussian(random));
+        int length = (int) Math.min(Math.max(logNormal, 200), MAX_CONTENT_LENGTH);
+        StringBuilder content = new StringBuilder(length + 256);
+        while (content.length() < length) {
+            sentence(random, 8 + random.nextInt(16), content);
+            content.append(random.nextInt(5) == 0 ? ".\n\n" : ". ");
+        }
+        return content.toString();
+    }
+
+    /**
+     * Appends {@code count} words, the first one capitalized, drawn through a
+     * precomputed Zipf lookup table so common words dominate like real text.
+     */
+    private static void sentence(SplittableRandom random, int count, StringBuilder out) {
+        int start = out.length();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                out.append(' ');
+            }
+            out.append(WORDS[WORD_TABLE[random.nextInt(WORD_TABLE.length)]]);
+        }
+        out.setCharAt(start, Character.toUpperCase(out.charAt(start)));
+    }
+
+    private int skewedSource(SplittableRandom random) {
+        return zipf(random, sources);
+    }
+
+    /**
+     * Approximate Zipf(1) sample in [0, n): low indexes are much more likely.
+     */
+    private static int zipf(SplittableRandom random, int n) {
+        return (int) Math.min(n - 1, Math.floor(Math.pow(n + 1, random.nextDouble()) - 1));
+    }
+
+    private static int[] zipfTable(int n, int size) {
+        double total = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            total += 1.0 / rank;
+        }
+        int[] table = new int[size];
+        double cumulative = 0;
+        int slot = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            cumulative += 1.0 / rank / total;
+            int end = rank == n ? size : (int) Math.round(cumulative * size);
+            while (slot < end) {
+                table[slot++] = rank - 1;
+            }
+        }
+        return table;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
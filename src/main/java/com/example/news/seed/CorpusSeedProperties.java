@@ -0,0 +1,98 @@
+package com.example.news.seed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "news.seed")
+public class CorpusSeedProperties {
+
+    /**
+     * Articles to generate.
+     */
+    private long articles = 1_000_000;
+
+    /**
+     * Sources to generate; articles are spread over them with a Zipf-like skew.
+     */
+    private int sources = 2_000;
+
+    /**
+     * Users to generate, all sharing the password "password".
+     */
+    private int users = 10_000;
+
+    /**
+     * Parallel writers; keep the connection pool at least this large.
+     */
+    private int threads = 4;
+
+    /**
+     * Rows per multi-row INSERT statement.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Articles are published over this many days before now.
+     */
+    private int days = 365;
+
+    /**
+     * Seed of the generator; the same seed always produces the same corpus.
+     */
+    private long randomSeed = 42;
+
+    public long getArticles() {
+        return articles;
+    }
+
+    public void setArticles(long articles) {
+        this.articles = articles;
+    }
+
+    public int getSources() {
+        return sources;
+    }
+
+    public void setSources(int sources) {
+        this.sources = sources;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+}
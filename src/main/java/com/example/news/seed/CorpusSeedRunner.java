@@ -0,0 +1,42 @@
+package com.example.news.seed;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line entry point of the {@code seed} profile: loads the corpus
+ * described by {@code news.seed.*} into the configured database and exits.
+ *
+ * <pre>
+ * mvn spring-boot:run -Dspring-boot.run.profiles=seed \
+ *     -Dspring-boot.run.arguments="--news.seed.articles=5000000 --news.seed.threads=8"
+ * </pre>
+ */
+@Component
+@Profile("seed")
+@EnableConfigurationProperties(CorpusSeedProperties.class)
+public class CorpusSeedRunner implements CommandLineRunner {
+
+    private final CorpusSeeder corpusSeeder;
+    private final CorpusSeedProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    @Autowired
+    public CorpusSeedRunner(CorpusSeeder corpusSeeder, CorpusSeedProperties properties,
+                            ConfigurableApplicationContext context) {
+        this.corpusSeeder = corpusSeeder;
+        this.properties = properties;
+        this.context = context;
+    }
+
+    @Override
+    public void run(String... args) {
+        corpusSeeder.seed(properties);
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.news.seed;
+
+import com.example.news.changelog.ChangeKind;
+import com.example.news.changelog.ChangeLog;
+import com.example.news.compression.ContentCodec;
+import com.example.news.event.ArticlesBulkLoadedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates a synthetic corpus and bulk loads it: sources and users first,
+ * then articles from several writer threads that each claim the next batch
+ * index, generate it and insert it with one multi-row statement.
+ */
+@Component
+public class CorpusSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CorpusSeeder.class);
+
+    private static final String[] ARTICLE_COLUMNS = {"title", "content_zstd", "source", "published_at"};
+    private static final String[] SOURCE_COLUMNS = {"name", "url"};
+    private static final String[] USER_COLUMNS = {"username", "password", "email"};
+
+    /**
+     * Physical name of the appUser table under Spring's default naming strategy.
+     */
+    private static final String USER_TABLE = "app_user";
+
+    private static final String USER_PASSWORD = "password";
+
+    private final BulkLoader bulkLoader;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentCodec codec;
+    private final ChangeLog changeLog;
+
+    @Autowired
+    public CorpusSeeder(BulkLoader bulkLoader, PasswordEncoder passwordEncoder,
+                        ApplicationEventPublisher eventPublisher, ContentCodec codec, ChangeLog changeLog) {
+        this.bulkLoader = bulkLoader;
+        this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.codec = codec;
+        this.changeLog = changeLog;
+    }
+
+    public SeedReport seed(CorpusSeedProperties properties) {
+        long start = System.nanoTime();
+        CorpusGenerator generator = new CorpusGenerator(properties.getRandomSeed(), properties.getSources(),
+                properties.getDays(), LocalDateTime.now().withNano(0));
+        try {
+            seedSources(generator, properties);
+            seedUsers(generator, properties);
+            seedArticles(generator, properties);
+            eventPublisher.publishEvent(new ArticlesBulkLoadedEvent(properties.getArticles()));
+            changeLog.appendAll(ChangeKind.SOURCE);
+            changeLog.appendAll(ChangeKind.USER);
+            changeLog.appendAll(ChangeKind.ARTICLE);
+        } catch (Exception e) {
+            logger.error("Seeding the corpus failed", e);
+            throw e;
+        }
+        SeedReport report = new SeedReport(properties.getSources(), properties.getUsers(), properties.getArticles(),
+                Duration.ofNanos(System.nanoTime() - start));
+        logger.info("Seeded {}", report);
+        return report;
+    }
+
+    private void seedSources(CorpusGenerator generator, CorpusSeedProperties properties) {
+        List<Object[]> rows = new ArrayList<>(properties.getBatchSize());
+        for (int i = 0; i < properties.getSources(); i++) {
+            rows.add(new Object[]{generator.sourceName(i), generator.sourceUrl(i)});
+            if (rows.size() == properties.getBatchSize()) {
+                bulkLoader.insert("sources", SOURCE_COLUMNS, rows);
+                rows.clear();
+            }
+        }
+        bulkLoader.insert("sources", SOURCE_COLUMNS, rows);
+        logger.info("Seeded {} sources", properties.getSources());
+    }
+
+    /**
+     * Hashing once and sharing the hash keeps BCrypt off the hot path; every
+     * generated user logs in with the same password.
+     */
+    private void seedUsers(CorpusGenerator generator, CorpusSeedProperties properties) {
+        String password = passwordEncoder.encode(USER_PASSWORD);
+        List<Object[]> rows = new ArrayList<>(properties.getBatchSize());
+        for (int i = 0; i < properties.getUsers(); i++) {
+            rows.add(new Object[]{generator.username(i), password, generator.email(i)});
+            if (rows.size() == properties.getBatchSize()) {
+                bulkLoader.insert(USER_TABLE, USER_COLUMNS, rows);
+                rows.clear();
+            }
+        }
+        bulkLoader.insert(USER_TABLE, USER_COLUMNS, rows);
+        logger.info("Seeded {} users", properties.getUsers());
+    }
+
+    private void seedArticles(CorpusGenerator generator, CorpusSeedProperties properties) {
+        int batchSize = properties.getBatchSize();
+        long batches = (properties.getArticles() + batchSize - 1) / batchSize;
+        long reportEvery = Math.max(batches / 10, 1);
+        AtomicLong nextBatch = new AtomicLong();
+        AtomicLong written = new AtomicLong();
+        long start = System.nanoTime();
+
+        Callable<Void> writer = () -> {
+            List<Object[]> rows = new ArrayList<>(batchSize);
+            for (long batch = nextBatch.getAndIncrement(); batch < batches; batch = nextBatch.getAndIncrement()) {
+                long first = batch * batchSize;
+                long last = Math.min(first + batchSize, properties.getArticles());
+                rows.clear();
+                for (long index = first; index < last; index++) {
+                    Object[] row = new Object[ARTICLE_COLUMNS.length];
+                    generator.article(index, row);
+                    row[1] = codec.compress((String) row[1]);
+                    rows.add(row);
+                }
+                bulkLoader.insert("articles", ARTICLE_COLUMNS, rows);
+                long total = written.addAndGet(rows.size());
+                if ((batch + 1) % reportEvery == 0) {
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    logger.info("Seeded {} of {} articles ({} rows/s)", total, properties.getArticles(),
+                            Math.round(total / seconds));
+                }
+            }
+            return null;
+        };
+
+        int threads = Math.max(properties.getThreads(), 1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> writers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                writers.add(executor.submit(writer));
+            }
+            for (Future<Void> future : writers) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding articles", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding articles failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public record SeedReport(long sources, long users, long articles, Duration elapsed) {
+
+        public long rowsPerSecond() {
+            double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+            return Math.round((sources + users + articles) / seconds);
+        }
+
+        @Override
+        public String toString() {
+            return "%d sources, %d users and %d articles in %d ms (%d rows/s)"
+                    .formatted(sources, users, articles, elapsed.toMillis(), rowsPerSecond());
+        }
+    }
+}
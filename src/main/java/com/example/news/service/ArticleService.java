@@ -4,15 +4,19 @@ import com.example.news.dto.ArticleDTO;
 import com.example.news.entity.Article;
 import org.springframework.data.domain.Pageable;
 
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
 public interface ArticleService {
     Article createArticle(ArticleDTO articleDTO);
     Article updateArticle(Long id, ArticleDTO articleDTO);
+    Article patchArticle(Long id, ArticleDTO articleDTO);
     Optional<Article> deleteArticle(Long id);
     Article getArticleById(Long id);
     List<Article> getAllArticles(Pageable pageable);
+    List<Article> getArticlesPublishedIn(YearMonth month, Pageable pageable);
+    List<Article> searchArticles(String query, int limit);
 
     List<ArticleDTO> getLatestArticles();
 }
\ No newline at end of file
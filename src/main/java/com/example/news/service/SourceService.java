@@ -12,6 +12,7 @@ public interface SourceService {
 
     Source createSource(SourceDTO sourceDTO);
     Source updateSource(Long id, SourceDTO sourceDTO);
+    Source patchSource(Long id, SourceDTO sourceDTO);
     Optional<Source> deleteSource(Long id);
     Source getSourceById(Long id);
     List<Source> getAllSources();
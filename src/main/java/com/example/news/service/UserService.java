@@ -12,6 +12,7 @@ public interface UserService {
 
     User createUser(UserDTO userDTO);
     User updateUser(Long id, UserDTO userDTO);
+    User patchUser(Long id, UserDTO userDTO);
     Optional<User> deleteUser(Long id);
     User getUserById(Long id);
     List<User> getAllUsers();
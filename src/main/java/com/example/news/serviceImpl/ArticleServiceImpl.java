@@ -1,34 +1,68 @@
 package com.example.news.serviceImpl;
 
+import com.example.news.changelog.ChangeKind;
+import com.example.news.changelog.ChangeLog;
+import com.example.news.coalescing.Coalesced;
+import com.example.news.config.ArticleQueryProperties;
 import com.example.news.dto.ArticleDTO;
+import com.example.news.entity.ArchivedArticle;
 import com.example.news.entity.Article;
+import com.example.news.event.ArticleChangedEvent;
 import com.example.news.exception.ArticleNotFoundException;
+import com.example.news.mapper.ArticleMapper;
+import com.example.news.repository.ArchivedArticleRepository;
 import com.example.news.repository.ArticleRepository;
+import com.example.news.repository.TitleSearch;
 import com.example.news.service.ArticleService;
+import com.example.news.tagging.ArticleTagger;
+import com.example.news.util.Tokenizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@EnableConfigurationProperties(ArticleQueryProperties.class)
 public class ArticleServiceImpl implements ArticleService {
 
     private static final Logger logger = LoggerFactory.getLogger(ArticleServiceImpl.class);
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "publishedAt");
+
     private final ArticleRepository articleRepository;
+    private final ArchivedArticleRepository archivedArticleRepository;
+    private final ArticleMapper articleMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArticleQueryProperties queryProperties;
+    private final ChangeLog changeLog;
+    private final ArticleTagger articleTagger;
 
     @Autowired
-    public ArticleServiceImpl(ArticleRepository articleRepository) {
+    public ArticleServiceImpl(ArticleRepository articleRepository, ArchivedArticleRepository archivedArticleRepository,
+                              ArticleMapper articleMapper, ApplicationEventPublisher eventPublisher,
+                              ArticleQueryProperties queryProperties, ChangeLog changeLog,
+                              ArticleTagger articleTagger) {
         this.articleRepository = articleRepository;
+        this.archivedArticleRepository = archivedArticleRepository;
+        this.articleMapper = articleMapper;
+        this.eventPublisher = eventPublisher;
+        this.queryProperties = queryProperties;
+        this.changeLog = changeLog;
+        this.articleTagger = articleTagger;
     }
 
     @Override
@@ -36,8 +70,11 @@ public class ArticleServiceImpl implements ArticleService {
     public Article createArticle(ArticleDTO articleDTO) {
         logger.info("Creating a new Article with title '{}'", articleDTO.getTitle());
         try {
-            Article article = ArticleDTO.convertToArticleEntity(articleDTO);
+            Article article = articleMapper.toEntity(articleDTO);
             Article savedArticle = articleRepository.save(article);
+            changeLog.append(ChangeKind.ARTICLE, savedArticle.getId());
+            articleTagger.tag(savedArticle);
+            eventPublisher.publishEvent(ArticleChangedEvent.saved(savedArticle));
             logger.info("Article created successfully with id {}", savedArticle.getId());
             return savedArticle;
         } catch (Exception e) {
@@ -53,8 +90,11 @@ public class ArticleServiceImpl implements ArticleService {
         try {
             Article existingArticle = articleRepository.findById(id)
                     .orElseThrow(() -> new ArticleNotFoundException("No Article found with id " + id));
-            BeanUtils.copyProperties(articleDTO, existingArticle, "id");
+            articleMapper.updateEntity(articleDTO, existingArticle);
             Article updatedArticle = articleRepository.save(existingArticle);
+            changeLog.append(ChangeKind.ARTICLE, updatedArticle.getId());
+            articleTagger.tag(updatedArticle);
+            eventPublisher.publishEvent(ArticleChangedEvent.saved(updatedArticle));
             logger.info("Article updated successfully with id {}", id);
             return updatedArticle;
         } catch (ArticleNotFoundException e) {
@@ -66,6 +106,29 @@ public class ArticleServiceImpl implements ArticleService {
         }
     }
 
+    @Override
+    @Transactional
+    public Article patchArticle(Long id, ArticleDTO articleDTO) {
+        logger.info("Patching article with id {}", id);
+        try {
+            Article existingArticle = articleRepository.findById(id)
+                    .orElseThrow(() -> new ArticleNotFoundException("No Article found with id " + id));
+            articleMapper.patchEntity(articleDTO, existingArticle);
+            Article patchedArticle = articleRepository.save(existingArticle);
+            changeLog.append(ChangeKind.ARTICLE, patchedArticle.getId());
+            articleTagger.tag(patchedArticle);
+            eventPublisher.publishEvent(ArticleChangedEvent.saved(patchedArticle));
+            logger.info("Article patched successfully with id {}", id);
+            return patchedArticle;
+        } catch (ArticleNotFoundException e) {
+            logger.error("Article not found with id {}", id, e);
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error patching article with id {}", id, e);
+            throw e;
+        }
+    }
+
     @Override
     @Transactional
     public Optional<Article> deleteArticle(Long id) {
@@ -74,8 +137,20 @@ public class ArticleServiceImpl implements ArticleService {
             Optional<Article> articleOptional = articleRepository.findById(id);
             if (articleOptional.isPresent()) {
                 articleRepository.deleteById(id);
+                changeLog.append(ChangeKind.ARTICLE, id);
+                articleTagger.untag(id);
+                eventPublisher.publishEvent(ArticleChangedEvent.deleted(id));
                 logger.info("Article with id {} deleted successfully", id);
                 return articleOptional;
+            }
+            Optional<ArchivedArticle> archivedOptional = archivedArticleRepository.findById(id);
+            if (archivedOptional.isPresent()) {
+                archivedArticleRepository.deleteById(id);
+                changeLog.append(ChangeKind.ARTICLE, id);
+                articleTagger.untag(id);
+                eventPublisher.publishEvent(ArticleChangedEvent.deleted(id));
+                logger.info("Archived article with id {} deleted successfully", id);
+                return archivedOptional.map(ArchivedArticle::toArticle);
             } else {
                 logger.warn("Attempted to delete article with id {} that does not exist", id);
                 return Optional.empty();
@@ -87,11 +162,13 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public Article getArticleById(Long id) {
         logger.info("Fetching article with id {}", id);
         try {
             return articleRepository.findById(id)
+                    .or(() -> archivedArticleRepository.findById(id).map(ArchivedArticle::toArticle))
                     .orElseThrow(() -> new ArticleNotFoundException("No Article found with id " + id));
         } catch (ArticleNotFoundException e) {
             logger.error("Article not found with id {}", id, e);
@@ -102,7 +179,63 @@ public class ArticleServiceImpl implements ArticleService {
         }
     }
 
+    /**
+     * A page of the articles published in one month. The range predicate
+     * limits a partitioned table to that month's partition.
+     */
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public List<Article> getArticlesPublishedIn(YearMonth month, Pageable pageable) {
+        logger.info("Fetching articles published in {}", month);
+        try {
+            Page<Article> articlePage = articleRepository.findByPublishedAtGreaterThanEqualAndPublishedAtLessThan(
+                    month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay(), pageable);
+            logger.info("Fetched {} articles published in {} (page {} of {})",
+                    articlePage.getNumberOfElements(),
+                    month,
+                    articlePage.getNumber() + 1,
+                    articlePage.getTotalPages()
+            );
+            return articlePage.getContent();
+        } catch (Exception e) {
+            logger.error("Error fetching articles published in {}", month, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Newest articles whose title contains every term of the query. The
+     * archive is only searched when the hot table has fewer than
+     * {@code limit} matches; archived articles are always older.
+     */
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public List<Article> searchArticles(String query, int limit) {
+        logger.info("Searching articles for '{}'", query);
+        try {
+            if (Tokenizer.terms(query).isEmpty()) {
+                return List.of();
+            }
+            Specification<Article> hot = TitleSearch.containsAllTerms(query);
+            List<Article> matches = new ArrayList<>(articleRepository.findBy(hot,
+                    q -> q.sortBy(NEWEST_FIRST).limit(limit).all()));
+            if (matches.size() < limit) {
+                Specification<ArchivedArticle> archived = TitleSearch.containsAllTerms(query);
+                archivedArticleRepository.findBy(archived, q -> q.sortBy(NEWEST_FIRST).limit(limit - matches.size()).all())
+                        .forEach(article -> matches.add(article.toArticle()));
+            }
+            logger.info("Found {} articles matching '{}'", matches.size(), query);
+            return matches;
+        } catch (Exception e) {
+            logger.error("Error searching articles for '{}'", query, e);
+            throw e;
+        }
+    }
+
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<Article> getAllArticles(Pageable pageable) {
         logger.info("Fetching all articles");
@@ -121,13 +254,15 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<ArticleDTO> getLatestArticles() {
         logger.info("Fetching the latest articles");
         try {
-            List<Article> latestArticles = articleRepository.findAll(Sort.by(Sort.Direction.DESC, "publishedAt"));
+            List<Article> latestArticles = articleRepository.findByOrderByPublishedAtDesc(
+                    Limit.of(queryProperties.getLatestSize()));
             List<ArticleDTO> latestArticleDTOs = latestArticles.stream()
-                    .map(ArticleDTO::convertToDTO)
+                    .map(articleMapper::toDTO)
                     .collect(Collectors.toList());
             logger.info("Fetched {} latest articles", latestArticleDTOs.size());
             return latestArticleDTOs;
@@ -1,13 +1,15 @@
 package com.example.news.serviceImpl;
 
+import com.example.news.changelog.ChangeKind;
+import com.example.news.changelog.ChangeLog;
 import com.example.news.dto.SourceDTO;
 import com.example.news.entity.Source;
 import com.example.news.exception.SourceNotFoundException;
+import com.example.news.mapper.SourceMapper;
 import com.example.news.repository.SourceRepository;
 import com.example.news.service.SourceService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -23,10 +25,14 @@ public class SourceServiceImpl implements SourceService {
     private static final Logger logger = LoggerFactory.getLogger(SourceServiceImpl.class);
 
     private final SourceRepository sourceRepository;
+    private final SourceMapper sourceMapper;
+    private final ChangeLog changeLog;
 
     @Autowired
-    public SourceServiceImpl(SourceRepository sourceRepository) {
+    public SourceServiceImpl(SourceRepository sourceRepository, SourceMapper sourceMapper, ChangeLog changeLog) {
         this.sourceRepository = sourceRepository;
+        this.sourceMapper = sourceMapper;
+        this.changeLog = changeLog;
     }
 
     @Override
@@ -34,8 +40,9 @@ public class SourceServiceImpl implements SourceService {
     public Source createSource(SourceDTO sourceDTO) {
         logger.info("Creating a new Source with name '{}'", sourceDTO.getName());
         try {
-            Source source = SourceDTO.convertToSourceEntity(sourceDTO);
+            Source source = sourceMapper.toEntity(sourceDTO);
             Source savedSource = sourceRepository.save(source);
+            changeLog.append(ChangeKind.SOURCE, savedSource.getId());
             logger.info("Source created successfully with id {}", savedSource.getId());
             return savedSource;
         } catch (Exception e) {
@@ -51,8 +58,9 @@ public class SourceServiceImpl implements SourceService {
         try {
             Source existingSource = sourceRepository.findById(id)
                     .orElseThrow(() -> new SourceNotFoundException("No Source found with id " + id));
-            BeanUtils.copyProperties(sourceDTO, existingSource, "id");
+            sourceMapper.updateEntity(sourceDTO, existingSource);
             Source updatedSource = sourceRepository.save(existingSource);
+            changeLog.append(ChangeKind.SOURCE, id);
             logger.info("Source updated successfully with id {}", id);
             return updatedSource;
         } catch (SourceNotFoundException e) {
@@ -64,6 +72,27 @@ public class SourceServiceImpl implements SourceService {
         }
     }
 
+    @Override
+    @Transactional
+    public Source patchSource(Long id, SourceDTO sourceDTO) {
+        logger.info("Patching source with id {}", id);
+        try {
+            Source existingSource = sourceRepository.findById(id)
+                    .orElseThrow(() -> new SourceNotFoundException("No Source found with id " + id));
+            sourceMapper.patchEntity(sourceDTO, existingSource);
+            Source patchedSource = sourceRepository.save(existingSource);
+            changeLog.append(ChangeKind.SOURCE, id);
+            logger.info("Source patched successfully with id {}", id);
+            return patchedSource;
+        } catch (SourceNotFoundException e) {
+            logger.error("Source not found with id {}", id, e);
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error patching source with id {}", id, e);
+            throw e;
+        }
+    }
+
     @Override
     @Transactional
     public Optional<Source> deleteSource(Long id) {
@@ -72,6 +101,7 @@ public class SourceServiceImpl implements SourceService {
             Optional<Source> sourceOptional = sourceRepository.findById(id);
             if (sourceOptional.isPresent()) {
                 sourceRepository.deleteById(id);
+                changeLog.append(ChangeKind.SOURCE, id);
                 logger.info("Source with id {} deleted successfully", id);
                 return sourceOptional;
             } else {
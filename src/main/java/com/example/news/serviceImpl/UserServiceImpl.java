@@ -1,13 +1,15 @@
 package com.example.news.serviceImpl;
 
+import com.example.news.changelog.ChangeKind;
+import com.example.news.changelog.ChangeLog;
 import com.example.news.dto.UserDTO;
 import com.example.news.entity.User;
 import com.example.news.exception.UserNotFoundException;
+import com.example.news.mapper.UserMapper;
 import com.example.news.repository.UserRepository;
 import com.example.news.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -27,11 +29,15 @@ public class UserServiceImpl implements UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
     private final UserRepository userRepository;
+    private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ChangeLog changeLog;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, ChangeLog changeLog) {
         this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.changeLog = changeLog;
         this.passwordEncoder = new BCryptPasswordEncoder();  // Use BCryptPasswordEncoder for encoding passwords
     }
 
@@ -40,11 +46,10 @@ public class UserServiceImpl implements UserService {
     public User createUser(UserDTO userDTO) {
         logger.info("Creating a new user with username '{}'", userDTO.getUsername());
         try {
-            User user = new User();
-            user.setUsername(userDTO.getUsername());
-            user.setEmail(userDTO.getEmail());
+            User user = userMapper.toEntity(userDTO);
             user.setPassword(passwordEncoder.encode(userDTO.getPassword())); // Encrypt password
             User savedUser = userRepository.save(user);
+            changeLog.append(ChangeKind.USER, savedUser.getId());
             logger.info("User created successfully with id {}", savedUser.getId());
             return savedUser;
         } catch (Exception e) {
@@ -61,11 +66,9 @@ public class UserServiceImpl implements UserService {
             if (userRepository.findByUsername(registerRequest.getUsername()).isPresent()) {
                 throw new IllegalArgumentException("Username '" + registerRequest.getUsername() + "' is already taken");
             }
-            User user = new User();
-            user.setUsername(registerRequest.getUsername());
-            user.setEmail(registerRequest.getEmail());
+            User user = userMapper.toEntity(registerRequest);
             user.setPassword(passwordEncoder.encode(registerRequest.getPassword())); // Encrypt password
-            userRepository.save(user);
+            changeLog.append(ChangeKind.USER, userRepository.save(user).getId());
             logger.info("User registered successfully with username '{}'", registerRequest.getUsername());
         } catch (IllegalArgumentException e) {
             logger.error("Registration failed for user '{}'", registerRequest.getUsername(), e);
@@ -103,11 +106,12 @@ public class UserServiceImpl implements UserService {
         try {
             User existingUser = userRepository.findById(id)
                     .orElseThrow(() -> new UserNotFoundException("No User found with id " + id));
-            BeanUtils.copyProperties(userDTO, existingUser, "id", "password");
+            userMapper.updateEntity(userDTO, existingUser);
             if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
                 existingUser.setPassword(passwordEncoder.encode(userDTO.getPassword())); // Update password if provided
             }
             User updatedUser = userRepository.save(existingUser);
+            changeLog.append(ChangeKind.USER, id);
             logger.info("User updated successfully with id {}", id);
             return updatedUser;
         } catch (UserNotFoundException e) {
@@ -119,6 +123,30 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    @Transactional
+    public User patchUser(Long id, UserDTO userDTO) {
+        logger.info("Patching user with id {}", id);
+        try {
+            User existingUser = userRepository.findById(id)
+                    .orElseThrow(() -> new UserNotFoundException("No User found with id " + id));
+            userMapper.patchEntity(userDTO, existingUser);
+            if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
+                existingUser.setPassword(passwordEncoder.encode(userDTO.getPassword())); // Update password if provided
+            }
+            User patchedUser = userRepository.save(existingUser);
+            changeLog.append(ChangeKind.USER, id);
+            logger.info("User patched successfully with id {}", id);
+            return patchedUser;
+        } catch (UserNotFoundException e) {
+            logger.error("User not found with id {}", id, e);
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error patching user with id {}", id, e);
+            throw e;
+        }
+    }
+
     @Override
     @Transactional
     public Optional<User> deleteUser(Long id) {
@@ -127,6 +155,7 @@ public class UserServiceImpl implements UserService {
             Optional<User> userOptional = userRepository.findById(id);
             if (userOptional.isPresent()) {
                 userRepository.deleteById(id);
+                changeLog.append(ChangeKind.USER, id);
                 logger.info("User with id {} deleted successfully", id);
                 return userOptional;
             } else {
@@ -186,7 +215,7 @@ public class UserServiceImpl implements UserService {
         logger.info("Fetching current user with username '{}'", currentUsername);
         User user = userRepository.findByUsername(currentUsername)
                 .orElseThrow(() -> new UserNotFoundException("No User found with username " + currentUsername));
-        return UserDTO.convertToDTO(user);
+        return userMapper.toDTO(user);
     }
 
     @Override
@@ -196,8 +225,9 @@ public class UserServiceImpl implements UserService {
         try {
             User existingUser = userRepository.findByUsername(userDTO.getUsername())
                     .orElseThrow(() -> new UserNotFoundException("No User found with username " + userDTO.getUsername()));
-            BeanUtils.copyProperties(userDTO, existingUser, "id", "password", "username");
+            userMapper.updateSettings(userDTO, existingUser);
             userRepository.save(existingUser);
+            changeLog.append(ChangeKind.USER, existingUser.getId());
             logger.info("Settings updated successfully for user '{}'", userDTO.getUsername());
         } catch (UserNotFoundException e) {
             logger.error("User not found with username '{}'", userDTO.getUsername(), e);
@@ -0,0 +1,292 @@
+package com.example.news.tagging;
+
+import com.example.news.changelog.ChangeKind;
+import com.example.news.changelog.ChangeLog;
+import com.example.news.entity.Article;
+import com.example.news.event.ArticleTagsChangedEvent;
+import com.example.news.event.ArticlesBulkLoadedEvent;
+import com.example.news.repository.ArticleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tags articles as they are written, with the {@link TopicClassifier}, and
+ * stores the tags in {@code article_tags}. {@link #tag} and {@link #untag}
+ * write through the caller's transaction, so tags commit with the article,
+ * and publish an {@link ArticleTagsChangedEvent} for the {@link TagIndex}.
+ *
+ * The classifier's model is trained on a background thread once the
+ * application is ready and every {@code news.tagging.retrain-interval}.
+ * Retraining only affects articles written afterwards. When
+ * {@code article_tags} is empty, and after a bulk load, every article is
+ * tagged in batches and other nodes are told to reload their tag index.
+ */
+@Component
+@EnableConfigurationProperties(TaggingProperties.class)
+public class ArticleTagger implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleTagger.class);
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("publishedAt"), Sort.Order.desc("id"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeLog changeLog;
+    private final TaggingProperties properties;
+    private final Timer retrains;
+
+    /**
+     * Tag ids by name; tags are never renamed or deleted.
+     */
+    private final Map<String, Long> tagIds = new ConcurrentHashMap<>();
+
+    private volatile TopicClassifier classifier;
+    private volatile ScheduledExecutorService executor;
+
+    @Autowired
+    public ArticleTagger(NamedParameterJdbcTemplate jdbcTemplate, ArticleRepository articleRepository,
+                         PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                         ChangeLog changeLog, TaggingProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.articleRepository = articleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.changeLog = changeLog;
+        this.properties = properties;
+        this.classifier = new TopicClassifier(properties);
+        this.retrains = Timer.builder("news.tagging.retrain").register(meterRegistry);
+    }
+
+    /**
+     * Replaces the tags of the articles, which must already have ids.
+     */
+    public void tag(Collection<Article> articles) {
+        if (!properties.isEnabled() || articles.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<String>> tags = classify(articles);
+        write(tags);
+        eventPublisher.publishEvent(ArticleTagsChangedEvent.of(tags));
+    }
+
+    public void tag(Article article) {
+        tag(List.of(article));
+    }
+
+    /**
+     * Removes the tags of a deleted article.
+     */
+    public void untag(Long id) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM article_tags WHERE article_id = :id", new MapSqlParameterSource("id", id));
+        eventPublisher.publishEvent(ArticleTagsChangedEvent.of(Map.of(id, Set.of())));
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.isEnabled() || executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-tagger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getRetrainInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::retrain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        submit(() -> {
+            retrain();
+            Boolean tagged = jdbcTemplate.getJdbcTemplate()
+                    .queryForObject("SELECT EXISTS (SELECT 1 FROM article_tags)", Boolean.class);
+            if (!Boolean.TRUE.equals(tagged)) {
+                backfill();
+            }
+        });
+    }
+
+    @EventListener(ArticlesBulkLoadedEvent.class)
+    public void onArticlesBulkLoaded() {
+        submit(() -> {
+            retrain();
+            backfill();
+        });
+    }
+
+    /**
+     * Trains the model on the tags the rules give the newest articles.
+     */
+    void retrain() {
+        long start = System.nanoTime();
+        try {
+            List<TopicClassifier.Text> texts = new ArrayList<>();
+            if (properties.getTrainingSize() > 0) {
+                articleRepository.findAll(PageRequest.of(0, properties.getTrainingSize(), NEWEST_FIRST))
+                        .forEach(article -> texts.add(text(article)));
+            }
+            TopicClassifier trained = classifier.retrain(texts);
+            classifier = trained;
+            logger.info("Trained the topic model on {} articles in {} ms, modelling {} of {} tags", texts.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), trained.modelledTags().size(),
+                    trained.tags().size());
+        } catch (Exception e) {
+            logger.error("Error training the topic model, keeping the previous one", e);
+        } finally {
+            retrains.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Re-tags every article, one transaction per batch.
+     */
+    void backfill() {
+        long start = System.currentTimeMillis();
+        long tagged = 0;
+        try {
+            int batchSize = Math.max(properties.getBackfillBatchSize(), 1);
+            Pageable page = PageRequest.of(0, batchSize, Sort.by("id"));
+            while (page != null) {
+                Pageable current = page;
+                Page<Article> articles = transactionTemplate.execute(status -> {
+                    Page<Article> batch = articleRepository.findAll(current);
+                    write(classify(batch.getContent()));
+                    return batch;
+                });
+                tagged += articles.getNumberOfElements();
+                page = articles.hasNext() ? articles.nextPageable() : null;
+            }
+            changeLog.appendAll(ChangeKind.TAG);
+            eventPublisher.publishEvent(ArticleTagsChangedEvent.everything());
+            logger.info("Tagged {} articles in {} ms", tagged, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error tagging all articles after {}", tagged, e);
+        }
+    }
+
+    private Map<Long, Set<String>> classify(Collection<Article> articles) {
+        TopicClassifier current = classifier;
+        Map<Long, Set<String>> tags = new LinkedHashMap<>();
+        for (Article article : articles) {
+            tags.put(article.getId(), current.classify(text(article)));
+        }
+        return tags;
+    }
+
+    private void write(Map<Long, Set<String>> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM article_tags WHERE article_id IN (:ids)",
+                new MapSqlParameterSource("ids", tags.keySet()));
+        List<MapSqlParameterSource> rows = new ArrayList<>();
+        tags.forEach((id, names) -> names.forEach(name -> rows.add(new MapSqlParameterSource("articleId", id)
+                .addValue("tagId", tagId(name)))));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO article_tags (article_id, tag_id) VALUES (:articleId, :tagId)",
+                    rows.toArray(MapSqlParameterSource[]::new));
+        }
+    }
+
+    /**
+     * Creates missing tags in a transaction of their own, so a tag is never
+     * lost with a rolled-back article and concurrent writers only race on
+     * the insert.
+     */
+    private Long tagId(String name) {
+        Long id = tagIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        id = newTransaction.execute(status -> {
+            MapSqlParameterSource params = new MapSqlParameterSource("name", name);
+            List<Long> existing = jdbcTemplate.queryForList("SELECT id FROM tags WHERE name = :name", params, Long.class);
+            if (!existing.isEmpty()) {
+                return existing.get(0);
+            }
+            try {
+                jdbcTemplate.update("INSERT INTO tags (name) VALUES (:name)", params);
+            } catch (DuplicateKeyException e) {
+                logger.debug("Tag '{}' was created concurrently", name);
+            }
+            return jdbcTemplate.queryForObject("SELECT id FROM tags WHERE name = :name", params, Long.class);
+        });
+        tagIds.put(name, id);
+        return id;
+    }
+
+    private void submit(Runnable task) {
+        ScheduledExecutorService current = executor;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    logger.error("Error tagging articles", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Article tagger is stopped, dropping a task");
+        }
+    }
+
+    private static TopicClassifier.Text text(Article article) {
+        return new TopicClassifier.Text(article.getTitle(), article.getContent());
+    }
+}
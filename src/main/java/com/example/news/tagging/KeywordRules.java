@@ -0,0 +1,66 @@
+package com.example.news.tagging;
+
+import com.example.news.util.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tags from configured keywords. Keywords are single terms as produced by
+ * {@link Tokenizer}; an article gets a tag when that tag's keywords occur
+ * at least {@code minMatches} times, title occurrences counting twice.
+ */
+final class KeywordRules {
+
+    private final Map<String, List<String>> tagsByKeyword = new HashMap<>();
+    private final List<String> tags;
+    private final int minMatches;
+
+    KeywordRules(Map<String, List<String>> rules, int minMatches) {
+        this.tags = List.copyOf(rules.keySet());
+        this.minMatches = minMatches;
+        rules.forEach((tag, keywords) -> {
+            for (String keyword : keywords) {
+                for (String term : Tokenizer.terms(keyword)) {
+                    List<String> tagged = tagsByKeyword.computeIfAbsent(term, key -> new ArrayList<>(1));
+                    if (!tagged.contains(tag)) {
+                        tagged.add(tag);
+                    }
+                }
+            }
+        });
+    }
+
+    List<String> tags() {
+        return tags;
+    }
+
+    /**
+     * Keyword occurrences per matching tag, in rule order.
+     */
+    Map<String, Integer> match(List<String> titleTerms, List<String> contentTerms) {
+        Map<String, Integer> hits = new HashMap<>();
+        count(titleTerms, 2, hits);
+        count(contentTerms, 1, hits);
+        Map<String, Integer> matched = new LinkedHashMap<>();
+        for (String tag : tags) {
+            int count = hits.getOrDefault(tag, 0);
+            if (count >= minMatches) {
+                matched.put(tag, count);
+            }
+        }
+        return matched;
+    }
+
+    private void count(List<String> terms, int weight, Map<String, Integer> hits) {
+        for (String term : terms) {
+            List<String> tagged = tagsByKeyword.get(term);
+            if (tagged != null) {
+                tagged.forEach(tag -> hits.merge(tag, weight, Integer::sum));
+            }
+        }
+    }
+}
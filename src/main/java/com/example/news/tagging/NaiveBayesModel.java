@@ -0,0 +1,139 @@
+package com.example.news.tagging;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One-vs-rest naive Bayes over the distinct terms of an article (binarized
+ * multinomial with Laplace smoothing). Training turns the counts into one
+ * log-likelihood ratio per term and tag, so scoring an article is a map
+ * lookup and an addition per distinct term.
+ *
+ * Terms seen in fewer than {@value #MIN_DOCUMENT_FREQUENCY} training
+ * articles are dropped, and tags with fewer than {@code minExamples}
+ * positive or negative examples are not modelled.
+ */
+final class NaiveBayesModel {
+
+    static final int MIN_DOCUMENT_FREQUENCY = 2;
+
+    private static final NaiveBayesModel EMPTY = new NaiveBayesModel(new String[0], new double[0], Map.of());
+
+    private final String[] tags;
+    private final double[] priors;
+    private final Map<String, double[]> weights;
+
+    private NaiveBayesModel(String[] tags, double[] priors, Map<String, double[]> weights) {
+        this.tags = tags;
+        this.priors = priors;
+        this.weights = weights;
+    }
+
+    static NaiveBayesModel empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param documents distinct terms per training article
+     * @param labels    tags per training article, same order as {@code documents}
+     * @param tags      tags to learn
+     */
+    static NaiveBayesModel train(List<Set<String>> documents, List<Set<String>> labels, List<String> tags,
+                                 int minExamples) {
+        List<String> modelled = new ArrayList<>();
+        for (String tag : tags) {
+            long positives = labels.stream().filter(set -> set.contains(tag)).count();
+            if (positives >= minExamples && documents.size() - positives >= minExamples) {
+                modelled.add(tag);
+            }
+        }
+        if (modelled.isEmpty()) {
+            return EMPTY;
+        }
+        int k = modelled.size();
+
+        // Per term: articles containing it, then per tag the positive ones among them.
+        Map<String, int[]> counts = new HashMap<>();
+        int[] positives = new int[k];
+        for (int d = 0; d < documents.size(); d++) {
+            Set<String> label = labels.get(d);
+            boolean[] positive = new boolean[k];
+            for (int t = 0; t < k; t++) {
+                positive[t] = label.contains(modelled.get(t));
+                positives[t] += positive[t] ? 1 : 0;
+            }
+            for (String term : documents.get(d)) {
+                int[] count = counts.computeIfAbsent(term, key -> new int[k + 1]);
+                count[k]++;
+                for (int t = 0; t < k; t++) {
+                    if (positive[t]) {
+                        count[t]++;
+                    }
+                }
+            }
+        }
+        counts.values().removeIf(count -> count[k] < MIN_DOCUMENT_FREQUENCY);
+
+        long total = 0;
+        long[] positiveTotals = new long[k];
+        for (int[] count : counts.values()) {
+            total += count[k];
+            for (int t = 0; t < k; t++) {
+                positiveTotals[t] += count[t];
+            }
+        }
+        double vocabulary = counts.size();
+        double[] positiveNorm = new double[k];
+        double[] negativeNorm = new double[k];
+        double[] priors = new double[k];
+        for (int t = 0; t < k; t++) {
+            positiveNorm[t] = Math.log(positiveTotals[t] + vocabulary);
+            negativeNorm[t] = Math.log(total - positiveTotals[t] + vocabulary);
+            priors[t] = Math.log((double) positives[t] / (documents.size() - positives[t]));
+        }
+        Map<String, double[]> weights = new HashMap<>(counts.size() * 2);
+        counts.forEach((term, count) -> {
+            double[] weight = new double[k];
+            for (int t = 0; t < k; t++) {
+                weight[t] = Math.log(count[t] + 1.0) - positiveNorm[t]
+                        - Math.log(count[k] - count[t] + 1.0) + negativeNorm[t];
+            }
+            weights.put(term, weight);
+        });
+        return new NaiveBayesModel(modelled.toArray(String[]::new), priors, weights);
+    }
+
+    /**
+     * Tags the model learned.
+     */
+    List<String> tags() {
+        return List.of(tags);
+    }
+
+    /**
+     * Log-odds per learned tag that the article has it.
+     */
+    Map<String, Double> score(Set<String> terms) {
+        if (tags.length == 0) {
+            return Map.of();
+        }
+        double[] sums = priors.clone();
+        for (String term : terms) {
+            double[] weight = weights.get(term);
+            if (weight != null) {
+                for (int t = 0; t < sums.length; t++) {
+                    sums[t] += weight[t];
+                }
+            }
+        }
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (int t = 0; t < tags.length; t++) {
+            scores.put(tags[t], sums[t]);
+        }
+        return scores;
+    }
+}
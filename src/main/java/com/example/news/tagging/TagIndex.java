@@ -0,0 +1,257 @@
+package com.example.news.tagging;
+
+import com.example.news.changelog.ChangeKind;
+import com.example.news.entity.ArchivedArticle;
+import com.example.news.entity.Article;
+import com.example.news.event.ArticleTagsChangedEvent;
+import com.example.news.event.RemoteChangeEvent;
+import com.example.news.index.ArticleIndex;
+import com.example.news.index.ArticleView;
+import com.example.news.repository.ArchivedArticleRepository;
+import com.example.news.repository.ArticleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory posting lists for tag pages: the ids of the articles with each
+ * tag as a compressed Roaring bitmap. A page is the ids at its offsets from
+ * the top of the bitmap, newest id first, resolved through the
+ * {@link ArticleIndex} and, for the ids it does not hold, one query each to
+ * the articles table and the archive.
+ *
+ * Bitmaps are never modified once published. Writers copy the bitmaps of
+ * the tags a change touches and swap in a new map, so readers need no lock.
+ * The index loads once the application is ready, follows committed
+ * {@link ArticleTagsChangedEvent}s and re-reads the tags of articles other
+ * nodes changed. Until it has loaded, pages are read from
+ * {@code article_tags}.
+ */
+@Component
+@EnableConfigurationProperties(TaggingProperties.class)
+public class TagIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagIndex.class);
+
+    private static final String SELECT_TAGS = "SELECT at.article_id, t.name FROM article_tags at"
+            + " JOIN tags t ON t.id = at.tag_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ArticleIndex articleIndex;
+    private final ArticleRepository articleRepository;
+    private final ArchivedArticleRepository archivedArticleRepository;
+    private final TaggingProperties properties;
+
+    private volatile Map<String, Roaring64NavigableMap> postings = Map.of();
+    private volatile boolean ready;
+
+    @Autowired
+    public TagIndex(NamedParameterJdbcTemplate jdbcTemplate, ArticleIndex articleIndex,
+                    ArticleRepository articleRepository, ArchivedArticleRepository archivedArticleRepository,
+                    TaggingProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.articleIndex = articleIndex;
+        this.articleRepository = articleRepository;
+        this.archivedArticleRepository = archivedArticleRepository;
+        this.properties = properties;
+        Gauge.builder("news.tagging.postings", this, index -> index.postings.values().stream()
+                        .mapToLong(Roaring64NavigableMap::getLongCardinality).sum())
+                .description("Article ids held in the tag index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Map<String, Roaring64NavigableMap> loaded = new HashMap<>();
+            jdbcTemplate.getJdbcTemplate().query(SELECT_TAGS, rs -> {
+                loaded.computeIfAbsent(rs.getString(2), tag -> bitmap()).addLong(rs.getLong(1));
+            });
+            loaded.values().forEach(Roaring64NavigableMap::runOptimize);
+            postings = Collections.unmodifiableMap(loaded);
+            ready = true;
+            logger.info("Loaded {} tags into the tag index in {} ms", loaded.size(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error loading the tag index, tag pages will use the database", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleTagsChanged(ArticleTagsChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.all()) {
+            load();
+        } else {
+            apply(event.tags());
+        }
+    }
+
+    /**
+     * Re-reads the tags of the articles another node changed, in one query.
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (!properties.isEnabled() || (event.kind() != ChangeKind.ARTICLE && event.kind() != ChangeKind.TAG)) {
+            return;
+        }
+        if (event.all()) {
+            load();
+            return;
+        }
+        Map<Long, Set<String>> tags = new HashMap<>();
+        event.ids().forEach(id -> tags.put(id, new HashSet<>()));
+        jdbcTemplate.query(SELECT_TAGS + " WHERE at.article_id IN (:ids)", new MapSqlParameterSource("ids", event.ids()),
+                rs -> {
+                    tags.get(rs.getLong(1)).add(rs.getString(2));
+                });
+        apply(tags);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Article count per tag, by tag name.
+     */
+    public SortedMap<String, Long> counts() {
+        SortedMap<String, Long> counts = new TreeMap<>();
+        postings.forEach((tag, ids) -> {
+            long count = ids.getLongCardinality();
+            if (count > 0) {
+                counts.put(tag, count);
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * A page of the articles with the tag, highest id first.
+     */
+    public List<ArticleView> page(String tag, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("Page index must not be negative and size must be positive");
+        }
+        return resolve(ids(tag, (long) page * size, size));
+    }
+
+    List<Long> ids(String tag, long offset, int size) {
+        if (!ready) {
+            return jdbcTemplate.queryForList("SELECT at.article_id FROM article_tags at JOIN tags t ON t.id = at.tag_id"
+                            + " WHERE t.name = :tag ORDER BY at.article_id DESC LIMIT :limit OFFSET :offset",
+                    new MapSqlParameterSource("tag", tag).addValue("limit", size).addValue("offset", offset),
+                    Long.class);
+        }
+        Roaring64NavigableMap ids = postings.get(tag);
+        if (ids == null) {
+            return List.of();
+        }
+        long cardinality = ids.getLongCardinality();
+        List<Long> page = new ArrayList<>(Math.min(size, 100));
+        for (long rank = cardinality - 1 - offset; rank >= 0 && page.size() < size; rank--) {
+            page.add(ids.select(rank));
+        }
+        return page;
+    }
+
+    private synchronized void apply(Map<Long, Set<String>> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<String, Roaring64NavigableMap> next = new HashMap<>(postings);
+        Set<String> copied = new HashSet<>();
+        changes.forEach((id, tags) -> {
+            for (Map.Entry<String, Roaring64NavigableMap> entry : List.copyOf(next.entrySet())) {
+                if (entry.getValue().contains(id) && !tags.contains(entry.getKey())) {
+                    writable(next, copied, entry.getKey()).removeLong(id);
+                }
+            }
+            for (String tag : tags) {
+                Roaring64NavigableMap ids = next.get(tag);
+                if (ids == null || !ids.contains(id)) {
+                    writable(next, copied, tag).addLong(id);
+                }
+            }
+        });
+        postings = Collections.unmodifiableMap(next);
+    }
+
+    /**
+     * The bitmap of the tag in {@code next}, copied on first write so the
+     * published one stays unchanged.
+     */
+    private static Roaring64NavigableMap writable(Map<String, Roaring64NavigableMap> next, Set<String> copied,
+                                                  String tag) {
+        if (copied.add(tag)) {
+            Roaring64NavigableMap copy = bitmap();
+            Roaring64NavigableMap published = next.get(tag);
+            if (published != null) {
+                copy.or(published);
+            }
+            next.put(tag, copy);
+        }
+        return next.get(tag);
+    }
+
+    /**
+     * Without the cardinality cache, which reads would update, so published
+     * bitmaps can be read from any thread.
+     */
+    private static Roaring64NavigableMap bitmap() {
+        return new Roaring64NavigableMap(false, false);
+    }
+
+    private List<ArticleView> resolve(List<Long> ids) {
+        Map<Long, ArticleView> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            articleIndex.get(id).ifPresentOrElse(view -> found.put(id, view), () -> missing.add(id));
+        }
+        if (!missing.isEmpty()) {
+            for (Article article : articleRepository.findAllById(missing)) {
+                found.put(article.getId(), ArticleView.of(article));
+            }
+            missing.removeIf(found::containsKey);
+        }
+        if (!missing.isEmpty()) {
+            for (ArchivedArticle archived : archivedArticleRepository.findAllById(missing)) {
+                found.put(archived.getId(), ArticleView.of(archived.toArticle()));
+            }
+        }
+        List<ArticleView> articles = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ArticleView view = found.get(id);
+            if (view != null) {
+                articles.add(view);
+            }
+        }
+        return articles;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.news.tagging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "news.tagging")
+public class TaggingProperties {
+
+    /**
+     * Whether articles are tagged and tag pages are served from memory.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Keywords per tag. An article gets the tag when its keywords occur at
+     * least {@code min-matches} times, title occurrences counting twice.
+     */
+    private Map<String, List<String>> rules = new LinkedHashMap<>();
+
+    /**
+     * Keyword occurrences an article needs for a rule to tag it.
+     */
+    private int minMatches = 3;
+
+    /**
+     * Log-odds above which the trained model adds a tag the rules missed.
+     */
+    private double modelThreshold = 5.0;
+
+    /**
+     * Newest articles the model is trained on.
+     */
+    private int trainingSize = 5_000;
+
+    /**
+     * Articles a tag needs in the training set for the model to learn it.
+     */
+    private int minExamples = 20;
+
+    /**
+     * Most tags per article.
+     */
+    private int maxTags = 3;
+
+    /**
+     * How often the model is retrained; existing tags are not rewritten.
+     */
+    private Duration retrainInterval = Duration.ofHours(6);
+
+    /**
+     * Articles tagged per transaction when untagged articles are backfilled.
+     */
+    private int backfillBatchSize = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, List<String>> getRules() {
+        return rules;
+    }
+
+    public void setRules(Map<String, List<String>> rules) {
+        this.rules = rules;
+    }
+
+    public int getMinMatches() {
+        return minMatches;
+    }
+
+    public void setMinMatches(int minMatches) {
+        this.minMatches = minMatches;
+    }
+
+    public double getModelThreshold() {
+        return modelThreshold;
+    }
+
+    public void setModelThreshold(double modelThreshold) {
+        this.modelThreshold = modelThreshold;
+    }
+
+    public int getTrainingSize() {
+        return trainingSize;
+    }
+
+    public void setTrainingSize(int trainingSize) {
+        this.trainingSize = trainingSize;
+    }
+
+    public int getMinExamples() {
+        return minExamples;
+    }
+
+    public void setMinExamples(int minExamples) {
+        this.minExamples = minExamples;
+    }
+
+    public int getMaxTags() {
+        return maxTags;
+    }
+
+    public void setMaxTags(int maxTags) {
+        this.maxTags = maxTags;
+    }
+
+    public Duration getRetrainInterval() {
+        return retrainInterval;
+    }
+
+    public void setRetrainInterval(Duration retrainInterval) {
+        this.retrainInterval = retrainInterval;
+    }
+
+    public int getBackfillBatchSize() {
+        return backfillBatchSize;
+    }
+
+    public void setBackfillBatchSize(int backfillBatchSize) {
+        this.backfillBatchSize = backfillBatchSize;
+    }
+}
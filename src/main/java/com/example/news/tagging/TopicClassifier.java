@@ -0,0 +1,103 @@
+package com.example.news.tagging;
+
+import com.example.news.util.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Assigns tags to an article: every tag its keyword rules match, strongest
+ * match first, then the tags the model is confident about, up to
+ * {@code maxTags}. The model is trained on the tags the rules give recent
+ * articles, so it learns the vocabulary around the keywords and catches
+ * articles that use it without enough keywords.
+ *
+ * Instances are immutable; {@link #retrain} returns a new one.
+ */
+final class TopicClassifier {
+
+    /**
+     * The text of an article to classify or train on.
+     */
+    record Text(String title, String content) {
+    }
+
+    private final KeywordRules rules;
+    private final NaiveBayesModel model;
+    private final double threshold;
+    private final int maxTags;
+    private final int minExamples;
+
+    TopicClassifier(TaggingProperties properties) {
+        this(new KeywordRules(properties.getRules(), properties.getMinMatches()), NaiveBayesModel.empty(),
+                properties.getModelThreshold(), properties.getMaxTags(), properties.getMinExamples());
+    }
+
+    private TopicClassifier(KeywordRules rules, NaiveBayesModel model, double threshold, int maxTags,
+                            int minExamples) {
+        this.rules = rules;
+        this.model = model;
+        this.threshold = threshold;
+        this.maxTags = maxTags;
+        this.minExamples = minExamples;
+    }
+
+    /**
+     * Every tag the classifier can assign.
+     */
+    List<String> tags() {
+        return rules.tags();
+    }
+
+    /**
+     * Tags the model learned in the last training.
+     */
+    List<String> modelledTags() {
+        return model.tags();
+    }
+
+    Set<String> classify(Text text) {
+        List<String> titleTerms = Tokenizer.terms(text.title());
+        List<String> contentTerms = Tokenizer.terms(text.content());
+        Set<String> tags = new LinkedHashSet<>();
+        rules.match(titleTerms, contentTerms).entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(maxTags)
+                .forEach(match -> tags.add(match.getKey()));
+        if (tags.size() < maxTags) {
+            model.score(distinct(titleTerms, contentTerms)).entrySet().stream()
+                    .filter(score -> score.getValue() >= threshold && !tags.contains(score.getKey()))
+                    .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()))
+                    .limit(maxTags - tags.size())
+                    .forEach(score -> tags.add(score.getKey()));
+        }
+        return tags;
+    }
+
+    /**
+     * Trains a new model on what the rules say about {@code texts}.
+     */
+    TopicClassifier retrain(List<Text> texts) {
+        List<Set<String>> documents = new ArrayList<>(texts.size());
+        List<Set<String>> labels = new ArrayList<>(texts.size());
+        for (Text text : texts) {
+            List<String> titleTerms = Tokenizer.terms(text.title());
+            List<String> contentTerms = Tokenizer.terms(text.content());
+            documents.add(distinct(titleTerms, contentTerms));
+            labels.add(rules.match(titleTerms, contentTerms).keySet());
+        }
+        NaiveBayesModel trained = NaiveBayesModel.train(documents, labels, rules.tags(), minExamples);
+        return new TopicClassifier(rules, trained, threshold, maxTags, minExamples);
+    }
+
+    private static Set<String> distinct(List<String> titleTerms, List<String> contentTerms) {
+        Set<String> terms = new HashSet<>(titleTerms);
+        terms.addAll(contentTerms);
+        return terms;
+    }
+}
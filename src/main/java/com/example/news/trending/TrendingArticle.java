@@ -0,0 +1,11 @@
+package com.example.news.trending;
+
+import java.time.LocalDateTime;
+
+/**
+ * An entry of the trending list: the article, its views within the window
+ * and its decayed score.
+ */
+public record TrendingArticle(Long id, String title, String source, LocalDateTime publishedAt, long views,
+                              double score) {
+}
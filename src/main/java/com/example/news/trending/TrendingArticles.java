@@ -0,0 +1,188 @@
+package com.example.news.trending;
+
+import com.example.news.entity.Article;
+import com.example.news.index.ArticleIndex;
+import com.example.news.index.ArticleView;
+import com.example.news.repository.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The trending list. Once per bucket the view counts of the window are
+ * combined into scores, each view weighted by {@code 0.5^(age / half-life)},
+ * and the top {@code news.trending.size} articles are published as an
+ * immutable list, so readers get it in O(k) without touching the counters.
+ *
+ * Closed buckets are then written to {@code article_views} in one batch.
+ * Every node writes its own rows, and on startup the window is read back
+ * from there, so the list survives restarts and reflects all nodes after
+ * one.
+ */
+@Component
+public class TrendingArticles {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingArticles.class);
+
+    private static final Comparator<TrendingArticle> BY_SCORE = Comparator.comparingDouble(TrendingArticle::score);
+
+    private final ViewCounter viewCounter;
+    private final TrendingProperties properties;
+    private final ArticleIndex articleIndex;
+    private final ArticleRepository articleRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile List<TrendingArticle> trending = List.of();
+
+    @Autowired
+    public TrendingArticles(ViewCounter viewCounter, TrendingProperties properties, ArticleIndex articleIndex,
+                            ArticleRepository articleRepository, JdbcTemplate jdbcTemplate) {
+        this.viewCounter = viewCounter;
+        this.properties = properties;
+        this.articleIndex = articleIndex;
+        this.articleRepository = articleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The highest-scoring articles, best first.
+     */
+    public List<TrendingArticle> top(int limit) {
+        List<TrendingArticle> current = trending;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            long bucketMillis = viewCounter.bucketMillis();
+            long from = (viewCounter.currentIndex() - viewCounter.windowBuckets()) * bucketMillis;
+            jdbcTemplate.query("SELECT article_id, bucket_start, views FROM article_views WHERE bucket_start >= ?",
+                    rs -> {
+                        long index = rs.getTimestamp(2).getTime() / bucketMillis;
+                        viewCounter.restore(index, rs.getLong(1), rs.getLong(3));
+                    }, new Timestamp(from));
+            refresh();
+        } catch (Exception e) {
+            logger.error("Error restoring article view counts, trending starts empty", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${news.trending.bucket:PT1M}", fixedDelayString = "${news.trending.bucket:PT1M}")
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long current = viewCounter.currentIndex();
+        try {
+            trending = score(current);
+        } catch (Exception e) {
+            logger.error("Error computing trending articles", e);
+        }
+        try {
+            flush(current - 1);
+        } catch (Exception e) {
+            logger.error("Error flushing article view counts", e);
+        }
+    }
+
+    private List<TrendingArticle> score(long current) {
+        long windowBuckets = viewCounter.windowBuckets();
+        double halfLifeBuckets = (double) properties.getHalfLife().toMillis() / viewCounter.bucketMillis();
+        Map<Long, double[]> totals = new HashMap<>();
+        for (ViewBucket bucket : viewCounter.buckets()) {
+            long age = current - bucket.index;
+            if (age < 0 || age >= windowBuckets) {
+                continue;
+            }
+            double weight = Math.pow(0.5, age / halfLifeBuckets);
+            bucket.views.forEach((articleId, views) -> {
+                long count = views.sum();
+                double[] total = totals.computeIfAbsent(articleId, id -> new double[2]);
+                total[0] += count;
+                total[1] += count * weight;
+            });
+        }
+
+        int size = properties.getSize();
+        PriorityQueue<Map.Entry<Long, double[]>> best = new PriorityQueue<>(size + 1,
+                Comparator.comparingDouble(entry -> entry.getValue()[1]));
+        for (Map.Entry<Long, double[]> entry : totals.entrySet()) {
+            best.add(entry);
+            if (best.size() > size) {
+                best.poll();
+            }
+        }
+
+        Map<Long, Article> missing = load(best.stream().map(Map.Entry::getKey)
+                .filter(id -> articleIndex.get(id).isEmpty())
+                .collect(Collectors.toSet()));
+        List<TrendingArticle> ranked = new ArrayList<>(best.size());
+        for (Map.Entry<Long, double[]> entry : best) {
+            long views = (long) entry.getValue()[0];
+            double score = entry.getValue()[1];
+            ArticleView view = articleIndex.get(entry.getKey()).orElse(null);
+            Article article = missing.get(entry.getKey());
+            if (view != null) {
+                ranked.add(new TrendingArticle(view.id(), view.title(), view.source(), view.publishedAt(), views, score));
+            } else if (article != null) {
+                ranked.add(new TrendingArticle(article.getId(), article.getTitle(), article.getSource(),
+                        article.getPublishedAt(), views, score));
+            }
+        }
+        ranked.sort(BY_SCORE.reversed());
+        return List.copyOf(ranked);
+    }
+
+    private Map<Long, Article> load(Set<Long> ids) {
+        Map<Long, Article> articles = new HashMap<>();
+        if (!ids.isEmpty()) {
+            articleRepository.findAllById(ids).forEach(article -> articles.put(article.getId(), article));
+        }
+        return articles;
+    }
+
+    /**
+     * Writes the counts of every unflushed bucket that ended before
+     * {@code index} in one batch and drops rows past the retention period.
+     * The bucket before the current one is left open a little longer for
+     * views recorded while it was being replaced.
+     */
+    void flush(long index) {
+        List<ViewBucket> buckets = viewCounter.unflushedBefore(index);
+        List<Object[]> rows = new ArrayList<>();
+        for (ViewBucket bucket : buckets) {
+            Timestamp start = new Timestamp(bucket.index * viewCounter.bucketMillis());
+            bucket.views.forEach((articleId, views) -> rows.add(new Object[] {articleId, start, views.sum()}));
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO article_views (article_id, bucket_start, views) VALUES (?, ?, ?)", rows);
+            logger.debug("Flushed {} article view counts from {} buckets", rows.size(), buckets.size());
+        }
+        buckets.forEach(bucket -> bucket.flushed = true);
+        LocalDateTime expired = LocalDateTime.ofInstant(Instant.ofEpochMilli(index * viewCounter.bucketMillis()),
+                ZoneId.systemDefault()).minus(properties.getRetention());
+        jdbcTemplate.update("DELETE FROM article_views WHERE bucket_start < ?", expired);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.news.trending;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "news.trending")
+public class TrendingProperties {
+
+    /**
+     * Whether article views are counted.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Width of one view-count bucket; scores are recomputed once per bucket.
+     */
+    private Duration bucket = Duration.ofMinutes(1);
+
+    /**
+     * Views older than this no longer count towards the score.
+     */
+    private Duration window = Duration.ofHours(6);
+
+    /**
+     * Age at which a view counts half as much as a new one.
+     */
+    private Duration halfLife = Duration.ofHours(1);
+
+    /**
+     * Articles kept in the trending list.
+     */
+    private int size = 50;
+
+    /**
+     * How long flushed view counts are kept in the article_views table.
+     */
+    private Duration retention = Duration.ofDays(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(Duration bucket) {
+        this.bucket = bucket;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getHalfLife() {
+        return halfLife;
+    }
+
+    public void setHalfLife(Duration halfLife) {
+        this.halfLife = halfLife;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+}
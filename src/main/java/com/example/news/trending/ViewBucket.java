@@ -0,0 +1,32 @@
+package com.example.news.trending;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Views per article during one bucket of time. {@link LongAdder} stripes the
+ * counter of a popular article across cells, so concurrent readers of the
+ * same article do not contend on one memory location.
+ */
+final class ViewBucket {
+
+    /**
+     * Bucket number: milliseconds since the epoch divided by the bucket width.
+     */
+    final long index;
+
+    final ConcurrentHashMap<Long, LongAdder> views = new ConcurrentHashMap<>();
+
+    /**
+     * Set once the counts are in the database.
+     */
+    volatile boolean flushed;
+
+    ViewBucket(long index) {
+        this.index = index;
+    }
+
+    void add(Long articleId, long count) {
+        views.computeIfAbsent(articleId, id -> new LongAdder()).add(count);
+    }
+}
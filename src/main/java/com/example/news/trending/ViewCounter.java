@@ -0,0 +1,126 @@
+package com.example.news.trending;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Counts article views in a ring of time buckets covering the trending
+ * window. Recording a view takes no lock: the current bucket is found by
+ * index, replaced with a compare-and-set when its time is up, and the
+ * article's counter is a {@link java.util.concurrent.atomic.LongAdder}.
+ */
+@Component
+@EnableConfigurationProperties(TrendingProperties.class)
+public class ViewCounter {
+
+    private final TrendingProperties properties;
+    private final Clock clock;
+    private final long bucketMillis;
+    private final AtomicReferenceArray<ViewBucket> ring;
+
+    /**
+     * Buckets pushed out of the ring before they were flushed.
+     */
+    private final ConcurrentLinkedQueue<ViewBucket> evicted = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public ViewCounter(TrendingProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    ViewCounter(TrendingProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.bucketMillis = properties.getBucket().toMillis();
+        // the window plus the current bucket and one waiting to be flushed
+        this.ring = new AtomicReferenceArray<>(Math.toIntExact(windowBuckets() + 2));
+    }
+
+    public void record(Long articleId) {
+        if (properties.isEnabled() && articleId != null) {
+            bucket(currentIndex()).add(articleId, 1);
+        }
+    }
+
+    long currentIndex() {
+        return clock.millis() / bucketMillis;
+    }
+
+    long bucketMillis() {
+        return bucketMillis;
+    }
+
+    long windowBuckets() {
+        return Math.max(properties.getWindow().toMillis() / bucketMillis, 1);
+    }
+
+    /**
+     * Buckets still in the ring, in no particular order.
+     */
+    List<ViewBucket> buckets() {
+        List<ViewBucket> buckets = new ArrayList<>(ring.length());
+        for (int slot = 0; slot < ring.length(); slot++) {
+            ViewBucket bucket = ring.get(slot);
+            if (bucket != null) {
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Unflushed buckets that ended before {@code index}, including evicted ones.
+     */
+    List<ViewBucket> unflushedBefore(long index) {
+        List<ViewBucket> unflushed = new ArrayList<>();
+        for (ViewBucket bucket = evicted.poll(); bucket != null; bucket = evicted.poll()) {
+            unflushed.add(bucket);
+        }
+        for (ViewBucket bucket : buckets()) {
+            if (bucket.index < index && !bucket.flushed) {
+                unflushed.add(bucket);
+            }
+        }
+        return unflushed;
+    }
+
+    /**
+     * Adds counts read back from the database after a restart. They are
+     * already stored, so the bucket is not flushed again; the current bucket
+     * is left alone for the same reason.
+     */
+    void restore(long index, Long articleId, long views) {
+        if (index >= currentIndex() || index <= currentIndex() - ring.length()) {
+            return;
+        }
+        ViewBucket bucket = bucket(index);
+        if (bucket.index == index) {
+            bucket.flushed = true;
+            bucket.add(articleId, views);
+        }
+    }
+
+    private ViewBucket bucket(long index) {
+        int slot = (int) (index % ring.length());
+        while (true) {
+            ViewBucket bucket = ring.get(slot);
+            if (bucket != null && bucket.index >= index) {
+                return bucket;
+            }
+            ViewBucket fresh = new ViewBucket(index);
+            if (ring.compareAndSet(slot, bucket, fresh)) {
+                if (bucket != null && !bucket.flushed) {
+                    evicted.add(bucket);
+                }
+                return fresh;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.news.activity;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.service.ArticleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReadActivityTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ReadActivity readActivity;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @WithMockUser(username = "reader")
+    void upsertsViewsAndReadHistory() throws Exception {
+        ArticleDTO article = new ArticleDTO();
+        article.setTitle("Write behind");
+        article.setContent("Content");
+        article.setSource("Source");
+        article.setPublishedAt(LocalDateTime.now());
+        Long id = articleService.createArticle(article).getId();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/articles/fetch/{id}", id)).andExpect(status().isOk());
+        }
+        readActivity.flush();
+        mockMvc.perform(get("/articles/index/fetch/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(post("/activity/position/{id}", id).param("position", "40").with(csrf()))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(post("/activity/position/{id}", id).param("position", "140").with(csrf()))
+                .andExpect(status().isBadRequest());
+        readActivity.flush();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT views FROM article_stats WHERE article_id = ?",
+                Long.class, id)).isEqualTo(4);
+        mockMvc.perform(get("/activity/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].articleId").value(id))
+                .andExpect(jsonPath("$[0].title").value("Write behind"))
+                .andExpect(jsonPath("$[0].reads").value(4))
+                .andExpect(jsonPath("$[0].position").value(40));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.news.activity;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.service.ArticleService;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReadStatesTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ReadStates readStates;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @WithMockUser(username = "unread-reader")
+    void filtersReadArticlesOutOfListings() throws Exception {
+        Long read = create("Already read story");
+        Long unread = create("Still unread story");
+
+        mockMvc.perform(get("/news/{id}", read)).andExpect(status().isOk());
+        assertThat(readStates.isRead("unread-reader", read)).isTrue();
+        assertThat(readStates.isRead("unread-reader", unread)).isFalse();
+
+        mockMvc.perform(get("/news").param("unread", "true").param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Still unread story")))
+                .andExpect(content().string(not(containsString("Already read story"))));
+        mockMvc.perform(get("/activity/unread").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(unread.intValue())))
+                .andExpect(jsonPath("$[*].id", not(hasItem(read.intValue()))));
+    }
+
+    @Test
+    void persistsMergedStateAndReloadsIt() throws Exception {
+        readStates.markRead("merger", 1L);
+        readStates.flush();
+        Roaring64NavigableMap elsewhere = Roaring64NavigableMap.bitmapOf(1L, 99L);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        elsewhere.serialize(new DataOutputStream(bytes));
+        jdbcTemplate.update("UPDATE user_read_state SET read_ids = ? WHERE username = ?", bytes.toByteArray(), "merger");
+
+        readStates.markRead("merger", 2L);
+        readStates.flush();
+        readStates.evict(System.nanoTime());
+
+        assertThat(readStates.size()).isZero();
+        assertThat(readStates.isRead("merger", 1L)).isTrue();
+        assertThat(readStates.isRead("merger", 2L)).isTrue();
+        assertThat(readStates.isRead("merger", 99L)).isTrue();
+        assertThat(readStates.isRead("merger", 3L)).isFalse();
+    }
+
+    private Long create(String title) {
+        ArticleDTO article = new ArticleDTO();
+        article.setTitle(title);
+        article.setContent("Content of " + title);
+        article.setSource("Read State Source");
+        article.setPublishedAt(LocalDateTime.now());
+        return articleService.createArticle(article).getId();
+    }
+}
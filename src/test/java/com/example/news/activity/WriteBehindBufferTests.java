@@ -0,0 +1,99 @@
+package com.example.news.activity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteBehindBufferTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void coalescesEventsPerKey() {
+        List<List<Map.Entry<String, Long>>> batches = new CopyOnWriteArrayList<>();
+        WriteBehindBuffer<String, Long> buffer = buffer(100, 10, Duration.ofHours(1), batches::add);
+
+        for (int i = 0; i < 5; i++) {
+            buffer.append("a", 1L);
+        }
+        buffer.append("b", 1L);
+        buffer.flush();
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder(Map.entry("a", 5L), Map.entry("b", 1L));
+    }
+
+    @Test
+    void writesOnceBatchIsFullOrOldestEventIsDue() throws Exception {
+        CountDownLatch written = new CountDownLatch(2);
+        Map<String, Long> totals = new ConcurrentHashMap<>();
+        WriteBehindBuffer<String, Long> buffer = buffer(100, 3, Duration.ofMillis(200), batch -> {
+            batch.forEach(entry -> totals.merge(entry.getKey(), entry.getValue(), Long::sum));
+            written.countDown();
+        });
+        buffer.start();
+        try {
+            buffer.append("a", 1L);
+            buffer.append("b", 1L);
+            buffer.append("c", 1L);
+            buffer.append("d", 1L);
+
+            assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(totals).containsOnlyKeys("a", "b", "c", "d");
+        } finally {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void dropsEventsWhenFullAndFlushesTheRestOnStop() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Map<Integer, Long> totals = new ConcurrentHashMap<>();
+        WriteBehindBuffer<Integer, Long> buffer = buffer(4, 1, Duration.ofMillis(10), batch -> {
+            blocked.countDown();
+            awaitQuietly(release);
+            batch.forEach(entry -> totals.merge(entry.getKey(), entry.getValue(), Long::sum));
+        });
+        buffer.start();
+        buffer.append(0, 1L);
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        int accepted = 0;
+        for (int i = 1; i <= 10; i++) {
+            if (buffer.append(i, 1L)) {
+                accepted++;
+            }
+        }
+        release.countDown();
+        buffer.stop();
+
+        assertThat(accepted).isEqualTo(4);
+        assertThat(totals).hasSize(5);
+        assertThat(meterRegistry.get("news.write_behind.dropped").counter().count()).isEqualTo(6);
+        assertThat(meterRegistry.get("news.write_behind.flushed").counter().count()).isEqualTo(5);
+    }
+
+    private <K> WriteBehindBuffer<K, Long> buffer(int capacity, int batchSize, Duration maxDelay,
+                                                  Consumer<List<Map.Entry<K, Long>>> flusher) {
+        return new WriteBehindBuffer<>("test", capacity, batchSize, maxDelay, Long::sum, flusher, meterRegistry);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
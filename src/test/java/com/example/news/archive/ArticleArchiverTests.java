@@ -0,0 +1,73 @@
+package com.example.news.archive;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.entity.Article;
+import com.example.news.exception.ArticleNotFoundException;
+import com.example.news.index.ArticleIndex;
+import com.example.news.repository.ArchivedArticleRepository;
+import com.example.news.repository.ArticleRepository;
+import com.example.news.service.ArticleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ArticleArchiverTests {
+
+    @Autowired
+    private ArticleArchiver articleArchiver;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArchivedArticleRepository archivedArticleRepository;
+
+    @Autowired
+    private ArticleIndex articleIndex;
+
+    @Test
+    void movesOldArticlesAndFallsThroughOnReads() {
+        LocalDateTime now = LocalDateTime.now();
+        Article old = articleService.createArticle(article("Glacier survey archived findings", now.minusYears(3)));
+        Article recent = articleService.createArticle(article("Glacier survey recent findings", now.minusDays(1)));
+
+        assertThat(articleArchiver.archive(now.minusYears(2))).isPositive();
+
+        assertThat(articleRepository.existsById(old.getId())).isFalse();
+        assertThat(archivedArticleRepository.existsById(old.getId())).isTrue();
+        assertThat(articleRepository.existsById(recent.getId())).isTrue();
+        assertThat(articleIndex.get(old.getId())).isEmpty();
+        assertThat(articleIndex.isComplete()).isFalse();
+
+        Article fetched = articleService.getArticleById(old.getId());
+        assertThat(fetched.getTitle()).isEqualTo("Glacier survey archived findings");
+        assertThat(fetched.getContent()).isEqualTo("Content of Glacier survey archived findings");
+
+        assertThat(articleService.searchArticles("glacier survey", 10)).extracting(Article::getId)
+                .containsExactly(recent.getId(), old.getId());
+        assertThat(articleService.searchArticles("glacier survey", 1)).extracting(Article::getId)
+                .containsExactly(recent.getId());
+
+        assertThat(articleService.deleteArticle(old.getId())).isPresent();
+        assertThatThrownBy(() -> articleService.getArticleById(old.getId()))
+                .isInstanceOf(ArticleNotFoundException.class);
+    }
+
+    private static ArticleDTO article(String title, LocalDateTime publishedAt) {
+        ArticleDTO dto = new ArticleDTO();
+        dto.setTitle(title);
+        dto.setContent("Content of " + title);
+        dto.setSource("Archive Source");
+        dto.setPublishedAt(publishedAt);
+        return dto;
+    }
+}
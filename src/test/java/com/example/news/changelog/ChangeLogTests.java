@@ -0,0 +1,158 @@
+package com.example.news.changelog;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.entity.Article;
+import com.example.news.index.ArticleIndex;
+import com.example.news.index.ArticleView;
+import com.example.news.service.ArticleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ChangeLogTests {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleIndex articleIndex;
+
+    @Autowired
+    private ChangeLogPoller poller;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ChangeLogProperties properties;
+
+    @Test
+    void entriesCommitAndRollBackWithTheChange() {
+        Long saved = articleService.createArticle(article("Logged")).getId();
+        Long rolledBack = new TransactionTemplate(transactionManager).execute(status -> {
+            Article article = articleService.createArticle(article("Rolled back"));
+            status.setRollbackOnly();
+            return article.getId();
+        });
+
+        assertThat(entries(saved)).isEqualTo(1);
+        assertThat(entries(rolledBack)).isZero();
+    }
+
+    @Test
+    void appliesChangesOfOtherNodesToTheIndex() {
+        Article changed = articleService.createArticle(article("Before"));
+        Article deleted = articleService.createArticle(article("Deleted elsewhere"));
+        poller.poll();
+
+        jdbcTemplate.update("UPDATE articles SET title = 'After' WHERE id = ?", changed.getId());
+        jdbcTemplate.update("DELETE FROM articles WHERE id = ?", deleted.getId());
+        remoteEntry(changed.getId());
+        remoteEntry(deleted.getId());
+        poller.poll();
+
+        assertThat(articleIndex.get(changed.getId())).map(ArticleView::title).contains("After");
+        assertThat(articleIndex.get(deleted.getId())).isEmpty();
+    }
+
+    @Test
+    void waitsForMissingIdsBeforeMovingOn() throws Exception {
+        Article article = articleService.createArticle(article("Late commit"));
+        poller.stop();
+        poller.start();
+        long cursor = poller.cursor();
+
+        try (Connection slow = dataSource.getConnection(); Connection fast = dataSource.getConnection()) {
+            slow.setAutoCommit(false);
+            remoteEntry(slow, article.getId());
+            remoteEntry(fast, article.getId());
+            poller.poll();
+            assertThat(poller.cursor()).isEqualTo(cursor);
+
+            try (PreparedStatement update = slow.prepareStatement("UPDATE articles SET title = ? WHERE id = ?")) {
+                update.setString(1, "Committed late");
+                update.setLong(2, article.getId());
+                update.executeUpdate();
+            }
+            slow.commit();
+        }
+        poller.poll();
+
+        assertThat(poller.cursor()).isEqualTo(cursor + 2);
+        assertThat(articleIndex.get(article.getId())).map(ArticleView::title).contains("Committed late");
+    }
+
+    @Test
+    void readsPastAGapFollowedByMoreThanABatch() throws Exception {
+        Article filler = articleService.createArticle(article("Filler"));
+        Article changed = articleService.createArticle(article("Behind the gap"));
+        int batchSize = properties.getBatchSize();
+        properties.setBatchSize(5);
+        try (Connection slow = dataSource.getConnection()) {
+            poller.stop();
+            poller.start();
+            long cursor = poller.cursor();
+            slow.setAutoCommit(false);
+            remoteEntry(slow, filler.getId());
+            for (int i = 0; i < 12; i++) {
+                remoteEntry(filler.getId());
+            }
+            jdbcTemplate.update("UPDATE articles SET title = 'Seen in one poll' WHERE id = ?", changed.getId());
+            remoteEntry(changed.getId());
+
+            poller.poll();
+            assertThat(articleIndex.get(changed.getId())).map(ArticleView::title).contains("Seen in one poll");
+            assertThat(poller.cursor()).isEqualTo(cursor);
+
+            slow.commit();
+            poller.poll();
+            assertThat(poller.cursor()).isEqualTo(cursor + 14);
+        } finally {
+            properties.setBatchSize(batchSize);
+        }
+    }
+
+    private int entries(Long articleId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_log WHERE kind = 'ARTICLE' AND entity_id = ?",
+                Integer.class, articleId);
+    }
+
+    private void remoteEntry(Long articleId) {
+        jdbcTemplate.update("INSERT INTO change_log (kind, entity_id, origin_node, created_at)"
+                + " VALUES ('ARTICLE', ?, 'other-node', LOCALTIMESTAMP)", articleId);
+    }
+
+    private static void remoteEntry(Connection connection, Long articleId) throws Exception {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO change_log"
+                + " (kind, entity_id, origin_node, created_at) VALUES ('ARTICLE', ?, 'other-node', LOCALTIMESTAMP)")) {
+            insert.setLong(1, articleId);
+            insert.executeUpdate();
+        }
+    }
+
+    private static ArticleDTO article(String title) {
+        ArticleDTO dto = new ArticleDTO();
+        dto.setTitle(title);
+        dto.setContent("Content of " + title);
+        dto.setSource("Change Log Source");
+        dto.setPublishedAt(LocalDateTime.now());
+        return dto;
+    }
+}
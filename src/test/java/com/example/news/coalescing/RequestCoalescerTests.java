@@ -0,0 +1,163 @@
+package com.example.news.coalescing;
+
+import com.example.news.entity.Article;
+import com.example.news.exception.ArticleNotFoundException;
+import com.example.news.exception.CoalescedLoadTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void concurrentCallsWithEqualArgumentsShareOneLoad() throws Exception {
+        RequestCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Map<Integer, Object> results = new ConcurrentHashMap<>();
+
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int caller = i;
+            callers.add(start(() -> results.put(caller, coalescer.execute("latest", List.of(7L), () -> {
+                loads.incrementAndGet();
+                release.await();
+                return new Object();
+            }))));
+        }
+        awaitBlocked(callers);
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(10);
+        assertThat(results.values().stream().distinct()).hasSize(1);
+        assertThat(calls("follower")).isEqualTo(9);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void followersGetDetachedCopiesOfTheLeadersArticles() throws Exception {
+        RequestCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        Article loaded = new Article();
+        loaded.setId(7L);
+        loaded.setTitle("Shared");
+        loaded.setContent("Body");
+        Map<String, Object> results = new ConcurrentHashMap<>();
+
+        Thread leader = start(() -> results.put("leader", coalescer.execute("all", List.of(0), () -> {
+            release.await();
+            return List.of(loaded);
+        }, DetachedCopies::of)));
+        awaitBlocked(List.of(leader));
+        Thread follower = start(() -> results.put("follower", coalescer.execute("all", List.of(0),
+                () -> List.of(new Article()), DetachedCopies::of)));
+        awaitBlocked(List.of(follower));
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        Article shared = ((List<Article>) results.get("leader")).get(0);
+        Article copy = ((List<Article>) results.get("follower")).get(0);
+        assertThat(shared).isSameAs(loaded);
+        assertThat(copy).isNotSameAs(loaded).isEqualTo(loaded);
+        assertThat(copy.getContent()).isEqualTo("Body");
+    }
+
+    @Test
+    void followersGetTheLeadersExceptionAndLaterCallsLoadAgain() throws Throwable {
+        RequestCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+
+        Thread leader = start(() -> failOnRelease(coalescer, release, failures, "leader"));
+        awaitBlocked(List.of(leader));
+        Thread follower = start(() -> failOnRelease(coalescer, release, failures, "follower"));
+        awaitBlocked(List.of(follower));
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        assertThat(failures.get("follower")).isSameAs(failures.get("leader")).isInstanceOf(ArticleNotFoundException.class);
+        assertThat(coalescer.execute("fetch", List.of(1L), () -> "loaded again")).isEqualTo("loaded again");
+    }
+
+    @Test
+    void followersGiveUpAfterTheTimeout() throws Exception {
+        RequestCoalescer coalescer = coalescer(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        Thread leader = start(() -> coalescer.execute("fetch", List.of(1L), () -> release.await(5, TimeUnit.SECONDS)));
+        awaitBlocked(List.of(leader));
+
+        assertThatThrownBy(() -> coalescer.execute("fetch", List.of(1L), () -> true))
+                .isInstanceOf(CoalescedLoadTimeoutException.class);
+        assertThat(calls("timeout")).isEqualTo(1);
+        release.countDown();
+        leader.join();
+    }
+
+    private static void failOnRelease(RequestCoalescer coalescer, CountDownLatch release,
+                                      Map<String, Throwable> failures, String caller) {
+        try {
+            coalescer.execute("fetch", List.of(1L), () -> {
+                release.await();
+                throw new ArticleNotFoundException("No Article found with id 1");
+            });
+        } catch (Throwable t) {
+            failures.put(caller, t);
+        }
+    }
+
+    private RequestCoalescer coalescer(Duration timeout) {
+        CoalescingProperties properties = new CoalescingProperties();
+        properties.setTimeout(timeout);
+        return new RequestCoalescer(properties, meterRegistry);
+    }
+
+    private double calls(String outcome) {
+        return meterRegistry.get("news.coalescing.calls").tag("outcome", outcome).counter().count();
+    }
+
+    private interface Call {
+        void run() throws Throwable;
+    }
+
+    private static Thread start(Call call) {
+        Thread thread = new Thread(() -> {
+            try {
+                call.run();
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Waits until every thread is parked in the load or waiting for it.
+     */
+    private static void awaitBlocked(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(1);
+            }
+        }
+    }
+}
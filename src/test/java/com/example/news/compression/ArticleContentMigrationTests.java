@@ -0,0 +1,100 @@
+package com.example.news.compression;
+
+import com.example.news.entity.Article;
+import com.example.news.repository.ArticleRepository;
+import com.example.news.seed.CorpusGenerator;
+import com.github.luben.zstd.ZstdDictTrainer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ArticleContentMigrationTests {
+
+    @Autowired
+    private ArticleContentMigration migration;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContentCompressionProperties properties;
+
+    @Test
+    void compressesLegacyContentAndDropsTheColumnOnlyWhenEnabled() {
+        jdbcTemplate.execute("ALTER TABLE articles ADD COLUMN content CLOB");
+        jdbcTemplate.update("INSERT INTO articles (title, content, content_zstd, source, published_at)"
+                + " VALUES (?, ?, X'', ?, ?)", "Legacy", "Written before compression", "Legacy source",
+                LocalDateTime.now());
+        Long id = jdbcTemplate.queryForObject("SELECT id FROM articles WHERE title = 'Legacy'", Long.class);
+
+        migration.afterSingletonsInstantiated();
+
+        assertThat(migration.hasLegacyColumn()).isTrue();
+        Article article = articleRepository.findById(id).orElseThrow();
+        assertThat(article.getContent()).isEqualTo("Written before compression");
+        jdbcTemplate.update("INSERT INTO articles (title, content, source, published_at) VALUES (?, ?, ?, ?)",
+                "Legacy node", "Written by a node of the previous version", "Legacy source", LocalDateTime.now());
+        Long legacyNodeId = jdbcTemplate.queryForObject("SELECT id FROM articles WHERE title = 'Legacy node'", Long.class);
+        Article written = new Article();
+        written.setTitle("Written while the legacy column exists");
+        written.setContent("Compressed only");
+        written.setSource("Legacy source");
+        written.setPublishedAt(LocalDateTime.now());
+        articleRepository.save(written);
+
+        properties.setDropLegacyColumn(true);
+        try {
+            migration.afterSingletonsInstantiated();
+        } finally {
+            properties.setDropLegacyColumn(false);
+        }
+
+        assertThat(migration.hasLegacyColumn()).isFalse();
+        assertThat(articleRepository.findById(written.getId()).orElseThrow().getContent()).isEqualTo("Compressed only");
+        assertThat(articleRepository.findById(legacyNodeId).orElseThrow().getContent())
+                .isEqualTo("Written by a node of the previous version");
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO articles (title, source, published_at) VALUES (?, ?, ?)",
+                "No content", "Legacy source", LocalDateTime.now()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        articleRepository.deleteAllById(List.of(id, written.getId(), legacyNodeId));
+    }
+
+    @Test
+    void readsFramesWrittenWithEarlierDictionaries() {
+        CorpusGenerator generator = new CorpusGenerator(42, 10, 30, LocalDateTime.now());
+        List<String> texts = new ArrayList<>();
+        ZstdDictTrainer trainer = new ZstdDictTrainer(8 << 20, 16 * 1024);
+        for (int i = 0; i < 500; i++) {
+            Object[] row = new Object[4];
+            generator.article(i, row);
+            texts.add((String) row[1]);
+            trainer.addSample(((String) row[1]).getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] dictionary = trainer.trainSamples();
+        String text = texts.get(0);
+
+        byte[] plainFrame = ContentCodec.create(3, null, List.of()).compress(text);
+        byte[] dictionaryFrame = ContentCodec.create(3, dictionary, List.of()).compress(text);
+        ContentCodec replaced = ContentCodec.create(3, null, List.of(dictionary));
+
+        assertThat(dictionaryFrame.length).isLessThan(plainFrame.length);
+        assertThat(replaced.decompress(plainFrame)).isEqualTo(text);
+        assertThat(replaced.decompress(dictionaryFrame)).isEqualTo(text);
+        assertThatThrownBy(() -> ContentCodec.create(3, null, List.of()).decompress(dictionaryFrame))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.news.config;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.dto.SourceDTO;
+import com.example.news.entity.Article;
+import com.example.news.service.ArticleService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class WireFormatTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Test
+    void articlesNegotiateCborAndSmile() throws Exception {
+        ArticleDTO dto = new ArticleDTO();
+        dto.setTitle("Binary formats");
+        dto.setContent("Same article, fewer bytes");
+        dto.setSource("Wire");
+        dto.setPublishedAt(LocalDateTime.of(2024, 5, 1, 12, 30));
+        Article article = articleService.createArticle(dto);
+
+        JsonNode cbor = read(new CBORMapper(), "/articles/fetch/" + article.getId(), MediaType.APPLICATION_CBOR);
+        JsonNode smile = read(new SmileMapper(), "/articles/fetch/" + article.getId(), SMILE);
+
+        assertThat(cbor.get("title").asText()).isEqualTo("Binary formats");
+        assertThat(cbor.get("publishedAt").asText()).isEqualTo("2024-05-01T12:30:00");
+        assertThat(smile).isEqualTo(cbor);
+    }
+
+    @Test
+    void sourcesAcceptCborRequestBodies() throws Exception {
+        SourceDTO dto = new SourceDTO();
+        dto.setName("Binary source");
+        dto.setUrl("https://binary.example.com/feed");
+
+        byte[] response = mockMvc.perform(post("/sources/create").with(csrf())
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(new CBORMapper().writeValueAsBytes(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new CBORMapper().readTree(response).get("name").asText()).isEqualTo("Binary source");
+    }
+
+    private JsonNode read(ObjectMapper mapper, String url, MediaType mediaType) throws Exception {
+        byte[] body = mockMvc.perform(get(url).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+        return mapper.readTree(body);
+    }
+}
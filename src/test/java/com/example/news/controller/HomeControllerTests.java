@@ -0,0 +1,47 @@
+package com.example.news.controller;
+
+import com.example.news.exception.CoalescedLoadTimeoutException;
+import com.example.news.service.ArticleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:home_controller_tests;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@WithMockUser
+class HomeControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ArticleService articleService;
+
+    @Test
+    void answersCoalescingTimeoutsOnPagesWithRetryAfter() throws Exception {
+        CoalescedLoadTimeoutException timeout = new CoalescedLoadTimeoutException("Timed out",
+                Duration.ofMillis(4500));
+        when(articleService.getLatestArticles()).thenThrow(timeout);
+        when(articleService.getAllArticles(any())).thenThrow(timeout);
+        when(articleService.getArticleById(any())).thenThrow(timeout);
+
+        for (String page : new String[] {"/", "/news", "/news/1"}) {
+            mockMvc.perform(get(page))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.news.feed;
+
+import com.example.news.changelog.ChangeKind;
+import com.example.news.dto.ArticleDTO;
+import com.example.news.entity.Article;
+import com.example.news.event.RemoteChangeEvent;
+import com.example.news.repository.ArticleRepository;
+import com.example.news.service.ArticleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PublishedFeedsTests {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private PublishedFeeds publishedFeeds;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void servesRenderedFeedsWithoutSigningIn() throws Exception {
+        Article article = articleService.createArticle(article("Late goal <settles> the match",
+                "The team climbed the league"));
+        publishedFeeds.render();
+
+        MvcResult feed = mockMvc.perform(get("/feed.xml"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString("application/rss+xml")))
+                .andExpect(content().string(containsString("Late goal &lt;settles&gt; the match")))
+                .andExpect(content().string(containsString("http://localhost:8080/news/" + article.getId())))
+                .andReturn();
+        String etag = feed.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        mockMvc.perform(get("/feed.xml").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/feeds/sources/Feed-Source.xml"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("/news/" + article.getId())));
+        mockMvc.perform(get("/feeds/tags/sports.xml"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("/news/" + article.getId())));
+        mockMvc.perform(get("/feeds/sources/No-Such-Source.xml"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/sitemap.xml"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<loc>http://localhost:8080/news/" + article.getId()
+                        + "</loc>")));
+    }
+
+    @Test
+    void rendersChangedFeedsAgain() throws Exception {
+        Article article = articleService.createArticle(article("Harbour reopens", "Ships are back"));
+        publishedFeeds.render();
+        RenderedDocument before = publishedFeeds.source("Feed-Source").orElseThrow();
+
+        MvcResult gzipped = mockMvc.perform(get("/feeds/sources/Feed-Source.xml")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+        byte[] compressed = gzipped.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("Harbour reopens");
+        }
+
+        articleService.deleteArticle(article.getId());
+        publishedFeeds.render();
+
+        assertThat(publishedFeeds.source("Feed-Source").map(RenderedDocument::etag)).isNotEqualTo(
+                Optional.of(before.etag()));
+        mockMvc.perform(get("/feed.xml"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("/news/" + article.getId() + "<"))));
+    }
+
+    @Test
+    void rendersTheSourceFeedOfARemoteChange() {
+        articleService.createArticle(article("Bridge closes", "Traffic diverted"));
+        publishedFeeds.render();
+
+        Article remote = new Article();
+        remote.setTitle("Bridge reopens");
+        remote.setContent("Traffic flows again");
+        remote.setSource("Feed-Source");
+        remote.setPublishedAt(LocalDateTime.now());
+        remote = articleRepository.save(remote);
+        eventPublisher.publishEvent(new RemoteChangeEvent(ChangeKind.ARTICLE, Set.of(remote.getId()), false));
+        publishedFeeds.render();
+
+        assertThat(publishedFeeds.source("Feed-Source").orElseThrow().body())
+                .asString(StandardCharsets.UTF_8).contains("Bridge reopens", "Bridge closes");
+    }
+
+    private static ArticleDTO article(String title, String content) {
+        ArticleDTO dto = new ArticleDTO();
+        dto.setTitle(title);
+        dto.setContent(content);
+        dto.setSource("Feed-Source");
+        dto.setPublishedAt(LocalDateTime.now());
+        return dto;
+    }
+}
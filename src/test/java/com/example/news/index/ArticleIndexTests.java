@@ -0,0 +1,81 @@
+package com.example.news.index;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.entity.Article;
+import com.example.news.service.ArticleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ArticleIndexTests {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleIndex articleIndex;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void followsCommittedChanges() {
+        Article article = articleService.createArticle(article("Harbour bridge reopens after repairs"));
+        assertThat(articleIndex.get(article.getId())).map(ArticleView::title)
+                .contains("Harbour bridge reopens after repairs");
+        assertThat(articleIndex.search("BRIDGE harbour", 10)).extracting(ArticleView::id).contains(article.getId());
+
+        articleService.patchArticle(article.getId(), titleOnly("Harbour tunnel reopens"));
+        assertThat(articleIndex.search("bridge harbour", 10)).extracting(ArticleView::id).doesNotContain(article.getId());
+        assertThat(articleIndex.search("tunnel", 10)).extracting(ArticleView::id).contains(article.getId());
+
+        articleService.deleteArticle(article.getId());
+        assertThat(articleIndex.get(article.getId())).isEmpty();
+        assertThat(articleIndex.search("tunnel", 10)).extracting(ArticleView::id).doesNotContain(article.getId());
+    }
+
+    @Test
+    @WithMockUser
+    void servesReadsFromTheIndex() throws Exception {
+        Article article = articleService.createArticle(article("Observatory spots new comet"));
+
+        mockMvc.perform(get("/articles/index/fetch/{id}", article.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Observatory spots new comet"))
+                .andExpect(jsonPath("$.content").value(article.getContent()))
+                .andExpect(jsonPath("$.compressedContent").doesNotExist());
+        mockMvc.perform(get("/articles/index/search").param("q", "comet observatory"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(article.getId()));
+        mockMvc.perform(get("/articles/index/latest").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(article.getId()));
+    }
+
+    private static ArticleDTO article(String title) {
+        ArticleDTO dto = new ArticleDTO();
+        dto.setTitle(title);
+        dto.setContent("Content of " + title);
+        dto.setSource("Index Source");
+        dto.setPublishedAt(LocalDateTime.now().plusYears(1));
+        return dto;
+    }
+
+    private static ArticleDTO titleOnly(String title) {
+        ArticleDTO dto = new ArticleDTO();
+        dto.setTitle(title);
+        return dto;
+    }
+}
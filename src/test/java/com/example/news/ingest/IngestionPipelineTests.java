@@ -0,0 +1,215 @@
+package com.example.news.ingest;
+
+import com.example.news.changelog.ChangeLog;
+import com.example.news.dto.ArticleDTO;
+import com.example.news.entity.Article;
+import com.example.news.entity.Source;
+import com.example.news.index.ArticleIndex;
+import com.example.news.index.ArticleView;
+import com.example.news.repository.ArticleRepository;
+import com.example.news.repository.SourceRepository;
+import com.example.news.service.ArticleService;
+import com.example.news.tagging.ArticleTagger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:ingestion_pipeline_tests;MODE=MySQL;DB_CLOSE_DELAY=-1")
+class IngestionPipelineTests {
+
+    private static final String FEED = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <rss version="2.0" xmlns:content="http://purl.org/rss/1.0/modules/content/">
+              <channel>
+                <title>Pipeline Wire</title>
+                <item>
+                  <title>Pipeline &amp; backpressure</title>
+                  <description><![CDATA[<p>Bounded <b>queues</b>&nbsp;everywhere.</p><script>alert(1)</script>]]></description>
+                  <pubDate>Tue, 04 Jun 2024 10:15:00 GMT</pubDate>
+                </item>
+                <item>
+                  <title>Pipeline without a date</title>
+                  <content:encoded><![CDATA[<div>Now&#8217;s the time.</div>]]></content:encoded>
+                </item>
+                <item>
+                  <title>Pipeline already stored</title>
+                  <description>Seen before.</description>
+                </item>
+                <item>
+                  <title>Pipeline claimed elsewhere</title>
+                  <description>Saved by another node.</description>
+                </item>
+                <item>
+                  <title>   </title>
+                  <description>No title, skipped.</description>
+                </item>
+              </channel>
+            </rss>
+            """;
+
+    @Autowired
+    private IngestionPipeline pipeline;
+
+    @Autowired
+    private SourceRepository sourceRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleIndex articleIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private FeedFetcher feedFetcher;
+
+    @Test
+    void ingestsNormalizedArticlesOnce() throws Exception {
+        when(feedFetcher.fetch(any())).thenReturn(FEED.getBytes(StandardCharsets.UTF_8));
+        Source source = new Source();
+        source.setName("Pipeline Wire");
+        source.setUrl("https://example.com/feed.xml");
+        source = sourceRepository.save(source);
+        ArticleDTO stored = new ArticleDTO();
+        stored.setTitle("Pipeline already stored");
+        stored.setContent("Seen before.");
+        stored.setSource("Pipeline Wire");
+        stored.setPublishedAt(LocalDateTime.now());
+        articleService.createArticle(stored);
+        jdbcTemplate.update("INSERT INTO article_keys (source, title_hash) VALUES (?, ?)", "Pipeline Wire",
+                new FeedItem(source.getId(), "Pipeline Wire", "Pipeline claimed elsewhere", null, null).titleHash());
+
+        assertThat(pipeline.submit(source)).isTrue();
+        await(() -> articlesOf("Pipeline Wire").size() == 3);
+        assertThat(pipeline.submit(source)).isTrue();
+        await(() -> processed("dedup") == 8);
+
+        List<Article> articles = articlesOf("Pipeline Wire");
+        assertThat(articles).extracting(Article::getTitle).containsExactlyInAnyOrder(
+                "Pipeline & backpressure", "Pipeline without a date", "Pipeline already stored");
+        Article first = articles.stream().filter(a -> a.getTitle().startsWith("Pipeline &")).findFirst().orElseThrow();
+        assertThat(first.getContent()).isEqualTo("Bounded queues everywhere.");
+        assertThat(first.getPublishedAt().getYear()).isEqualTo(2024);
+        await(() -> articleIndex.search("pipeline", 10).size() == 3);
+        assertThat(articleIndex.search("backpressure", 10)).extracting(ArticleView::id).containsExactly(first.getId());
+        assertThat(pipeline.queued().values()).allMatch(queued -> queued == 0);
+    }
+
+    @Test
+    void blockedPersistStageBacksUpToSubmit() throws Exception {
+        IngestionProperties properties = new IngestionProperties();
+        properties.setSubmitTimeout(Duration.ofMillis(200));
+        for (IngestionProperties.Stage stage : List.of(properties.getFetch(), properties.getParse(),
+                properties.getNormalize(), properties.getDedup(), properties.getPersist(), properties.getNotify())) {
+            stage.setWorkers(1);
+            stage.setQueueCapacity(2);
+            stage.setBatchSize(1);
+        }
+        FeedFetcher fetcher = mock(FeedFetcher.class);
+        when(fetcher.fetch(any())).thenAnswer(invocation -> {
+            Source source = invocation.getArgument(0);
+            return ("<rss version=\"2.0\"><channel><item><title>" + source.getName() + " story</title>"
+                    + "<description>Queued.</description></item></channel></rss>").getBytes(StandardCharsets.UTF_8);
+        });
+        CountDownLatch release = new CountDownLatch(1);
+        ArticleRepository repository = mock(ArticleRepository.class);
+        when(repository.findTitlesBySourceAndTitleIn(anyString(), anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        when(jdbc.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            int[] inserted = new int[invocation.<List<?>>getArgument(1).size()];
+            Arrays.fill(inserted, 1);
+            return inserted;
+        });
+        SourceLeases leases = mock(SourceLeases.class);
+        when(leases.owns(anyLong())).thenReturn(true);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IngestionPipeline blocked = new IngestionPipeline(fetcher, repository, jdbc, leases,
+                mock(PlatformTransactionManager.class), mock(ApplicationEventPublisher.class),
+                mock(ChangeLog.class), mock(ArticleTagger.class), properties, registry);
+        blocked.start();
+        try {
+            int accepted = 0;
+            boolean refused = false;
+            while (!refused && accepted < 50) {
+                Source source = new Source();
+                source.setId((long) accepted);
+                source.setName("Backed up " + accepted);
+                long start = System.nanoTime();
+                if (blocked.submit(source)) {
+                    accepted++;
+                } else {
+                    refused = true;
+                    assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(200).toNanos());
+                }
+            }
+
+            assertThat(refused).as("submit refused while persist is blocked").isTrue();
+            // Six queues of two plus the item each worker holds
+            assertThat(accepted).isLessThanOrEqualTo(18);
+            Map<String, Integer> queued = blocked.queued();
+            assertThat(queued.values()).allMatch(depth -> depth <= 2);
+            assertThat(queued.get("persist")).isEqualTo(2);
+            assertThat(queued.get("fetch")).isEqualTo(2);
+
+            release.countDown();
+            int total = accepted;
+            await(() -> registry.get("news.ingest.processed").tag("stage", "persist").counter().count() == total);
+            assertThat(registry.get("news.ingest.blocked").tag("stage", "dedup").timer()
+                    .totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(200);
+        } finally {
+            release.countDown();
+            blocked.stop();
+        }
+    }
+
+    private List<Article> articlesOf(String source) {
+        return articleRepository.findAll().stream().filter(article -> source.equals(article.getSource())).toList();
+    }
+
+    private double processed(String stage) {
+        return meterRegistry.get("news.ingest.processed").tag("stage", stage).counter().count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition met within 10 s").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
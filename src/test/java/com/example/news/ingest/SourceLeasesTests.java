@@ -0,0 +1,72 @@
+package com.example.news.ingest;
+
+import com.example.news.config.NodeIdentity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two lease managers against the shared test database stand in for two nodes.
+ */
+@SpringBootTest
+class SourceLeasesTests {
+
+    @Autowired
+    private SourceLeases contextLeases;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void leaveCluster() {
+        contextLeases.stop();
+    }
+
+    @AfterEach
+    void rejoinCluster() {
+        contextLeases.start();
+    }
+
+    @Test
+    void splitsShardsBetweenNodesAndTakesOverWhenOneLeaves() {
+        SourceLeases first = node("node-a");
+        SourceLeases second = node("node-b");
+        first.start();
+        assertThat(first.ownedShards()).hasSize(64);
+
+        second.start();
+        first.heartbeat();
+        second.heartbeat();
+
+        assertThat(first.ownedShards()).hasSize(32);
+        assertThat(second.ownedShards()).hasSize(32);
+        Set<Integer> all = new HashSet<>(first.ownedShards());
+        all.addAll(second.ownedShards());
+        assertThat(all).hasSize(64);
+        for (long sourceId = 1; sourceId <= 200; sourceId++) {
+            assertThat(first.owns(sourceId)).isNotEqualTo(second.owns(sourceId));
+        }
+
+        first.stop();
+        second.heartbeat();
+
+        assertThat(second.ownedShards()).hasSize(64);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM source_leases WHERE owner_node = 'node-b'",
+                Integer.class)).isEqualTo(64);
+        second.stop();
+    }
+
+    private SourceLeases node(String nodeId) {
+        return new SourceLeases(jdbcTemplate, new NodeIdentity(nodeId), new IngestionProperties(), event -> { },
+                new SimpleMeterRegistry());
+    }
+}
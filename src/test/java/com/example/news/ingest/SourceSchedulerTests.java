@@ -0,0 +1,81 @@
+package com.example.news.ingest;
+
+import com.example.news.entity.Source;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourceSchedulerTests {
+
+    private final IngestionProperties properties = new IngestionProperties();
+
+    @Test
+    void pollQueueReturnsDueSourcesInOrderAndHonoursReschedules() {
+        PollQueue queue = new PollQueue(Clock.systemUTC());
+        queue.schedule(1, 300);
+        queue.schedule(2, 100);
+        queue.schedule(3, 200);
+        queue.schedule(2, 400);
+        queue.cancel(3);
+
+        assertThat(queue.poll(250)).isNull();
+        assertThat(queue.poll(1000)).isEqualTo(1L);
+        assertThat(queue.poll(1000)).isEqualTo(2L);
+        assertThat(queue.poll(1000)).isNull();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void pollQueueStaysSmallUnderConstantRescheduling() {
+        PollQueue queue = new PollQueue(Clock.systemUTC());
+        for (int i = 0; i < 100_000; i++) {
+            queue.schedule(i % 10, i);
+        }
+        assertThat(queue.size()).isEqualTo(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(queue.poll(Long.MAX_VALUE)).isNotNull();
+        }
+        assertThat(queue.poll(Long.MAX_VALUE)).isNull();
+    }
+
+    @Test
+    void intervalFollowsPublishRateWithinBounds() {
+        assertThat(SourceScheduler.interval(7 * 24, true, properties)).isEqualTo(Duration.ofMinutes(30));
+        assertThat(SourceScheduler.interval(1_000_000, true, properties)).isEqualTo(properties.getMinInterval());
+        assertThat(SourceScheduler.interval(2, true, properties)).isEqualTo(properties.getMaxInterval());
+        assertThat(SourceScheduler.interval(0, false, properties)).isEqualTo(properties.getInterval());
+        assertThat(SourceScheduler.interval(0, true, properties)).isEqualTo(properties.getMaxInterval());
+    }
+
+    @Test
+    void failuresBackOffAndOpenTheCircuit() {
+        Random random = new Random(42);
+        SourceState state = new SourceState(new Source(), Duration.ofMinutes(10), properties);
+
+        Duration first = state.failed(random);
+        Duration second = state.failed(random);
+        assertThat(first).isBetween(Duration.ofMinutes(10), Duration.ofMinutes(20));
+        assertThat(second).isBetween(Duration.ofMinutes(20), Duration.ofMinutes(40));
+        assertThat(state.circuit()).isEqualTo(SourceState.Circuit.CLOSED);
+
+        state.failed(random);
+        state.failed(random);
+        Duration open = state.failed(random);
+        assertThat(state.circuit()).isEqualTo(SourceState.Circuit.OPEN);
+        assertThat(open).isBetween(Duration.ofHours(3), Duration.ofHours(6));
+
+        state.dispatched();
+        assertThat(state.circuit()).isEqualTo(SourceState.Circuit.HALF_OPEN);
+        state.failed(random);
+        assertThat(state.circuit()).isEqualTo(SourceState.Circuit.OPEN);
+
+        state.dispatched();
+        assertThat(state.succeeded()).isEqualTo(Duration.ofMinutes(10));
+        assertThat(state.circuit()).isEqualTo(SourceState.Circuit.CLOSED);
+        assertThat(state.failures()).isZero();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.news.mapper;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.dto.UserDTO;
+import com.example.news.entity.Article;
+import com.example.news.entity.User;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MapperTests {
+
+    private final ArticleMapper articleMapper = Mappers.getMapper(ArticleMapper.class);
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    @Test
+    void patchOnlyCopiesPropertiesSetOnTheDTO() {
+        Article article = new Article();
+        article.setId(7L);
+        article.setTitle("Old title");
+        article.setContent("Body");
+        article.setSource("Source");
+        article.setPublishedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        ArticleDTO articleDTO = new ArticleDTO();
+        articleDTO.setTitle("New title");
+
+        articleMapper.patchEntity(articleDTO, article);
+
+        assertThat(article.getId()).isEqualTo(7L);
+        assertThat(article.getTitle()).isEqualTo("New title");
+        assertThat(article.getContent()).isEqualTo("Body");
+        assertThat(article.getSource()).isEqualTo("Source");
+        assertThat(article.getPublishedAt()).isEqualTo(LocalDateTime.of(2024, 1, 1, 12, 0));
+    }
+
+    @Test
+    void passwordIsNeverCopied() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("reader");
+        userDTO.setPassword("plain-text");
+        userDTO.setEmail("reader@example.com");
+        User user = userMapper.toEntity(userDTO);
+        user.setPassword("$2a$10$encoded");
+
+        userMapper.updateEntity(userDTO, user);
+
+        assertThat(user.getPassword()).isEqualTo("$2a$10$encoded");
+        assertThat(userMapper.toDTO(user).getPassword()).isNull();
+    }
+}
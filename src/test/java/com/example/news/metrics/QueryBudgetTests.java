@@ -0,0 +1,67 @@
+package com.example.news.metrics;
+
+import com.example.news.entity.Article;
+import com.example.news.repository.ArticleRepository;
+import com.example.news.service.ArticleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private QueryBudgetRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry.reset();
+        articleRepository.deleteAll();
+        for (int i = 0; i < 3; i++) {
+            Article article = new Article();
+            article.setTitle("Title " + i);
+            article.setContent("Content " + i);
+            article.setSource("Source " + i);
+            article.setPublishedAt(LocalDateTime.now().minusHours(i));
+            articleRepository.save(article);
+        }
+    }
+
+    @Test
+    void latestArticlesRunsSingleStatement() {
+        QueryStats stats = QueryStats.measure(articleService::getLatestArticles);
+
+        assertThat(stats.getStatements()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser
+    void fetchAllStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/articles/fetchAll")).andExpect(status().isOk());
+
+        QueryBudgetRegistry.EndpointSummary summary = registry.get("GET /articles/fetchAll").orElseThrow();
+        assertThat(summary.requests()).isEqualTo(1);
+        assertThat(summary.maxStatements()).isLessThanOrEqualTo(2);
+        assertThat(summary.overBudgetRequests()).isZero();
+    }
+}
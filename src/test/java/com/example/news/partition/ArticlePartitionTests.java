@@ -0,0 +1,30 @@
+package com.example.news.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticlePartitionTests {
+
+    @Test
+    void plansMonthlyPartitionsEndingInCatchAll() {
+        assertThat(ArticlePartitionManager.definitions(
+                ArticlePartitionManager.plan(YearMonth.of(2024, 11), YearMonth.of(2025, 1))))
+                .isEqualTo("PARTITION p202411 VALUES LESS THAN ('2024-12-01 00:00:00'), "
+                        + "PARTITION p202412 VALUES LESS THAN ('2025-01-01 00:00:00'), "
+                        + "PARTITION p202501 VALUES LESS THAN ('2025-02-01 00:00:00'), "
+                        + "PARTITION pmax VALUES LESS THAN (MAXVALUE)");
+    }
+
+    @Test
+    void parsesInformationSchemaDescriptions() {
+        ArticlePartition partition = ArticlePartition.parse("p202402", "'2024-03-01 00:00:00'");
+
+        assertThat(partition.month()).isEqualTo(YearMonth.of(2024, 2));
+        assertThat(partition.upperBound()).isEqualTo(LocalDateTime.of(2024, 3, 1, 0, 0));
+        assertThat(ArticlePartition.parse("pmax", "MAXVALUE").isCatchAll()).isTrue();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.news.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void allowsBurstThenRejectsUntilATokenRefills() {
+        RateLimiter limiter = limiter(3, Duration.ofMinutes(1), 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("POST", "/login", "ip:10.0.0.1")).isZero();
+        }
+        long wait = limiter.tryAcquire("POST", "/login", "ip:10.0.0.1");
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(20).toNanos());
+        assertThat(limiter.tryAcquire("POST", "/login", "ip:10.0.0.2")).isZero();
+        assertThat(limiter.tryAcquire("GET", "/login", "ip:10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("POST", "/logi%6E", "ip:10.0.0.1")).isPositive();
+        assertThat(meterRegistry.get("news.rate_limit.rejected").tag("group", "login").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void newClientsShareAnOverflowBucketOnceTheMapIsFull() {
+        RateLimiter limiter = limiter(1, Duration.ofMinutes(1), 2);
+
+        assertThat(limiter.tryAcquire("POST", "/login", "ip:10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("POST", "/login", "ip:10.0.0.2")).isZero();
+        assertThat(limiter.tryAcquire("POST", "/login", "ip:10.0.0.3")).isZero();
+        assertThat(limiter.tryAcquire("POST", "/login", "ip:10.0.0.4")).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void filterAnswersTooManyRequestsWithRetryAfter() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(limiter(1, Duration.ofMinutes(1), 100));
+
+        MockHttpServletResponse allowed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/login"), allowed, new MockFilterChain());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/login"), rejected, chain);
+
+        assertThat(allowed.getStatus()).isEqualTo(200);
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("60");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    private RateLimiter limiter(int capacity, Duration period, int maxKeys) {
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setMethods(List.of("POST"));
+        group.setPaths(List.of("/login", "/register"));
+        group.setCapacity(capacity);
+        group.setPeriod(period);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxKeys(maxKeys);
+        properties.getGroups().put("login", group);
+        return new RateLimiter(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.news.related;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimilarityIndexTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Test
+    void relatesArticlesOnTheSameTopic() {
+        SimilarityIndex index = index(100);
+        addTopics(index);
+
+        assertThat(ids(index.related(1L, 5))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(ids(index.related(4L, 5))).containsExactlyInAnyOrder(5L, 6L);
+        assertThat(index.related(1L, 5).get(0).score()).isBetween(0.1, 1.0);
+    }
+
+    @Test
+    void followsChangesAndRemovals() {
+        SimilarityIndex index = index(100);
+        addTopics(index);
+
+        index.remove(2L);
+        index.add(new SimilarityIndex.Text(3L, "Central bank raises interest rates",
+                "The central bank raised interest rates as inflation and bond yields kept climbing", NOW));
+
+        assertThat(ids(index.related(1L, 5))).isEmpty();
+        assertThat(ids(index.related(4L, 5))).contains(3L);
+        assertThat(ids(index.related(3L, 5))).doesNotContain(1L, 2L);
+    }
+
+    @Test
+    void loadMatchesIncrementalAddsAndDropsTheOldestPastCapacity() {
+        SimilarityIndex loaded = index(4);
+        loaded.load(texts().stream().map(loaded::count).toList());
+        SimilarityIndex added = index(4);
+        texts().forEach(added::add);
+
+        assertThat(loaded.size()).isEqualTo(4);
+        assertThat(added.size()).isEqualTo(4);
+        assertThat(loaded.related(1L, 5)).isEmpty();
+        assertThat(ids(loaded.related(5L, 5))).containsExactlyInAnyOrder(4L, 6L);
+        assertThat(ids(added.related(5L, 5))).containsExactlyInAnyOrder(4L, 6L);
+    }
+
+    private static SimilarityIndex index(int capacity) {
+        RelatedProperties properties = new RelatedProperties();
+        properties.setCapacity(capacity);
+        properties.setBands(32);
+        properties.setRows(4);
+        return new SimilarityIndex(properties);
+    }
+
+    private static void addTopics(SimilarityIndex index) {
+        texts().forEach(index::add);
+    }
+
+    private static List<SimilarityIndex.Text> texts() {
+        return List.of(
+                new SimilarityIndex.Text(1L, "Striker scores twice in cup final",
+                        "The striker scored twice as the team won the cup final against their rivals", NOW.minusHours(6)),
+                new SimilarityIndex.Text(2L, "Cup final goes to extra time",
+                        "Both teams scored in the cup final before the striker won it in extra time", NOW.minusHours(5)),
+                new SimilarityIndex.Text(3L, "Team celebrates cup win",
+                        "Fans welcomed the team home after the cup final win and the striker goals", NOW.minusHours(4)),
+                new SimilarityIndex.Text(4L, "Central bank holds interest rates",
+                        "The central bank kept interest rates unchanged as inflation eased and bond yields fell", NOW.minusHours(3)),
+                new SimilarityIndex.Text(5L, "Inflation slows, bond yields fall",
+                        "Bond yields fell after inflation slowed, raising hopes the central bank cuts rates", NOW.minusHours(2)),
+                new SimilarityIndex.Text(6L, "Markets expect interest rate cut",
+                        "Investors expect the central bank to cut interest rates with inflation near target", NOW.minusHours(1)));
+    }
+
+    private static List<Long> ids(List<RelatedArticle> related) {
+        return related.stream().map(RelatedArticle::id).toList();
+    }
+}
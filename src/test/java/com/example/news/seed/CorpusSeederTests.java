@@ -0,0 +1,63 @@
+package com.example.news.seed;
+
+import com.example.news.repository.ArticleRepository;
+import com.example.news.repository.SourceRepository;
+import com.example.news.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CorpusSeederTests {
+
+    @Autowired
+    private CorpusSeeder corpusSeeder;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private SourceRepository sourceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void seedsRequestedCorpusInParallelBatches() {
+        long articles = articleRepository.count();
+        long sources = sourceRepository.count();
+        long users = userRepository.count();
+
+        CorpusSeedProperties properties = new CorpusSeedProperties();
+        properties.setArticles(1234);
+        properties.setSources(20);
+        properties.setUsers(7);
+        // H2 can hand out duplicate identity values to concurrent multi-row inserts
+        properties.setThreads(1);
+        properties.setBatchSize(100);
+        CorpusSeeder.SeedReport report = corpusSeeder.seed(properties);
+
+        assertThat(report.articles()).isEqualTo(1234);
+        assertThat(articleRepository.count()).isEqualTo(articles + 1234);
+        assertThat(sourceRepository.count()).isEqualTo(sources + 20);
+        assertThat(userRepository.count()).isEqualTo(users + 7);
+    }
+
+    @Test
+    void generatorIsDeterministicPerIndex() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Object[] first = new Object[4];
+        Object[] second = new Object[4];
+        new CorpusGenerator(42, 100, 30, now).article(17, first);
+        new CorpusGenerator(42, 100, 30, now).article(17, second);
+
+        assertThat(first).containsExactly(second);
+        assertThat((String) first[1]).hasSizeBetween(200, 40_100);
+        assertThat((LocalDateTime) first[3]).isBetween(now.minusDays(30), now);
+        assertThat(first[2]).isInstanceOf(String.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.news.tagging;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.entity.Article;
+import com.example.news.index.ArticleView;
+import com.example.news.service.ArticleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TagIndexTests {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private TagIndex tagIndex;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void followsTagsOfCommittedChanges() {
+        Article article = articleService.createArticle(article("Late goal settles the match",
+                "The team climbed the league"));
+        assertThat(tagIndex.page("sports", 0, 10)).extracting(ArticleView::id).contains(article.getId());
+
+        articleService.patchArticle(article.getId(), titleOnly("Hospital doctors see more patients"));
+        assertThat(tagIndex.page("sports", 0, 10)).extracting(ArticleView::id).doesNotContain(article.getId());
+        assertThat(tagIndex.page("health", 0, 10)).extracting(ArticleView::id).contains(article.getId());
+
+        articleService.deleteArticle(article.getId());
+        assertThat(tagIndex.page("health", 0, 10)).extracting(ArticleView::id).doesNotContain(article.getId());
+    }
+
+    @Test
+    @WithMockUser
+    void servesTagPages() throws Exception {
+        Article first = articleService.createArticle(article("Vaccine trial at the hospital",
+                "Doctors enrolled patients"));
+        Article second = articleService.createArticle(article("Hospital doctors", "More patients every week"));
+
+        assertThat(tagIndex.page("health", 0, 2)).extracting(ArticleView::id)
+                .containsExactly(second.getId(), first.getId());
+        assertThat(tagIndex.page("health", 1, 1)).extracting(ArticleView::id).containsExactly(first.getId());
+        assertThat(tagIndex.counts()).containsKey("health");
+
+        mockMvc.perform(get("/news").param("tag", "health").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("News tagged health")))
+                .andExpect(content().string(containsString("Vaccine trial at the hospital")))
+                .andExpect(content().string(containsString("/news?tag=health")));
+    }
+
+    private static ArticleDTO article(String title, String content) {
+        ArticleDTO dto = new ArticleDTO();
+        dto.setTitle(title);
+        dto.setContent(content);
+        dto.setSource("Tag Source");
+        dto.setPublishedAt(LocalDateTime.now());
+        return dto;
+    }
+
+    private static ArticleDTO titleOnly(String title) {
+        ArticleDTO dto = new ArticleDTO();
+        dto.setTitle(title);
+        return dto;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.news.tagging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopicClassifierTests {
+
+    @Test
+    void tagsByKeywordsStrongestFirst() {
+        TopicClassifier classifier = new TopicClassifier(properties(2));
+
+        assertThat(classifier.classify(new TopicClassifier.Text("Late goal settles the match",
+                "The team went top of the league after the hospital visit"))).containsExactly("sports");
+        assertThat(classifier.classify(new TopicClassifier.Text("Hospital doctors strike",
+                "Patients wait as doctors leave the hospital; the match was postponed"))).containsExactly("health");
+        assertThat(classifier.classify(new TopicClassifier.Text("Quiet day", "Nothing much happened"))).isEmpty();
+    }
+
+    @Test
+    void modelAddsTagsFromVocabularyAroundTheKeywords() {
+        TopicClassifier untrained = new TopicClassifier(properties(3));
+        TopicClassifier.Text derby = new TopicClassifier.Text("Fans pack the stadium", "A derby for the ages");
+        assertThat(untrained.classify(derby)).isEmpty();
+
+        List<TopicClassifier.Text> texts = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            texts.add(new TopicClassifier.Text("Team wins the match " + i,
+                    "Fans in the stadium saw a late goal as the team climbed the league"));
+            texts.add(new TopicClassifier.Text("Hospital expands " + i,
+                    "Doctors and nurses at the clinic treated more patients at the hospital"));
+        }
+        TopicClassifier trained = untrained.retrain(texts);
+
+        assertThat(trained.modelledTags()).containsExactlyInAnyOrder("sports", "health");
+        assertThat(trained.classify(derby)).containsExactly("sports");
+        assertThat(trained.classify(new TopicClassifier.Text("Clinic nurses", "Nurses at the clinic")))
+                .containsExactly("health");
+    }
+
+    @Test
+    void capsTheNumberOfTags() {
+        TaggingProperties properties = properties(1);
+        properties.setMaxTags(1);
+        TopicClassifier classifier = new TopicClassifier(properties);
+
+        assertThat(classifier.classify(new TopicClassifier.Text("Match at the hospital",
+                "The team visited doctors and patients at the hospital"))).containsExactly("health");
+    }
+
+    private static TaggingProperties properties(int minMatches) {
+        TaggingProperties properties = new TaggingProperties();
+        properties.setRules(Map.of(
+                "sports", List.of("match", "team", "league", "goal"),
+                "health", List.of("hospital", "doctors", "patients")));
+        properties.setMinMatches(minMatches);
+        properties.setMinExamples(20);
+        return properties;
+    }
+}
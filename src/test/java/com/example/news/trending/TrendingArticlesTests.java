@@ -0,0 +1,76 @@
+package com.example.news.trending;
+
+import com.example.news.dto.ArticleDTO;
+import com.example.news.entity.Article;
+import com.example.news.service.ArticleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TrendingArticlesTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private TrendingArticles trendingArticles;
+
+    @Autowired
+    private ViewCounter viewCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @WithMockUser
+    void ranksArticlesByRecentViewsAndFlushesCounts() throws Exception {
+        Article popular = articleService.createArticle(article("Popular"));
+        Article quiet = articleService.createArticle(article("Quiet"));
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(get("/articles/fetch/{id}", popular.getId())).andExpect(status().isOk());
+        }
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/articles/index/fetch/{id}", quiet.getId())).andExpect(status().isOk());
+        }
+
+        trendingArticles.refresh();
+
+        mockMvc.perform(get("/trending").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(popular.getId()))
+                .andExpect(jsonPath("$[0].title").value("Popular"))
+                .andExpect(jsonPath("$[0].views").value(20))
+                .andExpect(jsonPath("$[1].id").value(quiet.getId()));
+
+        trendingArticles.flush(viewCounter.currentIndex() + 1);
+        Long flushed = jdbcTemplate.queryForObject(
+                "SELECT SUM(views) FROM article_views WHERE article_id IN (?, ?)", Long.class,
+                popular.getId(), quiet.getId());
+        assertThat(flushed).isEqualTo(30);
+    }
+
+    private static ArticleDTO article(String title) {
+        ArticleDTO dto = new ArticleDTO();
+        dto.setTitle(title);
+        dto.setContent("Content of " + title);
+        dto.setSource("Trending Source");
+        dto.setPublishedAt(LocalDateTime.now());
+        return dto;
+    }
+}